@@ -0,0 +1,176 @@
+package net.querz.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses data to gzip on several threads. The data is split into blocks of {@link #BLOCK_SIZE} bytes, each block
+ * is compressed as its own gzip member on the executor, and the members are written in order. A file with several
+ * members is still a valid gzip file, {@link java.util.zip.GZIPInputStream} and Minecraft read it as one stream.
+ * The output is a little bigger than that of a {@link java.util.zip.GZIPOutputStream}, so this is only worth it
+ * for large outputs.
+ * {@link #flush()} only writes blocks that are already compressed, call {@link #finish()} or {@link #close()} to
+ * compress and write the rest.
+ * */
+public class ParallelGZIPOutputStream extends OutputStream {
+
+	public static final int BLOCK_SIZE = 1024 * 1024;
+
+	// how many blocks can wait to be written before write() waits for the first of them
+	private static final int MAX_PENDING = 2 * Runtime.getRuntime().availableProcessors();
+
+	private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+	private final OutputStream out;
+	private final int level;
+	private final ExecutorService executor;
+	private final Queue<Future<byte[]>> pending = new ArrayDeque<>();
+	private byte[] block = new byte[BLOCK_SIZE];
+	private int count;
+	private boolean written; // whether a block was submitted
+	private boolean finished;
+
+	/**
+	 * @param out The stream the gzip data is written to.
+	 * @param level The compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION},
+	 *              or {@link Deflater#DEFAULT_COMPRESSION}.
+	 * @param executor Compresses the blocks. It isn't shut down by this stream.
+	 * */
+	public ParallelGZIPOutputStream(OutputStream out, int level, ExecutorService executor) {
+		if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+			throw new IllegalArgumentException("invalid compression level " + level);
+		}
+		this.out = out;
+		this.level = level;
+		this.executor = executor;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		ensureOpen();
+		if (count == block.length) {
+			submit();
+		}
+		block[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		ensureOpen();
+		while (len > 0) {
+			if (count == block.length) {
+				submit();
+			}
+			int n = Math.min(len, block.length - count);
+			System.arraycopy(b, off, block, count, n);
+			count += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (finished) {
+			throw new IOException("write beyond end of stream");
+		}
+	}
+
+	private void submit() throws IOException {
+		byte[] data = block;
+		int length = count;
+		pending.add(executor.submit(() -> compress(data, length, level)));
+		written = true;
+		block = finished ? null : new byte[BLOCK_SIZE];
+		count = 0;
+		while (pending.size() > MAX_PENDING) {
+			writeMember(pending.remove());
+		}
+	}
+
+	private void writeMember(Future<byte[]> member) throws IOException {
+		try {
+			out.write(member.get());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted while compressing", ex);
+		} catch (ExecutionException ex) {
+			throw new IOException("failed to compress", ex.getCause());
+		}
+	}
+
+	private static byte[] compress(byte[] data, int length, int level) {
+		ByteArrayOutputStream member = new ByteArrayOutputStream(length / 2 + 64);
+		member.write(HEADER, 0, HEADER.length);
+		Deflater deflater = new Deflater(level, true);
+		try {
+			deflater.setInput(data, 0, length);
+			deflater.finish();
+			byte[] buf = new byte[64 * 1024];
+			while (!deflater.finished()) {
+				member.write(buf, 0, deflater.deflate(buf));
+			}
+		} finally {
+			deflater.end();
+		}
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, length);
+		writeIntLE(member, (int) crc.getValue());
+		writeIntLE(member, length);
+		return member.toByteArray();
+	}
+
+	private static void writeIntLE(ByteArrayOutputStream out, int i) {
+		out.write(i);
+		out.write(i >> 8);
+		out.write(i >> 16);
+		out.write(i >> 24);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		while (!pending.isEmpty() && pending.peek().isDone()) {
+			writeMember(pending.remove());
+		}
+		out.flush();
+	}
+
+	/**
+	 * Compresses the rest of the data and writes all blocks, without closing the underlying stream.
+	 * */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		// an empty stream still needs one member to be a gzip file
+		if (count > 0 || !written) {
+			submit();
+		}
+		block = null;
+		while (!pending.isEmpty()) {
+			writeMember(pending.remove());
+		}
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			finish();
+		} finally {
+			for (Future<byte[]> member : pending) {
+				member.cancel(false);
+			}
+			pending.clear();
+			out.close();
+		}
+	}
+}
@@ -7,9 +7,11 @@ import net.querz.nbt.io.NBTDeserializer;
 import net.querz.nbt.io.NBTSerializer;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.util.Arrays;
 import static net.querz.mca.LoadFlags.*;
@@ -18,6 +20,12 @@ public class Chunk {
 
 	public static final int DEFAULT_DATA_VERSION = 1628;
 
+	/**
+	 * The first DataVersion (21w43a, 1.18) that stores chunk data at the root instead of in "Level",
+	 * with the sections in "sections" and their blocks in "block_states".
+	 */
+	public static final int SECTIONS_DATA_VERSION = 2844;
+
 	private boolean partial;
 
 	private int lastMCAUpdate;
@@ -30,7 +38,8 @@ public class Chunk {
 	private int[] biomes;
 	private CompoundTag heightMaps;
 	private CompoundTag carvingMasks;
-	private Section[] sections = new Section[16]; //always initialized with size = 16 for fast access
+	private Section[] sections = new Section[16]; //always initialized with at least 16 for fast access
+	private int minSectionY = 0; //the Y of sections[0], below 0 for worlds that go below y=0
 	private ListTag<CompoundTag> entities;
 	private ListTag<CompoundTag> tileEntities;
 	private ListTag<CompoundTag> tileTicks;
@@ -52,21 +61,36 @@ public class Chunk {
 	 */
 	public Chunk(CompoundTag data) {
 		this.data = data;
-		initReferences(ALL_DATA);
+		initReferences(ALL_DATA, null);
 	}
 
-	private void initReferences(long loadFlags) {
+	private void initReferences(long loadFlags, LoadArea area) {
 		if (data == null) {
 			throw new NullPointerException("data cannot be null");
 		}
+		dataVersion = data.getInt("DataVersion");
 		CompoundTag level;
+		boolean modern = false;
 		if ((level = data.getCompoundTag("Level")) == null) {
-			throw new IllegalArgumentException("data does not contain \"Level\" tag");
+			if (data.containsKey("sections")) {
+				// 1.18+ chunk, everything is at the root
+				modern = true;
+				level = data;
+			} else if (data.containsKey("Entities") && data.containsKey("Position")) {
+				// 1.17+ entities are saved in their own region files, with only the entities in each chunk
+				if ((loadFlags & ENTITIES) != 0) {
+					entities = data.getListTag("Entities").asCompoundTagList();
+				}
+				dropData(loadFlags);
+				return;
+			} else {
+				throw new IllegalArgumentException("data does not contain \"Level\" or \"sections\" tag");
+			}
 		}
-		dataVersion = data.getInt("DataVersion");
 		inhabitedTime = level.getLong("InhabitedTime");
 		lastUpdate = level.getLong("LastUpdate");
-		if ((loadFlags & BIOMES) != 0) {
+		if ((loadFlags & BIOMES) != 0 && !modern) {
+			// 1.18+ biomes are in the sections
 			biomes = level.getIntArray("Biomes");
 		}
 		if ((loadFlags & HEIGHTMAPS) != 0) {
@@ -76,16 +100,20 @@ public class Chunk {
 			carvingMasks = level.getCompoundTag("CarvingMasks");
 		}
 		if ((loadFlags & ENTITIES) != 0) {
-			entities = level.containsKey("Entities") ? level.getListTag("Entities").asCompoundTagList() : null;
+			String key = modern ? "entities" : "Entities";
+			entities = level.containsKey(key) ? level.getListTag(key).asCompoundTagList() : null;
 		}
 		if ((loadFlags & TILE_ENTITIES) != 0) {
-			tileEntities = level.containsKey("TileEntities") ? level.getListTag("TileEntities").asCompoundTagList() : null;
+			String key = modern ? "block_entities" : "TileEntities";
+			tileEntities = level.containsKey(key) ? level.getListTag(key).asCompoundTagList() : null;
 		}
 		if ((loadFlags & TILE_TICKS) != 0) {
-			tileTicks = level.containsKey("TileTicks") ? level.getListTag("TileTicks").asCompoundTagList() : null;
+			String key = modern ? "block_ticks" : "TileTicks";
+			tileTicks = level.containsKey(key) ? level.getListTag(key).asCompoundTagList() : null;
 		}
 		if ((loadFlags & LIQUID_TICKS) != 0) {
-			liquidTicks = level.containsKey("LiquidTicks") ? level.getListTag("LiquidTicks").asCompoundTagList() : null;
+			String key = modern ? "fluid_ticks" : "LiquidTicks";
+			liquidTicks = level.containsKey(key) ? level.getListTag(key).asCompoundTagList() : null;
 		}
 		if ((loadFlags & LIGHTS) != 0) {
 			lights = level.containsKey("Lights") ? level.getListTag("Lights").asListTagList() : null;
@@ -101,22 +129,31 @@ public class Chunk {
 		}
 		status = level.getString("Status");
 		if ((loadFlags & STRUCTURES) != 0) {
-			structures = level.getCompoundTag("Structures");
+			structures = level.getCompoundTag(modern ? "structures" : "Structures");
 		}
-		if ((loadFlags & (BLOCK_LIGHTS|BLOCK_STATES|SKY_LIGHT)) != 0 && level.containsKey("Sections")) {
-			for (CompoundTag section : level.getListTag("Sections").asCompoundTagList()) {
+		String sectionsKey = modern ? "sections" : "Sections";
+		if ((loadFlags & (BLOCK_LIGHTS|BLOCK_STATES|SKY_LIGHT)) != 0 && level.containsKey(sectionsKey)) {
+			for (CompoundTag section : level.getListTag(sectionsKey).asCompoundTagList()) {
 				int sectionIndex = section.getByte("Y");
-				if (sectionIndex > 15 || sectionIndex < 0) {
+				if (!modern && (sectionIndex > 15 || sectionIndex < 0)) {
+					continue;
+				}
+				if (area != null && !area.containsSection(sectionIndex)) {
 					continue;
 				}
 				Section newSection = new Section(section, dataVersion, loadFlags);
-				if (newSection.isEmpty()) {
+				if (newSection.isEmpty() || modern && newSection.getPalette() == null && (loadFlags & (BLOCK_LIGHTS|SKY_LIGHT)) == 0) {
+					// 1.18+ has light only sections above and below the world
 					continue;
 				}
-				sections[sectionIndex] = newSection;
+				setSection(sectionIndex, newSection);
 			}
 		}
 
+		dropData(loadFlags);
+	}
+
+	private void dropData(long loadFlags) {
 		// If we haven't requested the full set of data we can drop the underlying raw data to let the GC handle it.
 		if (loadFlags != ALL_DATA) {
 			data = null;
@@ -171,11 +208,45 @@ public class Chunk {
 		if (compressionType == null) {
 			throw new IOException("invalid compression type " + compressionTypeByte);
 		}
-		BufferedInputStream dis = new BufferedInputStream(compressionType.decompress(new FileInputStream(raf.getFD())));
+		deserialize(compressionType.decompress(new FileInputStream(raf.getFD())), loadFlags, null);
+	}
+
+	/**
+	 * Reads chunk data from the bytes stored for it in a region file.
+	 * This does not use any shared state, so different chunks can be read at the same time.
+	 * @param raw The bytes of the chunk after its length: the compression type, then the compressed data.
+	 * @param loadFlags A logical or of {@link LoadFlags} constants indicating what data should be loaded
+	 * @throws IOException When something went wrong during reading.
+	 */
+	public void deserialize(byte[] raw, long loadFlags) throws IOException {
+		deserialize(raw, loadFlags, null);
+	}
+
+	/**
+	 * Reads chunk data from the bytes stored for it in a region file, only creating the sections inside of a {@link LoadArea}.
+	 * This does not use any shared state, so different chunks can be read at the same time.
+	 * @param raw The bytes of the chunk after its length: the compression type, then the compressed data.
+	 * @param loadFlags A logical or of {@link LoadFlags} constants indicating what data should be loaded
+	 * @param area The blocks to load the sections of, or {@code null} to load all sections.
+	 * @throws IOException When something went wrong during reading.
+	 */
+	public void deserialize(byte[] raw, long loadFlags, LoadArea area) throws IOException {
+		if (raw.length < 1) {
+			throw new IOException("missing chunk data");
+		}
+		CompressionType compressionType = CompressionType.getFromID(raw[0]);
+		if (compressionType == null) {
+			throw new IOException("invalid compression type " + raw[0]);
+		}
+		deserialize(compressionType.decompress(new ByteArrayInputStream(raw, 1, raw.length - 1)), loadFlags, area);
+	}
+
+	private void deserialize(InputStream decompressed, long loadFlags, LoadArea area) throws IOException {
+		BufferedInputStream dis = new BufferedInputStream(decompressed);
 		NamedTag tag = new NBTDeserializer(false).fromStream(dis);
 		if (tag != null && tag.getTag() instanceof CompoundTag) {
 			data = (CompoundTag) tag.getTag();
-			initReferences(loadFlags);
+			initReferences(loadFlags, area);
 		} else {
 			throw new IOException("invalid data tag: " + (tag == null ? "null" : tag.getClass().getName()));
 		}
@@ -278,7 +349,7 @@ public class Chunk {
 	}
 
 	public CompoundTag getBlockStateAt(int blockX, int blockY, int blockZ) {
-		Section section = sections[MCAUtil.blockToChunk(blockY)];
+		Section section = getSection(MCAUtil.blockToChunk(blockY));
 		if (section == null) {
 			return null;
 		}
@@ -298,9 +369,10 @@ public class Chunk {
 	 */
 	public void setBlockStateAt(int blockX, int blockY, int blockZ, CompoundTag state, boolean cleanup) {
 		int sectionIndex = MCAUtil.blockToChunk(blockY);
-		Section section = sections[sectionIndex];
+		Section section = getSection(sectionIndex);
 		if (section == null) {
-			section = sections[sectionIndex] = Section.newSection();
+			section = Section.newSection();
+			setSection(sectionIndex, section);
 		}
 		section.setBlockStateAt(blockX, blockY, blockZ, state, cleanup);
 	}
@@ -353,20 +425,46 @@ public class Chunk {
 
 	/**
 	 * Fetches the section at the given y-coordinate.
-	 * @param sectionY The y-coordinate of the section in this chunk ranging from 0 to 15.
-	 * @return The Section.
+	 * @param sectionY The y-coordinate of the section in this chunk, usually 0 to 15, or -4 to 19 since 1.18.
+	 * @return The Section, or <code>null</code> if there is no section at that y-coordinate.
 	 */
 	public Section getSection(int sectionY) {
-		return sections[sectionY];
+		int index = sectionY - minSectionY;
+		if (index < 0 || index >= sections.length) {
+			return null;
+		}
+		return sections[index];
 	}
 
 	/**
 	 * Sets a section at a givesn y-coordinate
-	 * @param sectionY The y-coordinate of the section in this chunk ranging from 0 to 15.
+	 * @param sectionY The y-coordinate of the section in this chunk, usually 0 to 15, or -4 to 19 since 1.18.
 	 * @param section The section to be set.
 	 */
 	public void setSection(int sectionY, Section section) {
-		sections[sectionY] = section;
+		if (sectionY < minSectionY) {
+			Section[] grown = new Section[sections.length + minSectionY - sectionY];
+			System.arraycopy(sections, 0, grown, minSectionY - sectionY, sections.length);
+			sections = grown;
+			minSectionY = sectionY;
+		} else if (sectionY - minSectionY >= sections.length) {
+			sections = Arrays.copyOf(sections, sectionY - minSectionY + 1);
+		}
+		sections[sectionY - minSectionY] = section;
+	}
+
+	/**
+	 * @return The lowest section y-coordinate that {@link #getSection(int)} can return a section for.
+	 */
+	public int getMinSectionY() {
+		return minSectionY;
+	}
+
+	/**
+	 * @return The highest section y-coordinate that {@link #getSection(int)} can return a section for.
+	 */
+	public int getMaxSectionY() {
+		return minSectionY + sections.length - 1;
 	}
 
 	/**
@@ -609,6 +707,15 @@ public class Chunk {
 
 	public CompoundTag updateHandle(int xPos, int zPos) {
 		data.putInt("DataVersion", dataVersion);
+		if (!data.containsKey("Level") && !data.containsKey("sections") && data.containsKey("Position")) {
+			// entities only chunk
+			data.putIntArray("Position", new int[] {xPos, zPos});
+			if (entities != null) data.put("Entities", entities);
+			return data;
+		}
+		if (!data.containsKey("Level") && dataVersion >= SECTIONS_DATA_VERSION) {
+			return updateModernHandle(xPos, zPos);
+		}
 		CompoundTag level = data.getCompoundTag("Level");
 		level.putInt("xPos", xPos);
 		level.putInt("zPos", zPos);
@@ -634,10 +741,38 @@ public class Chunk {
 		ListTag<CompoundTag> sections = new ListTag<>(CompoundTag.class);
 		for (int i = 0; i < this.sections.length; i++) {
 			if (this.sections[i] != null) {
-				sections.add(this.sections[i].updateHandle(i));
+				sections.add(this.sections[i].updateHandle(i + minSectionY));
 			}
 		}
 		level.put("Sections", sections);
 		return data;
 	}
+
+	private CompoundTag updateModernHandle(int xPos, int zPos) {
+		data.putInt("xPos", xPos);
+		data.putInt("zPos", zPos);
+		if (!data.containsKey("yPos")) {
+			data.putInt("yPos", minSectionY);
+		}
+		data.putLong("LastUpdate", lastUpdate);
+		data.putLong("InhabitedTime", inhabitedTime);
+		if (heightMaps != null) data.put("Heightmaps", heightMaps);
+		if (carvingMasks != null) data.put("CarvingMasks", carvingMasks);
+		if (entities != null) data.put("entities", entities);
+		if (tileEntities != null) data.put("block_entities", tileEntities);
+		if (tileTicks != null) data.put("block_ticks", tileTicks);
+		if (liquidTicks != null) data.put("fluid_ticks", liquidTicks);
+		if (lights != null) data.put("Lights", lights);
+		if (postProcessing != null) data.put("PostProcessing", postProcessing);
+		data.putString("Status", status);
+		if (structures != null) data.put("structures", structures);
+		ListTag<CompoundTag> sections = new ListTag<>(CompoundTag.class);
+		for (int i = 0; i < this.sections.length; i++) {
+			if (this.sections[i] != null) {
+				sections.add(this.sections[i].updateHandle(i + minSectionY));
+			}
+		}
+		data.put("sections", sections);
+		return data;
+	}
 }
@@ -0,0 +1,48 @@
+package net.querz.mca;
+
+/**
+ * A box of blocks to load from a region file, so that reading a small area of a large world
+ * only decompresses the chunks and builds the sections that the area touches.
+ * Chunks outside of the box are not read at all and sections above or below it are not created.
+ * Everything else about a chunk that is read is still loaded as the {@link LoadFlags} say.
+ * */
+public class LoadArea {
+
+	private final int minX, minY, minZ;
+	private final int maxX, maxY, maxZ;
+
+	/**
+	 * @param x1 The x-coordinate of one corner of the box in blocks.
+	 * @param y1 The y-coordinate of one corner of the box in blocks.
+	 * @param z1 The z-coordinate of one corner of the box in blocks.
+	 * @param x2 The x-coordinate of the opposite corner, included in the box.
+	 * @param y2 The y-coordinate of the opposite corner, included in the box.
+	 * @param z2 The z-coordinate of the opposite corner, included in the box.
+	 * */
+	public LoadArea(int x1, int y1, int z1, int x2, int y2, int z2) {
+		minX = Math.min(x1, x2);
+		minY = Math.min(y1, y2);
+		minZ = Math.min(z1, z2);
+		maxX = Math.max(x1, x2);
+		maxY = Math.max(y1, y2);
+		maxZ = Math.max(z1, z2);
+	}
+
+	/**
+	 * @param chunkX The absolute x-coordinate of the chunk.
+	 * @param chunkZ The absolute z-coordinate of the chunk.
+	 * @return Whether any block of the chunk is inside of this box.
+	 * */
+	public boolean containsChunk(int chunkX, int chunkZ) {
+		return chunkX >= MCAUtil.blockToChunk(minX) && chunkX <= MCAUtil.blockToChunk(maxX)
+				&& chunkZ >= MCAUtil.blockToChunk(minZ) && chunkZ <= MCAUtil.blockToChunk(maxZ);
+	}
+
+	/**
+	 * @param sectionY The y-coordinate of the section.
+	 * @return Whether any block of a section at this y-coordinate is inside of this box.
+	 * */
+	public boolean containsSection(int sectionY) {
+		return sectionY >= MCAUtil.blockToChunk(minY) && sectionY <= MCAUtil.blockToChunk(maxY);
+	}
+}
@@ -3,6 +3,14 @@ package net.querz.mca;
 import net.querz.nbt.tag.CompoundTag;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class MCAFile {
 
@@ -45,21 +53,154 @@ public class MCAFile {
 	 * @throws IOException If something went wrong during deserialization.
 	 * */
 	public void deserialize(RandomAccessFile raf, long loadFlags) throws IOException {
+		deserialize(raf, loadFlags, null);
+	}
+
+	/**
+	 * Reads an .mca file from a {@code RandomAccessFile} into this object, decompressing and parsing the chunks
+	 * on an {@code ExecutorService}. The 8 KiB header is read in one call, and each chunk is read with a positional
+	 * read of the file's channel, so the chunks can be read at the same time without seeking.
+	 * This method does not perform any cleanups on the data.
+	 * @param raf The {@code RandomAccessFile} to read from.
+	 * @param loadFlags A logical or of {@link LoadFlags} constants indicating what data should be loaded
+	 * @param executor The {@code ExecutorService} to read the chunks on, or {@code null} to read them on this thread.
+	 * @throws IOException If something went wrong during deserialization.
+	 * */
+	public void deserialize(RandomAccessFile raf, long loadFlags, ExecutorService executor) throws IOException {
+		deserialize(raf, loadFlags, executor, null);
+	}
+
+	/**
+	 * Reads the chunks of an .mca file that are inside of a {@link LoadArea} into this object, as
+	 * {@link #deserialize(RandomAccessFile, long, ExecutorService)} does. The chunks outside of the area are not read
+	 * or decompressed and are {@code null} afterwards, so an MCAFile read like this should not be written back.
+	 * @param raf The {@code RandomAccessFile} to read from.
+	 * @param loadFlags A logical or of {@link LoadFlags} constants indicating what data should be loaded
+	 * @param executor The {@code ExecutorService} to read the chunks on, or {@code null} to read them on this thread.
+	 * @param area The blocks to load, or {@code null} to load the whole region.
+	 * @throws IOException If something went wrong during deserialization.
+	 * */
+	public void deserialize(RandomAccessFile raf, long loadFlags, ExecutorService executor, LoadArea area) throws IOException {
 		chunks = new Chunk[1024];
+		FileChannel channel = raf.getChannel();
+		long fileLength = channel.size();
+		ByteBuffer header = ByteBuffer.allocate(8192);
+		readFully(channel, header, 0);
+		List<Future<?>> reads = executor == null ? null : new ArrayList<>();
+		AtomicBoolean aborted = new AtomicBoolean();
+		try {
+			submitChunks(channel, fileLength, header, loadFlags, executor, area, reads, aborted);
+		} catch (IOException | RuntimeException | Error ex) {
+			if (reads != null) {
+				abort(reads, aborted);
+			}
+			throw ex;
+		}
+		if (reads != null) {
+			waitFor(reads, aborted);
+		}
+	}
+
+	private void submitChunks(FileChannel channel, long fileLength, ByteBuffer header, long loadFlags,
+			ExecutorService executor, LoadArea area, List<Future<?>> reads, AtomicBoolean aborted) throws IOException {
 		for (int i = 0; i < 1024; i++) {
-			raf.seek(i * 4);
-			int offset = raf.read() << 16;
-			offset |= (raf.read() & 0xFF) << 8;
-			offset |= raf.read() & 0xFF;
-			if (raf.readByte() == 0) {
+			int location = header.getInt(i * 4);
+			if ((location & 0xFF) == 0) {
 				continue;
 			}
-			raf.seek(4096 + i * 4);
-			int timestamp = raf.readInt();
+			if (area != null && !area.containsChunk(regionX * 32 + (i & 31), regionZ * 32 + (i >> 5))) {
+				continue;
+			}
+			long position = 4096L * (location >>> 8);
+			int timestamp = header.getInt(4096 + i * 4);
+			if (position < 8192 || position + 5 > fileLength) {
+				throw new IOException("invalid offset for chunk " + i);
+			}
 			Chunk chunk = new Chunk(timestamp);
-			raf.seek(4096 * offset + 4); //+4: skip data size
-			chunk.deserialize(raf, loadFlags);
 			chunks[i] = chunk;
+			if (executor == null) {
+				chunk.deserialize(readChunkData(channel, position, fileLength), loadFlags, area);
+			} else {
+				reads.add(executor.submit(() -> {
+					if (!aborted.get()) {
+						chunk.deserialize(readChunkData(channel, position, fileLength), loadFlags, area);
+					}
+					return null;
+				}));
+			}
+		}
+	}
+
+	private static byte[] readChunkData(FileChannel channel, long position, long fileLength) throws IOException {
+		ByteBuffer size = ByteBuffer.allocate(4);
+		readFully(channel, size, position);
+		int length = size.getInt(0); // including the byte that stores the compression type
+		if (length < 1 || position + 4 + length > fileLength) {
+			throw new IOException("invalid chunk length " + length + " at " + position);
+		}
+		ByteBuffer raw = ByteBuffer.allocate(length);
+		readFully(channel, raw, position + 4);
+		return raw.array();
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position + buffer.position());
+			if (read < 0) {
+				throw new IOException("unexpected end of file at " + (position + buffer.position()));
+			}
+		}
+	}
+
+	private static void waitFor(List<Future<?>> reads, AtomicBoolean aborted) throws IOException {
+		IOException failed = null;
+		for (Future<?> read : reads) {
+			try {
+				read.get();
+			} catch (InterruptedException ex) {
+				abort(reads, aborted);
+				Thread.currentThread().interrupt();
+				throw new IOException("interrupted while reading chunks", ex);
+			} catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException || cause instanceof Error) {
+					abort(reads, aborted);
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					throw (Error) cause;
+				} else if (failed == null) {
+					failed = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+				}
+			}
+		}
+		if (failed != null) {
+			throw failed;
+		}
+	}
+
+	/**
+	 * Makes the chunk reads that haven't started yet do nothing, and waits for the ones that are running,
+	 * so none of them still uses the file when the caller gives up on it.
+	 * The running reads aren't interrupted, an interrupt would close the file's channel.
+	 * */
+	private static void abort(List<Future<?>> reads, AtomicBoolean aborted) {
+		aborted.set(true);
+		boolean interrupted = false;
+		for (Future<?> read : reads) {
+			while (true) {
+				try {
+					read.get();
+					break;
+				} catch (InterruptedException ex) {
+					interrupted = true;
+				} catch (ExecutionException ex) {
+					break;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
 		}
 	}
 
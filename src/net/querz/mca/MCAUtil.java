@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -55,9 +56,36 @@ public final class MCAUtil {
 	 * @throws IOException if something during deserialization goes wrong.
 	 * */
 	public static MCAFile read(File file, long loadFlags) throws IOException {
+		return read(file, loadFlags, null);
+	}
+
+	/**
+	 * Reads an MCA file and loads all of its chunks, decompressing and parsing the chunks on an {@code ExecutorService}.
+	 * @see MCAFile#deserialize(RandomAccessFile, long, ExecutorService)
+	 * @param file The file to read the data from.
+	 * @return An in-memory representation of the MCA file with decompressed chunk data
+	 * @param loadFlags A logical or of {@link LoadFlags} constants indicating what data should be loaded
+	 * @param executor The {@code ExecutorService} to read the chunks on, or {@code null} to read them on this thread.
+	 * @throws IOException if something during deserialization goes wrong.
+	 * */
+	public static MCAFile read(File file, long loadFlags, ExecutorService executor) throws IOException {
+		return read(file, loadFlags, executor, null);
+	}
+
+	/**
+	 * Reads only the chunks and sections of an MCA file that are inside of a {@link LoadArea}.
+	 * @see MCAFile#deserialize(RandomAccessFile, long, ExecutorService, LoadArea)
+	 * @param file The file to read the data from.
+	 * @return An in-memory representation of the MCA file with decompressed chunk data for the chunks inside of the area
+	 * @param loadFlags A logical or of {@link LoadFlags} constants indicating what data should be loaded
+	 * @param executor The {@code ExecutorService} to read the chunks on, or {@code null} to read them on this thread.
+	 * @param area The blocks to load, or {@code null} to load the whole file.
+	 * @throws IOException if something during deserialization goes wrong.
+	 * */
+	public static MCAFile read(File file, long loadFlags, ExecutorService executor, LoadArea area) throws IOException {
 		MCAFile mcaFile = newMCAFile(file);
 		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
-			mcaFile.deserialize(raf, loadFlags);
+			mcaFile.deserialize(raf, loadFlags, executor, area);
 			return mcaFile;
 		}
 	}
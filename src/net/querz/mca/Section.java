@@ -6,6 +6,7 @@ import net.querz.nbt.tag.CompoundTag;
 import net.querz.nbt.tag.ListTag;
 import net.querz.nbt.tag.LongArrayTag;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,7 +14,7 @@ import java.util.Map;
 public class Section {
 
 	private CompoundTag data;
-	private Map<String, List<PaletteIndex>> valueIndexedPalette = new HashMap<>();
+	private Map<String, List<PaletteIndex>> valueIndexedPalette; //built on first use, most sections read are never changed
 	private ListTag<CompoundTag> palette;
 	private byte[] blockLight;
 	private long[] blockStates;
@@ -27,18 +28,16 @@ public class Section {
 	public Section(CompoundTag sectionRoot, int dataVersion, long loadFlags) {
 		data = sectionRoot;
 		this.dataVersion = dataVersion;
-		ListTag<?> rawPalette = sectionRoot.getListTag("Palette");
+		// 1.18+ keeps the palette and the indices together in block_states
+		CompoundTag blockStatesRoot = sectionRoot.getCompoundTag("block_states");
+		ListTag<?> rawPalette = blockStatesRoot != null ? blockStatesRoot.getListTag("palette") : sectionRoot.getListTag("Palette");
 		if (rawPalette == null) {
 			return;
 		}
 		palette = rawPalette.asCompoundTagList();
-		for (int i = 0; i < palette.size(); i++) {
-			CompoundTag data = palette.get(i);
-			putValueIndexedPalette(data, i);
-		}
 
 		ByteArrayTag blockLight = sectionRoot.getByteArrayTag("BlockLight");
-		LongArrayTag blockStates = sectionRoot.getLongArrayTag("BlockStates");
+		LongArrayTag blockStates = blockStatesRoot != null ? blockStatesRoot.getLongArrayTag("data") : sectionRoot.getLongArrayTag("BlockStates");
 		ByteArrayTag skyLight = sectionRoot.getByteArrayTag("SkyLight");
 
 		if ((loadFlags & BLOCK_LIGHTS) != 0) {
@@ -54,10 +53,22 @@ public class Section {
 
 	Section() {}
 
+	private Map<String, List<PaletteIndex>> getValueIndexedPalette() {
+		if (valueIndexedPalette == null) {
+			valueIndexedPalette = new HashMap<>();
+			if (palette != null) {
+				for (int i = 0; i < palette.size(); i++) {
+					putValueIndexedPalette(palette.get(i), i);
+				}
+			}
+		}
+		return valueIndexedPalette;
+	}
+
 	void putValueIndexedPalette(CompoundTag data, int index) {
 		PaletteIndex leaf = new PaletteIndex(data, index);
 		String name = data.getString("Name");
-		List<PaletteIndex> leaves = valueIndexedPalette.get(name);
+		List<PaletteIndex> leaves = getValueIndexedPalette().get(name);
 		if (leaves == null) {
 			leaves = new ArrayList<>(1);
 			leaves.add(leaf);
@@ -73,7 +84,7 @@ public class Section {
 	}
 
 	PaletteIndex getValueIndexedPalette(CompoundTag data) {
-		List<PaletteIndex> leaves = valueIndexedPalette.get(data.getString("Name"));
+		List<PaletteIndex> leaves = getValueIndexedPalette().get(data.getString("Name"));
 		if (leaves == null) {
 			return null;
 		}
@@ -152,6 +163,10 @@ public class Section {
 	 * @return The index of the block data in the palette.
 	 * */
 	public int getPaletteIndex(int blockStateIndex) {
+		if (blockStates == null) {
+			// since 1.18, a section of only one block state has no indices
+			return 0;
+		}
 		int bits = blockStates.length >> 6;
 
 		if (dataVersion < 2527) {
@@ -173,6 +188,63 @@ public class Section {
 		}
 	}
 
+	/**
+	 * Decodes the palette index of every block in this Section in one pass over the BlockStates.
+	 * This is much faster than calling {@link #getPaletteIndex(int)} for each block.
+	 * @param indices An array of at least 4096 to decode into, or <code>null</code> to create one.
+	 * @return The palette index of each block, indexed by y * 256 + z * 16 + x.
+	 * */
+	public int[] getPaletteIndices(int[] indices) {
+		if (indices == null) {
+			indices = new int[4096];
+		}
+		if (blockStates == null || blockStates.length == 0) {
+			// since 1.18, a section of only one block state has no indices
+			Arrays.fill(indices, 0, 4096, 0);
+			return indices;
+		}
+		int bits = getBlockStateBits();
+		long mask = (1L << bits) - 1;
+
+		if (dataVersion < 2527) {
+			// indices can span two longs
+			for (int i = 0; i < 4096; i++) {
+				int bit = i * bits;
+				int longIndex = bit >> 6;
+				int startBit = bit & 63;
+				long value = blockStates[longIndex] >>> startBit;
+				if (startBit + bits > 64) {
+					value |= blockStates[longIndex + 1] << (64 - startBit);
+				}
+				indices[i] = (int) (value & mask);
+			}
+		} else {
+			int indicesPerLong = 64 / bits;
+			int i = 0;
+			for (int longIndex = 0; longIndex < blockStates.length && i < 4096; longIndex++) {
+				long value = blockStates[longIndex];
+				for (int j = 0; j < indicesPerLong && i < 4096; j++) {
+					indices[i++] = (int) (value & mask);
+					value >>>= bits;
+				}
+			}
+		}
+		return indices;
+	}
+
+	private int getBlockStateBits() {
+		if (dataVersion < 2527) {
+			return blockStates.length >> 6;
+		}
+		// the length doesn't always give the bits (11 and 12 bits both need 820 longs), so use the palette size if it fits
+		int bits = Math.max(4, 32 - Integer.numberOfLeadingZeros(palette.size() - 1));
+		int indicesPerLong = 64 / bits;
+		if ((4096 + indicesPerLong - 1) / indicesPerLong != blockStates.length) {
+			bits = 64 / ((4096 + blockStates.length - 1) / blockStates.length);
+		}
+		return bits;
+	}
+
 	/**
 	 * Sets the index of the block data in the BlockStates. Does not adjust the size of the BlockStates array.
 	 * @param blockIndex The index of the block in this section, ranging from 0-4095.
@@ -253,7 +325,7 @@ public class Section {
 		//delete unused blocks from palette
 		//start at index 1 because we need to keep minecraft:air
 		int index = 1;
-		valueIndexedPalette = new HashMap<>(valueIndexedPalette.size());
+		valueIndexedPalette = new HashMap<>(palette.size());
 		putValueIndexedPalette(palette.get(0), 0);
 		for (int i = 1; i < palette.size(); i++) {
 			if (!allIndices.containsKey(index)) {
@@ -381,6 +453,23 @@ public class Section {
 	 */
 	public CompoundTag updateHandle(int y) {
 		data.putByte("Y", (byte) y);
+		if (data.containsKey("block_states") || dataVersion >= Chunk.SECTIONS_DATA_VERSION) {
+			CompoundTag blockStatesRoot = new CompoundTag();
+			if (palette != null) {
+				blockStatesRoot.put("palette", palette);
+			}
+			if (blockStates != null) {
+				blockStatesRoot.putLongArray("data", blockStates);
+			}
+			data.put("block_states", blockStatesRoot);
+			if (blockLight != null) {
+				data.putByteArray("BlockLight", blockLight);
+			}
+			if (skyLight != null) {
+				data.putByteArray("SkyLight", skyLight);
+			}
+			return data;
+		}
 		if (palette != null) {
 			data.put("Palette", palette);
 		}
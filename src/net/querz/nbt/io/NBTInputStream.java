@@ -17,6 +17,7 @@ import net.querz.nbt.tag.ShortTag;
 import net.querz.nbt.tag.StringTag;
 import net.querz.nbt.tag.Tag;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.HashMap;
@@ -62,7 +63,7 @@ public class NBTInputStream extends DataInputStream implements MaxDepthIO {
 		return readTag(id, maxDepth);
 	}
 
-	private Tag<?> readTag(byte type, int maxDepth) throws IOException {
+	Tag<?> readTag(byte type, int maxDepth) throws IOException {
 		ExceptionBiFunction<NBTInputStream, Integer, ? extends Tag<?>, IOException> f;
 		if ((f = readers.get(type)) == null) {
 			throw new IOException("invalid tag id \"" + type + "\"");
@@ -70,6 +71,97 @@ public class NBTInputStream extends DataInputStream implements MaxDepthIO {
 		return f.accept(this, maxDepth);
 	}
 
+	/**
+	 * Reads past a tag without creating it.
+	 * @param type The id of the tag.
+	 * @param maxDepth The maximum depth of nested tags.
+	 * */
+	void skipTag(byte type, int maxDepth) throws IOException {
+		switch (type) {
+		case EndTag.ID:
+			return;
+		case ByteTag.ID:
+			skipFully(1);
+			return;
+		case ShortTag.ID:
+			skipFully(2);
+			return;
+		case IntTag.ID:
+		case FloatTag.ID:
+			skipFully(4);
+			return;
+		case LongTag.ID:
+		case DoubleTag.ID:
+			skipFully(8);
+			return;
+		case ByteArrayTag.ID:
+			skipFully(readArrayLength());
+			return;
+		case StringTag.ID:
+			skipFully(readUnsignedShort());
+			return;
+		case IntArrayTag.ID:
+			skipFully(readArrayLength() * 4L);
+			return;
+		case LongArrayTag.ID:
+			skipFully(readArrayLength() * 8L);
+			return;
+		case ListTag.ID:
+			byte listType = readByte();
+			int length = readInt();
+			switch (listType) {
+			case ByteTag.ID:
+				skipFully(Math.max(length, 0));
+				return;
+			case ShortTag.ID:
+				skipFully(Math.max(length, 0) * 2L);
+				return;
+			case IntTag.ID:
+			case FloatTag.ID:
+				skipFully(Math.max(length, 0) * 4L);
+				return;
+			case LongTag.ID:
+			case DoubleTag.ID:
+				skipFully(Math.max(length, 0) * 8L);
+				return;
+			}
+			for (int i = 0; i < length; i++) {
+				skipTag(listType, decrementMaxDepth(maxDepth));
+			}
+			return;
+		case CompoundTag.ID:
+			for (int id = readByte() & 0xFF; id != 0; id = readByte() & 0xFF) {
+				skipFully(readUnsignedShort());
+				skipTag((byte) id, decrementMaxDepth(maxDepth));
+			}
+			return;
+		default:
+			throw new IOException("invalid tag id \"" + type + "\"");
+		}
+	}
+
+	private int readArrayLength() throws IOException {
+		int length = readInt();
+		if (length < 0) {
+			throw new IOException("negative array length " + length);
+		}
+		return length;
+	}
+
+	private void skipFully(long n) throws IOException {
+		while (n > 0) {
+			long skipped = skip(n);
+			if (skipped <= 0) {
+				// skip() may stop early without being at the end, read() tells
+				if (read() < 0) {
+					throw new EOFException();
+				}
+				skipped = 1;
+			}
+			n -= skipped;
+		}
+	}
+
 	private static ByteTag readByte(NBTInputStream in) throws IOException {
 		return new ByteTag(in.readByte());
 	}
@@ -126,11 +218,38 @@ public class NBTInputStream extends DataInputStream implements MaxDepthIO {
 
 	private static ListTag<?> readListTag(NBTInputStream in, int maxDepth) throws IOException {
 		byte listType = in.readByte();
-		ListTag<?> list = ListTag.createUnchecked(idClassMapping.get(listType));
 		int length = in.readInt();
 		if (length < 0) {
 			length = 0;
 		}
+		// lists of numbers are read into primitive arrays, their Tags are only created if they are used
+		switch (listType) {
+		case IntTag.ID:
+			int[] ints = new int[length];
+			for (int i = 0; i < length; i++) {
+				ints[i] = in.readInt();
+			}
+			return ListTag.fromInts(ints);
+		case LongTag.ID:
+			long[] longs = new long[length];
+			for (int i = 0; i < length; i++) {
+				longs[i] = in.readLong();
+			}
+			return ListTag.fromLongs(longs);
+		case FloatTag.ID:
+			float[] floats = new float[length];
+			for (int i = 0; i < length; i++) {
+				floats[i] = in.readFloat();
+			}
+			return ListTag.fromFloats(floats);
+		case DoubleTag.ID:
+			double[] doubles = new double[length];
+			for (int i = 0; i < length; i++) {
+				doubles[i] = in.readDouble();
+			}
+			return ListTag.fromDoubles(doubles);
+		}
+		ListTag<?> list = ListTag.createUnchecked(idClassMapping.get(listType));
 		for (int i = 0; i < length; i++) {
 			list.addUnchecked(in.readTag(listType, in.decrementMaxDepth(maxDepth)));
 		}
@@ -1,6 +1,5 @@
 package net.querz.nbt.io;
 
-import net.querz.io.ExceptionTriConsumer;
 import net.querz.io.MaxDepthIO;
 import net.querz.nbt.tag.ByteArrayTag;
 import net.querz.nbt.tag.ByteTag;
@@ -19,43 +18,50 @@ import net.querz.nbt.tag.Tag;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Writes NBT data. Everything is written into a buffer of {@link #BUFFER_SIZE} bytes first, so the stream
+ * that is passed in doesn't need to be buffered, and the values of int and long arrays and of lists of numbers
+ * are put into the buffer in bulk instead of one byte at a time.
+ * Call {@link #flush()} or {@link #close()} when done, or the end of the data stays in the buffer.
+ * */
 public class NBTOutputStream extends DataOutputStream implements MaxDepthIO {
 
-	private static Map<Byte, ExceptionTriConsumer<NBTOutputStream, Tag<?>, Integer, IOException>> writers = new HashMap<>();
+	public static final int BUFFER_SIZE = 64 * 1024;
+
 	private static Map<Class<?>, Byte> classIdMapping = new HashMap<>();
 
 	static {
-		put(EndTag.ID, (o, t, d) -> {}, EndTag.class);
-		put(ByteTag.ID, (o, t, d) -> writeByte(o, t), ByteTag.class);
-		put(ShortTag.ID, (o, t, d) -> writeShort(o, t), ShortTag.class);
-		put(IntTag.ID, (o, t, d) -> writeInt(o, t), IntTag.class);
-		put(LongTag.ID, (o, t, d) -> writeLong(o, t), LongTag.class);
-		put(FloatTag.ID, (o, t, d) -> writeFloat(o, t), FloatTag.class);
-		put(DoubleTag.ID, (o, t, d) -> writeDouble(o, t), DoubleTag.class);
-		put(ByteArrayTag.ID, (o, t, d) -> writeByteArray(o, t), ByteArrayTag.class);
-		put(StringTag.ID, (o, t, d) -> writeString(o, t), StringTag.class);
-		put(ListTag.ID, NBTOutputStream::writeList, ListTag.class);
-		put(CompoundTag.ID, NBTOutputStream::writeCompound, CompoundTag.class);
-		put(IntArrayTag.ID, (o, t, d) -> writeIntArray(o, t), IntArrayTag.class);
-		put(LongArrayTag.ID, (o, t, d) -> writeLongArray(o, t), LongArrayTag.class);
+		classIdMapping.put(EndTag.class, EndTag.ID);
+		classIdMapping.put(ByteTag.class, ByteTag.ID);
+		classIdMapping.put(ShortTag.class, ShortTag.ID);
+		classIdMapping.put(IntTag.class, IntTag.ID);
+		classIdMapping.put(LongTag.class, LongTag.ID);
+		classIdMapping.put(FloatTag.class, FloatTag.ID);
+		classIdMapping.put(DoubleTag.class, DoubleTag.ID);
+		classIdMapping.put(ByteArrayTag.class, ByteArrayTag.ID);
+		classIdMapping.put(StringTag.class, StringTag.ID);
+		classIdMapping.put(ListTag.class, ListTag.ID);
+		classIdMapping.put(CompoundTag.class, CompoundTag.ID);
+		classIdMapping.put(IntArrayTag.class, IntArrayTag.ID);
+		classIdMapping.put(LongArrayTag.class, LongArrayTag.ID);
 	}
 
-	private static void put(byte id, ExceptionTriConsumer<NBTOutputStream, Tag<?>, Integer, IOException> f, Class<?> clazz) {
-		writers.put(id, f);
-		classIdMapping.put(clazz, id);
-	}
+	private final Buffer buffer;
 
 	public NBTOutputStream(OutputStream out) {
-		super(out);
+		super(new Buffer(out));
+		buffer = (Buffer) this.out;
 	}
 
 	public void writeTag(NamedTag tag, int maxDepth) throws IOException {
 		writeByte(tag.getTag().getID());
 		if (tag.getTag().getID() != 0) {
-			writeUTF(tag.getName() == null ? "" : tag.getName());
+			buffer.writeUTF(tag.getName() == null ? "" : tag.getName());
 		}
 		writeRawTag(tag.getTag(), maxDepth);
 	}
@@ -63,17 +69,60 @@ public class NBTOutputStream extends DataOutputStream implements MaxDepthIO {
 	public void writeTag(Tag<?> tag, int maxDepth) throws IOException {
 		writeByte(tag.getID());
 		if (tag.getID() != 0) {
-			writeUTF("");
+			buffer.writeUTF("");
 		}
 		writeRawTag(tag, maxDepth);
 	}
 
 	public void writeRawTag(Tag<?> tag, int maxDepth) throws IOException {
-		ExceptionTriConsumer<NBTOutputStream, Tag<?>, Integer, IOException> f;
-		if ((f = writers.get(tag.getID())) == null) {
+		switch (tag.getID()) {
+		case EndTag.ID:
+			return;
+		case ByteTag.ID:
+			buffer.write(((ByteTag) tag).asByte());
+			return;
+		case ShortTag.ID:
+			buffer.putShort(((ShortTag) tag).asShort());
+			return;
+		case IntTag.ID:
+			buffer.putInt(((IntTag) tag).asInt());
+			return;
+		case LongTag.ID:
+			buffer.putLong(((LongTag) tag).asLong());
+			return;
+		case FloatTag.ID:
+			buffer.putInt(Float.floatToIntBits(((FloatTag) tag).asFloat()));
+			return;
+		case DoubleTag.ID:
+			buffer.putLong(Double.doubleToLongBits(((DoubleTag) tag).asDouble()));
+			return;
+		case ByteArrayTag.ID:
+			byte[] bytes = ((ByteArrayTag) tag).getValue();
+			buffer.putInt(bytes.length);
+			buffer.write(bytes, 0, bytes.length);
+			return;
+		case StringTag.ID:
+			buffer.writeUTF(((StringTag) tag).getValue());
+			return;
+		case ListTag.ID:
+			writeList((ListTag<?>) tag, maxDepth);
+			return;
+		case CompoundTag.ID:
+			writeCompound((CompoundTag) tag, maxDepth);
+			return;
+		case IntArrayTag.ID:
+			int[] ints = ((IntArrayTag) tag).getValue();
+			buffer.putInt(ints.length);
+			buffer.putInts(ints);
+			return;
+		case LongArrayTag.ID:
+			long[] longs = ((LongArrayTag) tag).getValue();
+			buffer.putInt(longs.length);
+			buffer.putLongs(longs);
+			return;
+		default:
 			throw new IOException("invalid tag \"" + tag.getID() + "\"");
 		}
-		f.accept(this, tag, maxDepth);
 	}
 
 	static byte idFromClass(Class<?> clazz) {
@@ -84,70 +133,207 @@ public class NBTOutputStream extends DataOutputStream implements MaxDepthIO {
 		return id;
 	}
 
-	private static void writeByte(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeByte(((ByteTag) tag).asByte());
-	}
-	
-	private static void writeShort(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeShort(((ShortTag) tag).asShort());
-	}
-	
-	private static void writeInt(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeInt(((IntTag) tag).asInt());
+	private void writeList(ListTag<?> list, int maxDepth) throws IOException {
+		byte id = idFromClass(list.getTypeClass());
+		int size = list.size();
+		buffer.write(id);
+		buffer.putInt(size);
+		// numbers are written without creating their Tags if the list hasn't created them yet
+		switch (id) {
+		case IntTag.ID:
+			for (int i = 0; i < size; i++) {
+				buffer.putInt(list.getInt(i));
+			}
+			return;
+		case LongTag.ID:
+			for (int i = 0; i < size; i++) {
+				buffer.putLong(list.getLong(i));
+			}
+			return;
+		case FloatTag.ID:
+			for (int i = 0; i < size; i++) {
+				buffer.putInt(Float.floatToIntBits(list.getFloat(i)));
+			}
+			return;
+		case DoubleTag.ID:
+			for (int i = 0; i < size; i++) {
+				buffer.putLong(Double.doubleToLongBits(list.getDouble(i)));
+			}
+			return;
+		}
+		for (Tag<?> t : list) {
+			writeRawTag(t, decrementMaxDepth(maxDepth));
+		}
 	}
 
-	private static void writeLong(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeLong(((LongTag) tag).asLong());
+	private void writeCompound(CompoundTag tag, int maxDepth) throws IOException {
+		for (Map.Entry<String, Tag<?>> entry : tag) {
+			if (entry.getValue().getID() == 0) {
+				throw new IOException("end tag not allowed");
+			}
+			buffer.write(entry.getValue().getID());
+			buffer.writeUTF(entry.getKey());
+			writeRawTag(entry.getValue(), decrementMaxDepth(maxDepth));
+		}
+		buffer.write(0);
 	}
 
-	private static void writeFloat(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeFloat(((FloatTag) tag).asFloat());
-	}
+	/**
+	 * The buffer between this stream and the stream it writes to. Unlike a BufferedOutputStream it isn't
+	 * synchronized, and numbers are put straight into it through a big endian ByteBuffer over the same array.
+	 * */
+	private static final class Buffer extends OutputStream {
 
-	private static void writeDouble(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeDouble(((DoubleTag) tag).asDouble());
-	}
+		private final OutputStream out;
+		private final byte[] buf = new byte[BUFFER_SIZE];
+		private final ByteBuffer bytes = ByteBuffer.wrap(buf);
+		private int count;
 
-	private static void writeString(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeUTF(((StringTag) tag).getValue());
-	}
+		Buffer(OutputStream out) {
+			this.out = out;
+		}
 
-	private static void writeByteArray(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeInt(((ByteArrayTag) tag).length());
-		out.write(((ByteArrayTag) tag).getValue());
-	}
+		private void flushBuffer() throws IOException {
+			if (count > 0) {
+				out.write(buf, 0, count);
+				count = 0;
+			}
+		}
 
-	private static void writeIntArray(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeInt(((IntArrayTag) tag).length());
-		for (int i : ((IntArrayTag) tag).getValue()) {
-			out.writeInt(i);
+		private void ensure(int length) throws IOException {
+			if (buf.length - count < length) {
+				flushBuffer();
+			}
 		}
-	}
 
-	private static void writeLongArray(NBTOutputStream out, Tag<?> tag) throws IOException {
-		out.writeInt(((LongArrayTag) tag).length());
-		for (long l : ((LongArrayTag) tag).getValue()) {
-			out.writeLong(l);
+		@Override
+		public void write(int b) throws IOException {
+			if (count == buf.length) {
+				flushBuffer();
+			}
+			buf[count++] = (byte) b;
 		}
-	}
 
-	private static void writeList(NBTOutputStream out, Tag<?> tag, int maxDepth) throws IOException {
-		out.writeByte(idFromClass(((ListTag<?>) tag).getTypeClass()));
-		out.writeInt(((ListTag<?>) tag).size());
-		for (Tag<?> t : ((ListTag<?>) tag)) {
-			out.writeRawTag(t, out.decrementMaxDepth(maxDepth));
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (len >= buf.length) {
+				flushBuffer();
+				out.write(b, off, len);
+				return;
+			}
+			ensure(len);
+			System.arraycopy(b, off, buf, count, len);
+			count += len;
 		}
-	}
 
-	private static void writeCompound(NBTOutputStream out, Tag<?> tag, int maxDepth) throws IOException {
-		for (Map.Entry<String, Tag<?>> entry : (CompoundTag) tag) {
-			if (entry.getValue().getID() == 0) {
-				throw new IOException("end tag not allowed");
+		void putShort(short s) throws IOException {
+			ensure(2);
+			bytes.putShort(count, s);
+			count += 2;
+		}
+
+		void putInt(int i) throws IOException {
+			ensure(4);
+			bytes.putInt(count, i);
+			count += 4;
+		}
+
+		void putLong(long l) throws IOException {
+			ensure(8);
+			bytes.putLong(count, l);
+			count += 8;
+		}
+
+		void putInts(int[] ints) throws IOException {
+			int i = 0;
+			while (i < ints.length) {
+				int n = Math.min(ints.length - i, (buf.length - count) / 4);
+				if (n == 0) {
+					flushBuffer();
+					continue;
+				}
+				bytes.position(count);
+				bytes.asIntBuffer().put(ints, i, n);
+				count += n * 4;
+				i += n;
+			}
+		}
+
+		void putLongs(long[] longs) throws IOException {
+			int i = 0;
+			while (i < longs.length) {
+				int n = Math.min(longs.length - i, (buf.length - count) / 8);
+				if (n == 0) {
+					flushBuffer();
+					continue;
+				}
+				bytes.position(count);
+				bytes.asLongBuffer().put(longs, i, n);
+				count += n * 8;
+				i += n;
+			}
+		}
+
+		/**
+		 * The same as {@link DataOutputStream#writeUTF(String)}, but strings that are only ASCII (most keys and
+		 * values are) are copied into the buffer without encoding them into a temporary array first.
+		 * */
+		void writeUTF(String s) throws IOException {
+			int length = s.length();
+			if (length + 2 <= buf.length) {
+				ensure(length + 2);
+				int start = count + 2;
+				int i = 0;
+				for (; i < length; i++) {
+					char c = s.charAt(i);
+					if (c == 0 || c >= 0x80) {
+						break;
+					}
+					buf[start + i] = (byte) c;
+				}
+				if (i == length) {
+					bytes.putShort(count, (short) length);
+					count = start + length;
+					return;
+				}
+			}
+			int utfLength = 0;
+			for (int i = 0; i < length; i++) {
+				char c = s.charAt(i);
+				utfLength += c != 0 && c < 0x80 ? 1 : c < 0x800 ? 2 : 3;
+			}
+			if (utfLength > 65535) {
+				throw new UTFDataFormatException("encoded string too long: " + utfLength + " bytes");
+			}
+			putShort((short) utfLength);
+			for (int i = 0; i < length; i++) {
+				char c = s.charAt(i);
+				if (c != 0 && c < 0x80) {
+					write(c);
+				} else if (c < 0x800) {
+					write(0xC0 | (c >> 6));
+					write(0x80 | (c & 0x3F));
+				} else {
+					write(0xE0 | (c >> 12));
+					write(0x80 | ((c >> 6) & 0x3F));
+					write(0x80 | (c & 0x3F));
+				}
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			flushBuffer();
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flushBuffer();
+			} finally {
+				out.close();
 			}
-			out.writeByte(entry.getValue().getID());
-			out.writeUTF(entry.getKey());
-			out.writeRawTag(entry.getValue(), out.decrementMaxDepth(maxDepth));
 		}
-		out.writeByte(0);
 	}
 }
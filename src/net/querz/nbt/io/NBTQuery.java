@@ -0,0 +1,134 @@
+package net.querz.nbt.io;
+
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.Tag;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads only some tags of an NBT file, given by their paths, for example {@code "DataVersion"} or
+ * {@code "Metadata.EnclosingSize"} (compound keys separated by dots).
+ * The file is read as a stream, tags that aren't on a path are skipped without being created, and reading
+ * stops as soon as all paths were found. So the size or version of a large schematic can be read without
+ * reading its blocks, if they come after the requested tags. Paths that aren't in the file make it read to the end.
+ * */
+public final class NBTQuery {
+
+	private static class Node {
+		final Map<String, Node> children = new HashMap<>();
+		boolean selected; // the whole tag at this path is read
+	}
+
+	private final Node root = new Node();
+	private int remaining; // paths that weren't found yet
+
+	private NBTQuery(String... paths) {
+		for (String path : paths) {
+			Node node = root;
+			for (String key : path.split("\\.", -1)) {
+				if (key.isEmpty()) {
+					throw new IllegalArgumentException("invalid path \"" + path + "\"");
+				}
+				if (node.selected) {
+					break;
+				}
+				node = node.children.computeIfAbsent(key, k -> new Node());
+			}
+			node.selected = true;
+			node.children.clear();
+		}
+		remaining = count(root);
+	}
+
+	private static int count(Node node) {
+		if (node.selected) {
+			return 1;
+		}
+		int count = 0;
+		for (Node child : node.children.values()) {
+			count += count(child);
+		}
+		return count;
+	}
+
+	/**
+	 * Reads some tags of an NBT file, which may be gzip compressed.
+	 * @param file The NBT file.
+	 * @param paths The paths of the tags to read.
+	 * @return The name of the root tag and a root compound with only the tags that were found, at their paths.
+	 * If the root tag isn't a compound it's read and returned as it is.
+	 * */
+	public static NamedTag select(File file, String... paths) throws IOException {
+		try (FileInputStream fis = new FileInputStream(file)) {
+			return select(NBTUtil.detectDecompression(fis), paths);
+		}
+	}
+
+	/**
+	 * Reads some tags of uncompressed NBT data.
+	 * @see #select(File, String...)
+	 * */
+	public static NamedTag select(InputStream in, String... paths) throws IOException {
+		return new NBTQuery(paths).read(new NBTInputStream(in), Tag.DEFAULT_MAX_DEPTH);
+	}
+
+	/**
+	 * @param tag The tag to look in, usually the root compound returned by {@link #select(File, String...)}.
+	 * @param path The path of the tag, as for {@link #select(File, String...)}.
+	 * @return The tag at the path, or {@code null} if there is none.
+	 * */
+	public static Tag<?> get(Tag<?> tag, String path) {
+		for (String key : path.split("\\.", -1)) {
+			if (!(tag instanceof CompoundTag)) {
+				return null;
+			}
+			tag = ((CompoundTag) tag).get(key);
+		}
+		return tag;
+	}
+
+	private NamedTag read(NBTInputStream in, int maxDepth) throws IOException {
+		byte id = in.readByte();
+		String name = in.readUTF();
+		if (id != CompoundTag.ID) {
+			return new NamedTag(name, in.readTag(id, maxDepth));
+		}
+		CompoundTag compound = new CompoundTag();
+		if (remaining > 0) {
+			readCompound(in, root, compound, maxDepth);
+		}
+		return new NamedTag(name, compound);
+	}
+
+	// returns false once all paths were found, so nothing more needs to be read
+	private boolean readCompound(NBTInputStream in, Node node, CompoundTag compound, int maxDepth) throws IOException {
+		for (int id = in.readByte() & 0xFF; id != 0; id = in.readByte() & 0xFF) {
+			String key = in.readUTF();
+			Node child = node.children.get(key);
+			if (child == null) {
+				in.skipTag((byte) id, in.decrementMaxDepth(maxDepth));
+			} else if (child.selected) {
+				compound.put(key, in.readTag((byte) id, in.decrementMaxDepth(maxDepth)));
+				if (--remaining == 0) {
+					return false;
+				}
+			} else if (id == CompoundTag.ID) {
+				CompoundTag sub = new CompoundTag();
+				boolean more = readCompound(in, child, sub, in.decrementMaxDepth(maxDepth));
+				if (sub.size() > 0) {
+					compound.put(key, sub);
+				}
+				if (!more) {
+					return false;
+				}
+			} else {
+				in.skipTag((byte) id, in.decrementMaxDepth(maxDepth));
+			}
+		}
+		return true;
+	}
+}
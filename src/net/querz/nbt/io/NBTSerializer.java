@@ -1,14 +1,19 @@
 package net.querz.nbt.io;
 
+import net.querz.io.ParallelGZIPOutputStream;
 import net.querz.io.Serializer;
 import net.querz.nbt.tag.Tag;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
 public class NBTSerializer implements Serializer<NamedTag> {
 
 	private boolean compressed;
+	private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+	private ExecutorService executor;
 
 	public NBTSerializer() {
 		this(true);
@@ -18,15 +23,56 @@ public class NBTSerializer implements Serializer<NamedTag> {
 		this.compressed = compressed;
 	}
 
+	/**
+	 * Creates a serializer that writes gzip compressed NBT.
+	 * @param compressionLevel The gzip compression level, from {@link Deflater#BEST_SPEED} (faster)
+	 *                         to {@link Deflater#BEST_COMPRESSION} (smaller), or {@link Deflater#DEFAULT_COMPRESSION}.
+	 * */
+	public NBTSerializer(int compressionLevel) {
+		this(compressionLevel, null);
+	}
+
+	/**
+	 * Creates a serializer that writes gzip compressed NBT, compressing blocks of it in parallel
+	 * (see {@link ParallelGZIPOutputStream}), which is faster for large outputs.
+	 * @param compressionLevel The gzip compression level, see {@link #NBTSerializer(int)}.
+	 * @param executor Compresses the blocks, or {@code null} to compress on the calling thread.
+	 * */
+	public NBTSerializer(int compressionLevel, ExecutorService executor) {
+		if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+			throw new IllegalArgumentException("invalid compression level " + compressionLevel);
+		}
+		this.compressed = true;
+		this.compressionLevel = compressionLevel;
+		this.executor = executor;
+	}
+
 	@Override
 	public void toStream(NamedTag object, OutputStream out) throws IOException {
-		NBTOutputStream nbtOut;
-		if (compressed) {
-			nbtOut = new NBTOutputStream(new GZIPOutputStream(out, true));
+		if (!compressed) {
+			NBTOutputStream nbtOut = new NBTOutputStream(out);
+			nbtOut.writeTag(object, Tag.DEFAULT_MAX_DEPTH);
+			nbtOut.flush();
+		} else if (executor != null) {
+			ParallelGZIPOutputStream gzip = new ParallelGZIPOutputStream(out, compressionLevel, executor);
+			NBTOutputStream nbtOut = new NBTOutputStream(gzip);
+			nbtOut.writeTag(object, Tag.DEFAULT_MAX_DEPTH);
+			nbtOut.flush();
+			gzip.finish();
 		} else {
-			nbtOut = new NBTOutputStream(out);
+			LevelGZIPOutputStream gzip = new LevelGZIPOutputStream(out, compressionLevel);
+			NBTOutputStream nbtOut = new NBTOutputStream(gzip);
+			nbtOut.writeTag(object, Tag.DEFAULT_MAX_DEPTH);
+			nbtOut.flush();
+			gzip.finish();
+		}
+	}
+
+	private static class LevelGZIPOutputStream extends GZIPOutputStream {
+
+		LevelGZIPOutputStream(OutputStream out, int level) throws IOException {
+			super(out, NBTOutputStream.BUFFER_SIZE);
+			def.setLevel(level);
 		}
-		nbtOut.writeTag(object, Tag.DEFAULT_MAX_DEPTH);
-		nbtOut.flush();
 	}
 }
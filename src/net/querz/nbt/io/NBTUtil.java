@@ -7,6 +7,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
+import java.util.concurrent.ExecutorService;
 import java.util.zip.GZIPInputStream;
 
 public final class NBTUtil {
@@ -19,6 +20,26 @@ public final class NBTUtil {
 		}
 	}
 
+	/**
+	 * Writes gzip compressed NBT with the given compression level.
+	 * @see NBTSerializer#NBTSerializer(int)
+	 * */
+	public static void write(NamedTag tag, File file, int compressionLevel) throws IOException {
+		try (FileOutputStream fos = new FileOutputStream(file)) {
+			new NBTSerializer(compressionLevel).toStream(tag, fos);
+		}
+	}
+
+	/**
+	 * Writes gzip compressed NBT, compressing blocks of it in parallel on the executor.
+	 * @see NBTSerializer#NBTSerializer(int, ExecutorService)
+	 * */
+	public static void write(NamedTag tag, File file, int compressionLevel, ExecutorService executor) throws IOException {
+		try (FileOutputStream fos = new FileOutputStream(file)) {
+			new NBTSerializer(compressionLevel, executor).toStream(tag, fos);
+		}
+	}
+
 	public static void write(NamedTag tag, String file, boolean compressed) throws IOException {
 		write(tag, new File(file), compressed);
 	}
@@ -67,7 +88,7 @@ public final class NBTUtil {
 		return read(new File(file));
 	}
 
-	private static InputStream detectDecompression(InputStream is) throws IOException {
+	static InputStream detectDecompression(InputStream is) throws IOException {
 		PushbackInputStream pbis = new PushbackInputStream(is, 2);
 		int signature = (pbis.read() & 0xFF) + (pbis.read() << 8);
 		pbis.unread(signature >> 8);
@@ -16,49 +16,93 @@ import net.querz.nbt.tag.LongTag;
 import net.querz.nbt.tag.ShortTag;
 import net.querz.nbt.tag.StringTag;
 import net.querz.nbt.tag.Tag;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
+/**
+ * Parses SNBT from a char array. Tokens are scanned in place, numbers are recognized and
+ * (except for floating point numbers) converted without creating a String first.
+ * A parser created with {@link #SNBTParser()} can parse many SNBT fragments with
+ * {@link #parseFragment(CharSequence)}, reusing its buffer and giving equal keys and
+ * unquoted strings the same String instance. Such a parser is not thread safe.
+ * */
 public final class SNBTParser implements MaxDepthIO {
 
-	private static final Pattern
-			FLOAT_LITERAL_PATTERN = Pattern.compile("^[-+]?(?:\\d+\\.?|\\d*\\.\\d+)(?:e[-+]?\\d+)?f$", Pattern.CASE_INSENSITIVE),
-			DOUBLE_LITERAL_PATTERN = Pattern.compile("^[-+]?(?:\\d+\\.?|\\d*\\.\\d+)(?:e[-+]?\\d+)?d$", Pattern.CASE_INSENSITIVE),
-			DOUBLE_LITERAL_NO_SUFFIX_PATTERN = Pattern.compile("^[-+]?(?:\\d+\\.|\\d*\\.\\d+)(?:e[-+]?\\d+)?$", Pattern.CASE_INSENSITIVE),
-			BYTE_LITERAL_PATTERN = Pattern.compile("^[-+]?\\d+b$", Pattern.CASE_INSENSITIVE),
-			SHORT_LITERAL_PATTERN = Pattern.compile("^[-+]?\\d+s$", Pattern.CASE_INSENSITIVE),
-			INT_LITERAL_PATTERN = Pattern.compile("^[-+]?\\d+$", Pattern.CASE_INSENSITIVE),
-			LONG_LITERAL_PATTERN = Pattern.compile("^[-+]?\\d+l$", Pattern.CASE_INSENSITIVE),
-			NUMBER_PATTERN = Pattern.compile("^[-+]?\\d+$");
+	private static final int MAX_CACHED_STRINGS = 4096;
+	private static final int MAX_CACHED_LENGTH = 64;
 
-	private StringPointer ptr;
+	private char[] buf;
+	private int length;
+	private int index;
+
+	//keys and unquoted strings, by hash with linear probing, only used for fragments
+	private String[] cache;
+	private int cached;
+
+	/**
+	 * Creates a parser for many SNBT fragments.
+	 * @see SNBTParser#parseFragment(CharSequence)
+	 * */
+	public SNBTParser() {
+		buf = new char[256];
+		cache = new String[256];
+	}
 
 	private SNBTParser(String string) {
-		this.ptr = new StringPointer(string);
+		buf = string.toCharArray();
+		length = buf.length;
 	}
 
 	public static Tag<?> parse(String string, int maxDepth) throws ParseException {
-		SNBTParser parser = new SNBTParser(string);
-		Tag<?> tag = parser.parseAnything(maxDepth);
-		parser.ptr.skipWhitespace();
-		if (parser.ptr.hasNext()) {
-			throw parser.ptr.parseException("invalid characters after end of snbt");
-		}
-		return tag;
+		return new SNBTParser(string).parseAll(maxDepth);
 	}
 
 	public static Tag<?> parse(String string) throws ParseException {
 		return parse(string, Tag.DEFAULT_MAX_DEPTH);
 	}
 
+	/**
+	 * Parses one SNBT fragment with this parser.
+	 * @param snbt The SNBT.
+	 * @param maxDepth The maximum nesting depth.
+	 * @return The Tag.
+	 * @throws ParseException If the SNBT is not valid.
+	 * */
+	public Tag<?> parseFragment(CharSequence snbt, int maxDepth) throws ParseException {
+		length = snbt.length();
+		if (buf.length < length) {
+			buf = new char[Math.max(length, buf.length * 2)];
+		}
+		if (snbt instanceof String) {
+			((String) snbt).getChars(0, length, buf, 0);
+		} else {
+			for (int i = 0; i < length; i++) {
+				buf[i] = snbt.charAt(i);
+			}
+		}
+		index = 0;
+		return parseAll(maxDepth);
+	}
+
+	public Tag<?> parseFragment(CharSequence snbt) throws ParseException {
+		return parseFragment(snbt, Tag.DEFAULT_MAX_DEPTH);
+	}
+
+	private Tag<?> parseAll(int maxDepth) throws ParseException {
+		Tag<?> tag = parseAnything(maxDepth);
+		skipWhitespace();
+		if (hasNext()) {
+			throw parseException("invalid characters after end of snbt");
+		}
+		return tag;
+	}
+
 	private Tag<?> parseAnything(int maxDepth) throws ParseException {
-		ptr.skipWhitespace();
-		switch (ptr.currentChar()) {
+		skipWhitespace();
+		switch (currentChar()) {
 			case '{':
 				return parseCompoundTag(maxDepth);
 			case '[':
-				if (ptr.hasCharsLeft(2) && ptr.lookAhead(1) != '"' && ptr.lookAhead(2) == ';') {
+				if (index + 2 < length && buf[index + 1] != '"' && buf[index + 2] == ';') {
 					return parseNumArray();
 				}
 				return parseListTag(maxDepth);
@@ -67,178 +111,407 @@ public final class SNBTParser implements MaxDepthIO {
 	}
 
 	private Tag<?> parseStringOrLiteral() throws ParseException {
-		ptr.skipWhitespace();
-		if (ptr.currentChar() == '"') {
-			return new StringTag(ptr.parseQuotedString());
+		skipWhitespace();
+		if (currentChar() == '"') {
+			return new StringTag(parseQuotedString());
 		}
-		String s = ptr.parseSimpleString();
-		if (s.isEmpty()) {
+		int start = index;
+		skipSimpleString();
+		int end = index;
+		if (start == end) {
 			throw new ParseException("expected non empty value");
 		}
-		if (FLOAT_LITERAL_PATTERN.matcher(s).matches()) {
-			return new FloatTag(Float.parseFloat(s.substring(0, s.length() - 1)));
-		} else if (BYTE_LITERAL_PATTERN.matcher(s).matches()) {
-			try {
-				return new ByteTag(Byte.parseByte(s.substring(0, s.length() - 1)));
-			} catch (NumberFormatException ex) {
-				throw ptr.parseException("byte not in range: \"" + s.substring(0, s.length() - 1) + "\"");
+		Tag<?> number = parseNumber(start, end);
+		if (number != null) {
+			return number;
+		}
+		if (equalsIgnoreCase(start, end, "true")) {
+			return new ByteTag(true);
+		} else if (equalsIgnoreCase(start, end, "false")) {
+			return new ByteTag(false);
+		}
+		return new StringTag(string(start, end));
+	}
+
+	/**
+	 * Recognizes the same literals as {@code [-+]?(?:\d+\.?|\d*\.\d+)(?:e[-+]?\d+)?} with an optional
+	 * f or d suffix, and {@code [-+]?\d+} with an optional b, s or l suffix, ignoring case.
+	 * @return The number, or {@code null} if the chars are not a number.
+	 * */
+	private Tag<?> parseNumber(int start, int end) throws ParseException {
+		int i = start;
+		if (buf[i] == '-' || buf[i] == '+') {
+			i++;
+		}
+		int intStart = i;
+		while (i < end && isDigit(buf[i])) {
+			i++;
+		}
+		int intDigits = i - intStart;
+		boolean decimal = false;
+		if (i < end && buf[i] == '.') {
+			decimal = true;
+			i++;
+			int fractionStart = i;
+			while (i < end && isDigit(buf[i])) {
+				i++;
 			}
-		} else if (SHORT_LITERAL_PATTERN.matcher(s).matches()) {
-			try {
-				return new ShortTag(Short.parseShort(s.substring(0, s.length() - 1)));
-			} catch (NumberFormatException ex) {
-				throw ptr.parseException("short not in range: \"" + s.substring(0, s.length() - 1) + "\"");
+			if (intDigits == 0 && i == fractionStart) {
+				return null;
 			}
-		} else if (LONG_LITERAL_PATTERN.matcher(s).matches()) {
-			try {
-				return new LongTag(Long.parseLong(s.substring(0, s.length() - 1)));
-			} catch (NumberFormatException ex) {
-				throw ptr.parseException("long not in range: \"" + s.substring(0, s.length() - 1) + "\"");
+		} else if (intDigits == 0) {
+			return null;
+		}
+		boolean exponent = false;
+		if (i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+			exponent = true;
+			i++;
+			if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+				i++;
 			}
-		} else if (INT_LITERAL_PATTERN.matcher(s).matches()) {
-			try {
-				return new IntTag(Integer.parseInt(s));
-			} catch (NumberFormatException ex) {
-				throw ptr.parseException("int not in range: \"" + s.substring(0, s.length() - 1) + "\"");
-			}
-		} else if (DOUBLE_LITERAL_PATTERN.matcher(s).matches()) {
-			return new DoubleTag(Double.parseDouble(s.substring(0, s.length() - 1)));
-		} else if (DOUBLE_LITERAL_NO_SUFFIX_PATTERN.matcher(s).matches()) {
-			return new DoubleTag(Double.parseDouble(s));
-		} else if ("true".equalsIgnoreCase(s)) {
-			return new ByteTag(true);
-		} else if ("false".equalsIgnoreCase(s)) {
-			return new ByteTag(false);
+			int exponentStart = i;
+			while (i < end && isDigit(buf[i])) {
+				i++;
+			}
+			if (i == exponentStart) {
+				return null;
+			}
+		}
+		if (i == end) {
+			if (decimal) {
+				return new DoubleTag(Double.parseDouble(string(start, end)));
+			}
+			return exponent ? null : new IntTag((int) parseInteger(start, end, Integer.MIN_VALUE, Integer.MAX_VALUE, "int"));
+		}
+		if (i + 1 != end) {
+			return null;
+		}
+		switch (buf[i]) {
+			case 'f':
+			case 'F':
+				return new FloatTag(Float.parseFloat(string(start, i)));
+			case 'd':
+			case 'D':
+				return new DoubleTag(Double.parseDouble(string(start, i)));
+		}
+		if (decimal || exponent) {
+			return null;
+		}
+		switch (buf[i]) {
+			case 'b':
+			case 'B':
+				return new ByteTag((byte) parseInteger(start, i, Byte.MIN_VALUE, Byte.MAX_VALUE, "byte"));
+			case 's':
+			case 'S':
+				return new ShortTag((short) parseInteger(start, i, Short.MIN_VALUE, Short.MAX_VALUE, "short"));
+			case 'l':
+			case 'L':
+				return new LongTag(parseInteger(start, i, Long.MIN_VALUE, Long.MAX_VALUE, "long"));
 		}
-		return new StringTag(s);
+		return null;
+	}
+
+	/**
+	 * Parses {@code [-+]?\d+}, which the caller has already checked.
+	 * */
+	private long parseInteger(int start, int end, long min, long max, String type) throws ParseException {
+		boolean negative = buf[start] == '-';
+		int i = negative || buf[start] == '+' ? start + 1 : start;
+		// accumulate negatively, so Long.MIN_VALUE can be parsed
+		long limit = negative ? min : -max;
+		long multMin = limit / 10;
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = buf[i] - '0';
+			if (value < multMin || value * 10 < limit + digit) {
+				throw parseException(type + " not in range: \"" + string(start, end) + "\"");
+			}
+			value = value * 10 - digit;
+		}
+		return negative ? value : -value;
 	}
 
 	private CompoundTag parseCompoundTag(int maxDepth) throws ParseException {
-		ptr.expectChar('{');
+		expectChar('{');
 
 		CompoundTag compoundTag = new CompoundTag();
 
-		ptr.skipWhitespace();
-		while (ptr.hasNext() && ptr.currentChar() != '}') {
-			ptr.skipWhitespace();
-			String key = ptr.currentChar() == '"' ? ptr.parseQuotedString() : ptr.parseSimpleString();
+		skipWhitespace();
+		while (hasNext() && currentChar() != '}') {
+			skipWhitespace();
+			String key;
+			if (currentChar() == '"') {
+				key = parseQuotedString();
+			} else {
+				int start = index;
+				skipSimpleString();
+				key = string(start, index);
+			}
 			if (key.isEmpty()) {
 				throw new ParseException("empty keys are not allowed");
 			}
-			ptr.expectChar(':');
+			expectChar(':');
 
 			compoundTag.put(key, parseAnything(decrementMaxDepth(maxDepth)));
 
-			if (!ptr.nextArrayElement()) {
+			if (!nextArrayElement()) {
 				break;
 			}
 		}
-		ptr.expectChar('}');
+		expectChar('}');
 		return compoundTag;
 	}
 
 	private ListTag<?> parseListTag(int maxDepth) throws ParseException {
-		ptr.expectChar('[');
-		ptr.skipWhitespace();
+		expectChar('[');
+		skipWhitespace();
 		ListTag<?> list = ListTag.createUnchecked(EndTag.class);
-		while (ptr.currentChar() != ']') {
+		while (currentChar() != ']') {
 			Tag<?> element = parseAnything(decrementMaxDepth(maxDepth));
 			try {
 				list.addUnchecked(element);
 			} catch (IllegalArgumentException ex) {
-				throw ptr.parseException(ex.getMessage());
+				throw parseException(ex.getMessage());
 			}
-			if (!ptr.nextArrayElement()) {
+			if (!nextArrayElement()) {
 				break;
 			}
 		}
-		ptr.expectChar(']');
+		expectChar(']');
 		return list;
 	}
 
 	private ArrayTag<?> parseNumArray() throws ParseException {
-		ptr.expectChar('[');
-		char arrayType = ptr.next();
-		ptr.expectChar(';');
-		ptr.skipWhitespace();
+		expectChar('[');
+		char arrayType = currentChar();
+		index++;
+		expectChar(';');
+		skipWhitespace();
 		switch (arrayType) {
 			case 'B':
-				return parseByteArrayTag();
+				return new ByteArrayTag(toBytes(parseArrayElements(Byte.MIN_VALUE, Byte.MAX_VALUE, "byte", "ByteArrayTag")));
 			case 'I':
-				return parseIntArrayTag();
+				return new IntArrayTag(toInts(parseArrayElements(Integer.MIN_VALUE, Integer.MAX_VALUE, "int", "IntArrayTag")));
 			case 'L':
-				return parseLongArrayTag();
+				return new LongArrayTag(parseArrayElements(Long.MIN_VALUE, Long.MAX_VALUE, "long", "LongArrayTag"));
 		}
 		throw new ParseException("invalid array type '" + arrayType + "'");
 	}
 
-	private ByteArrayTag parseByteArrayTag() throws ParseException {
-		List<Byte> byteList = new ArrayList<>();
-		while (ptr.currentChar() != ']') {
-			String s = ptr.parseSimpleString();
-			ptr.skipWhitespace();
-			if (NUMBER_PATTERN.matcher(s).matches()) {
-				try {
-					byteList.add(Byte.parseByte(s));
-				} catch (NumberFormatException ex) {
-					throw ptr.parseException("byte not in range: \"" + s + "\"");
-				}
-			} else {
-				throw ptr.parseException("invalid byte in ByteArrayTag: \"" + s + "\"");
+	private long[] parseArrayElements(long min, long max, String type, String arrayName) throws ParseException {
+		long[] values = new long[16];
+		int size = 0;
+		while (currentChar() != ']') {
+			int start = index;
+			skipSimpleString();
+			int end = index;
+			skipWhitespace();
+			if (!isInteger(start, end)) {
+				throw parseException("invalid " + type + " in " + arrayName + ": \"" + string(start, end) + "\"");
+			}
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
 			}
-			if (!ptr.nextArrayElement()) {
+			values[size++] = parseInteger(start, end, min, max, type);
+			if (!nextArrayElement()) {
 				break;
 			}
 		}
-		ptr.expectChar(']');
-		byte[] bytes = new byte[byteList.size()];
-		for (int i = 0; i < byteList.size(); i++) {
-			bytes[i] = byteList.get(i);
+		expectChar(']');
+		return Arrays.copyOf(values, size);
+	}
+
+	private static byte[] toBytes(long[] values) {
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			bytes[i] = (byte) values[i];
+		}
+		return bytes;
+	}
+
+	private static int[] toInts(long[] values) {
+		int[] ints = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			ints[i] = (int) values[i];
+		}
+		return ints;
+	}
+
+	private boolean isInteger(int start, int end) {
+		int i = start;
+		if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+			i++;
+		}
+		if (i == end) {
+			return false;
+		}
+		for (; i < end; i++) {
+			if (!isDigit(buf[i])) {
+				return false;
+			}
 		}
-		return new ByteArrayTag(bytes);
+		return true;
 	}
 
-	private IntArrayTag parseIntArrayTag() throws ParseException {
-		List<Integer> intList = new ArrayList<>();
-		while (ptr.currentChar() != ']') {
-			String s = ptr.parseSimpleString();
-			ptr.skipWhitespace();
-			if (NUMBER_PATTERN.matcher(s).matches()) {
-				try {
-					intList.add(Integer.parseInt(s));
-				} catch (NumberFormatException ex) {
-					throw ptr.parseException("int not in range: \"" + s + "\"");
+	private String parseQuotedString() throws ParseException {
+		int start = ++index; //ignore beginning quotes
+		StringBuilder sb = null;
+		boolean escape = false;
+		while (hasNext()) {
+			char c = buf[index++];
+			if (escape) {
+				if (c != '\\' && c != '"') {
+					throw parseException("invalid escape of '" + c + "'");
 				}
+				escape = false;
 			} else {
-				throw ptr.parseException("invalid int in IntArrayTag: \"" + s + "\"");
+				if (c == '\\') { //escape
+					escape = true;
+					if (sb == null) {
+						sb = new StringBuilder(index - start + 16);
+						sb.append(buf, start, index - 1 - start);
+					}
+					continue;
+				}
+				if (c == '"') {
+					return sb == null ? new String(buf, start, index - 1 - start) : sb.toString();
+				}
 			}
-			if (!ptr.nextArrayElement()) {
-				break;
+			if (sb != null) {
+				sb.append(c);
 			}
 		}
-		ptr.expectChar(']');
-		return new IntArrayTag(intList.stream().mapToInt(i -> i).toArray());
+		throw parseException("missing end quote");
 	}
 
-	private LongArrayTag parseLongArrayTag() throws ParseException {
-		List<Long> longList = new ArrayList<>();
-		while (ptr.currentChar() != ']') {
-			String s = ptr.parseSimpleString();
-			ptr.skipWhitespace();
-			if (NUMBER_PATTERN.matcher(s).matches()) {
-				try {
-					longList.add(Long.parseLong(s));
-				} catch (NumberFormatException ex) {
-					throw ptr.parseException("long not in range: \"" + s + "\"");
-				}
-			} else {
-				throw ptr.parseException("invalid long in LongArrayTag: \"" + s + "\"");
+	private void skipSimpleString() {
+		while (index < length && isSimpleChar(buf[index])) {
+			index++;
+		}
+	}
+
+	private boolean nextArrayElement() {
+		skipWhitespace();
+		if (hasNext() && buf[index] == ',') {
+			index++;
+			skipWhitespace();
+			return true;
+		}
+		return false;
+	}
+
+	private void expectChar(char c) throws ParseException {
+		skipWhitespace();
+		boolean hasNext = hasNext();
+		if (hasNext && buf[index] == c) {
+			index++;
+			return;
+		}
+		throw parseException("expected '" + c + "' but got " + (hasNext ? "'" + buf[index] + "'" : "EOF"));
+	}
+
+	private void skipWhitespace() {
+		while (index < length && Character.isWhitespace(buf[index])) {
+			index++;
+		}
+	}
+
+	private boolean hasNext() {
+		return index < length;
+	}
+
+	private char currentChar() throws ParseException {
+		if (index >= length) {
+			throw parseException("unexpected end of snbt");
+		}
+		return buf[index];
+	}
+
+	private boolean equalsIgnoreCase(int start, int end, String s) {
+		if (end - start != s.length()) {
+			return false;
+		}
+		for (int i = 0; i < s.length(); i++) {
+			if (Character.toLowerCase(buf[start + i]) != s.charAt(i)) {
+				return false;
 			}
-			if (!ptr.nextArrayElement()) {
-				break;
+		}
+		return true;
+	}
+
+	/**
+	 * @return The chars from start to end as a String, the same instance as before for repeated keys
+	 * and unquoted strings when parsing fragments.
+	 * */
+	private String string(int start, int end) {
+		int len = end - start;
+		if (cache == null || len > MAX_CACHED_LENGTH) {
+			return new String(buf, start, len);
+		}
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + buf[i];
+		}
+		int mask = cache.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		for (String s; (s = cache[slot]) != null; slot = (slot + 1) & mask) {
+			if (s.hashCode() == hash && regionMatches(s, start, len)) {
+				return s;
+			}
+		}
+		String s = new String(buf, start, len);
+		if (cached < MAX_CACHED_STRINGS) {
+			cache[slot] = s;
+			if (++cached * 2 > cache.length) {
+				rehash();
 			}
 		}
-		ptr.expectChar(']');
-		return new LongArrayTag(longList.stream().mapToLong(l -> l).toArray());
+		return s;
+	}
+
+	private boolean regionMatches(String s, int start, int len) {
+		if (s.length() != len) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			if (s.charAt(i) != buf[start + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void rehash() {
+		String[] old = cache;
+		cache = new String[old.length * 2];
+		int mask = cache.length - 1;
+		for (String s : old) {
+			if (s != null) {
+				int hash = s.hashCode();
+				int slot = (hash ^ (hash >>> 16)) & mask;
+				while (cache[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				cache[slot] = s;
+			}
+		}
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isSimpleChar(char c) {
+		return c >= 'a' && c <= 'z'
+				|| c >= 'A' && c <= 'Z'
+				|| c >= '0' && c <= '9'
+				|| c == '-'
+				|| c == '+'
+				|| c == '.'
+				|| c == '_';
+	}
+
+	private ParseException parseException(String msg) {
+		return new ParseException(msg, new String(buf, 0, length), index);
 	}
 }
@@ -23,15 +23,16 @@ import java.util.regex.Pattern;
 
 /**
  * SNBTWriter creates an SNBT String.
- *
+ * It can write to any {@link Appendable}, such as a {@link StringBuilder}, so tags can be written
+ * into an existing buffer without creating a String for each tag.
  * */
 public final class SNBTWriter implements MaxDepthIO {
 
 	private static final Pattern NON_QUOTE_PATTERN = Pattern.compile("[a-zA-Z_.+\\-]+");
 
-	private Writer writer;
+	private Appendable writer;
 
-	private SNBTWriter(Writer writer) {
+	private SNBTWriter(Appendable writer) {
 		this.writer = writer;
 	}
 
@@ -43,53 +44,59 @@ public final class SNBTWriter implements MaxDepthIO {
 		write(tag, writer, Tag.DEFAULT_MAX_DEPTH);
 	}
 
+	public static void write(Tag<?> tag, Appendable out, int maxDepth) throws IOException {
+		new SNBTWriter(out).writeAnything(tag, maxDepth);
+	}
+
+	public static void write(Tag<?> tag, Appendable out) throws IOException {
+		write(tag, out, Tag.DEFAULT_MAX_DEPTH);
+	}
+
 	private void writeAnything(Tag<?> tag, int maxDepth) throws IOException {
 		switch (tag.getID()) {
 		case EndTag.ID:
 			//do nothing
 			break;
 		case ByteTag.ID:
-			writer.append(Byte.toString(((ByteTag) tag).asByte())).write('b');
+			writer.append(Byte.toString(((ByteTag) tag).asByte())).append('b');
 			break;
 		case ShortTag.ID:
-			writer.append(Short.toString(((ShortTag) tag).asShort())).write('s');
+			writer.append(Short.toString(((ShortTag) tag).asShort())).append('s');
 			break;
 		case IntTag.ID:
-			writer.write(Integer.toString(((IntTag) tag).asInt()));
+			writer.append(Integer.toString(((IntTag) tag).asInt()));
 			break;
 		case LongTag.ID:
-			writer.append(Long.toString(((LongTag) tag).asLong())).write('l');
+			writer.append(Long.toString(((LongTag) tag).asLong())).append('l');
 			break;
 		case FloatTag.ID:
-			writer.append(Float.toString(((FloatTag) tag).asFloat())).write('f');
+			writer.append(Float.toString(((FloatTag) tag).asFloat())).append('f');
 			break;
 		case DoubleTag.ID:
-			writer.append(Double.toString(((DoubleTag) tag).asDouble())).write('d');
+			writer.append(Double.toString(((DoubleTag) tag).asDouble())).append('d');
 			break;
 		case ByteArrayTag.ID:
 			writeArray(((ByteArrayTag) tag).getValue(), ((ByteArrayTag) tag).length(), "B");
 			break;
 		case StringTag.ID:
-			writer.write(escapeString(((StringTag) tag).getValue()));
+			escapeString(((StringTag) tag).getValue(), writer);
 			break;
 		case ListTag.ID:
-			writer.write('[');
-			for (int i = 0; i < ((ListTag<?>) tag).size(); i++) {
-				writer.write(i == 0 ? "" : ",");
-				writeAnything(((ListTag<?>) tag).get(i), decrementMaxDepth(maxDepth));
-			}
-			writer.write(']');
+			writer.append('[');
+			writeList((ListTag<?>) tag, maxDepth);
+			writer.append(']');
 			break;
 		case CompoundTag.ID:
-			writer.write('{');
+			writer.append('{');
 			boolean first = true;
 			for (Map.Entry<String, Tag<?>> entry : (CompoundTag) tag) {
-				writer.write(first ? "" : ",");
-				writer.append(escapeString(entry.getKey())).write(':');
+				writer.append(first ? "" : ",");
+				escapeString(entry.getKey(), writer);
+				writer.append(':');
 				writeAnything(entry.getValue(), decrementMaxDepth(maxDepth));
 				first = false;
 			}
-			writer.write('}');
+			writer.append('}');
 			break;
 		case IntArrayTag.ID:
 			writeArray(((IntArrayTag) tag).getValue(), ((IntArrayTag) tag).length(), "I");
@@ -102,28 +109,70 @@ public final class SNBTWriter implements MaxDepthIO {
 		}
 	}
 
+	private void writeList(ListTag<?> list, int maxDepth) throws IOException {
+		Class<?> type = list.getTypeClass();
+		for (int i = 0; i < list.size(); i++) {
+			writer.append(i == 0 ? "" : ",");
+			// numbers are written without creating their Tags if the list hasn't created them yet
+			if (type == IntTag.class) {
+				writer.append(Integer.toString(list.getInt(i)));
+			} else if (type == LongTag.class) {
+				writer.append(Long.toString(list.getLong(i))).append('l');
+			} else if (type == FloatTag.class) {
+				writer.append(Float.toString(list.getFloat(i))).append('f');
+			} else if (type == DoubleTag.class) {
+				writer.append(Double.toString(list.getDouble(i))).append('d');
+			} else {
+				writeAnything(list.get(i), decrementMaxDepth(maxDepth));
+			}
+		}
+	}
+
 	private void writeArray(Object array, int length, String prefix) throws IOException {
-		writer.append('[').append(prefix).write(';');
+		writer.append('[').append(prefix).append(';');
 		for (int i = 0; i < length; i++) {
-			writer.append(i == 0 ? "" : ",").write(Array.get(array, i).toString());
+			if (i > 0) {
+				writer.append(',');
+			}
+			if (array instanceof byte[]) {
+				writer.append(Byte.toString(((byte[]) array)[i]));
+			} else if (array instanceof int[]) {
+				writer.append(Integer.toString(((int[]) array)[i]));
+			} else if (array instanceof long[]) {
+				writer.append(Long.toString(((long[]) array)[i]));
+			} else {
+				writer.append(Array.get(array, i).toString());
+			}
 		}
-		writer.write(']');
+		writer.append(']');
 	}
 
 	public static String escapeString(String s) {
 		if (!NON_QUOTE_PATTERN.matcher(s).matches()) {
-			StringBuilder sb = new StringBuilder();
-			sb.append('"');
+			StringBuilder sb = new StringBuilder(s.length() + 2);
+			try {
+				escapeString(s, sb);
+			} catch (IOException ex) {
+				//StringBuilder doesn't throw
+			}
+			return sb.toString();
+		}
+		return s;
+	}
+
+	public static void escapeString(String s, Appendable out) throws IOException {
+		if (!NON_QUOTE_PATTERN.matcher(s).matches()) {
+			out.append('"');
 			for (int i = 0; i < s.length(); i++) {
 				char c = s.charAt(i);
 				if (c == '\\' || c == '"') {
-					sb.append('\\');
+					out.append('\\');
 				}
-				sb.append(c);
+				out.append(c);
 			}
-			sb.append('"');
-			return sb.toString();
+			out.append('"');
+		} else {
+			out.append(s);
 		}
-		return s;
 	}
 }
@@ -0,0 +1,250 @@
+package net.querz.nbt.tag;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The map behind a {@link CompoundTag}. Most compounds only have a few entries (block states, item stacks,
+ * positions...), so up to {@link #MAX_ARRAY_SIZE} entries are kept in two arrays that are searched in order,
+ * which takes much less memory than a HashMap and its entries. Bigger compounds are moved to a LinkedHashMap.
+ * Entries are iterated in the order they were first put, in both cases.
+ * Keys are interned, so the same key in millions of compounds is only stored once.
+ * */
+final class CompactMap extends AbstractMap<String, Tag<?>> {
+
+	static final int MAX_ARRAY_SIZE = 8;
+
+	private String[] keys;
+	private Tag<?>[] values;
+	private int size;
+	private Map<String, Tag<?>> map; //only used once there are more than MAX_ARRAY_SIZE entries
+
+	private int indexOf(Object key) {
+		for (int i = 0; i < size; i++) {
+			if (keys[i] == key || keys[i].equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return map != null ? map.size() : size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return map != null ? map.containsKey(key) : indexOf(key) >= 0;
+	}
+
+	@Override
+	public Tag<?> get(Object key) {
+		if (map != null) {
+			return map.get(key);
+		}
+		int i = indexOf(key);
+		return i >= 0 ? values[i] : null;
+	}
+
+	@Override
+	public Tag<?> put(String key, Tag<?> value) {
+		if (map != null) {
+			return map.put(key.intern(), value);
+		}
+		int i = indexOf(key);
+		if (i >= 0) {
+			Tag<?> old = values[i];
+			values[i] = value;
+			return old;
+		}
+		if (size == MAX_ARRAY_SIZE) {
+			map = new LinkedHashMap<>(32);
+			for (int j = 0; j < size; j++) {
+				map.put(keys[j], values[j]);
+			}
+			keys = null;
+			values = null;
+			size = 0;
+			return map.put(key.intern(), value);
+		}
+		if (keys == null) {
+			keys = new String[2];
+			values = new Tag<?>[2];
+		} else if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		keys[size] = key.intern();
+		values[size] = value;
+		size++;
+		return null;
+	}
+
+	@Override
+	public Tag<?> remove(Object key) {
+		if (map != null) {
+			return map.remove(key);
+		}
+		int i = indexOf(key);
+		if (i < 0) {
+			return null;
+		}
+		Tag<?> old = values[i];
+		removeAt(i);
+		return old;
+	}
+
+	private void removeAt(int i) {
+		System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+		System.arraycopy(values, i + 1, values, i, size - i - 1);
+		size--;
+		keys[size] = null;
+		values[size] = null;
+	}
+
+	@Override
+	public void clear() {
+		map = null;
+		keys = null;
+		values = null;
+		size = 0;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super Tag<?>> action) {
+		if (map != null) {
+			map.forEach(action);
+			return;
+		}
+		for (int i = 0; i < size; i++) {
+			action.accept(keys[i], values[i]);
+		}
+	}
+
+	@Override
+	public Set<Entry<String, Tag<?>>> entrySet() {
+		return new AbstractSet<Entry<String, Tag<?>>>() {
+
+			@Override
+			public int size() {
+				return CompactMap.this.size();
+			}
+
+			@Override
+			public void clear() {
+				CompactMap.this.clear();
+			}
+
+			@Override
+			public Iterator<Entry<String, Tag<?>>> iterator() {
+				return map != null ? map.entrySet().iterator() : new ArrayIterator();
+			}
+		};
+	}
+
+	private class ArrayIterator implements Iterator<Entry<String, Tag<?>>> {
+
+		private int next = 0;
+		private int last = -1;
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Entry<String, Tag<?>> next() {
+			if (next >= size) {
+				throw new NoSuchElementException();
+			}
+			last = next++;
+			return new ArrayEntry(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			removeAt(last);
+			next = last;
+			last = -1;
+		}
+	}
+
+	private class ArrayEntry implements Entry<String, Tag<?>> {
+
+		private final String key;
+		private final int index;
+		private Tag<?> value; // the last value seen, returned after the key was removed, as a HashMap entry does
+
+		ArrayEntry(int index) {
+			this.key = keys[index];
+			this.index = index;
+			this.value = values[index];
+		}
+
+		@Override
+		public String getKey() {
+			return key;
+		}
+
+		@Override
+		public Tag<?> getValue() {
+			Tag<?> v = current() ? values[index] : get(key);
+			if (v != null) {
+				value = v;
+			}
+			return value;
+		}
+
+		@Override
+		public Tag<?> setValue(Tag<?> value) {
+			Tag<?> old = getValue();
+			if (current()) {
+				values[index] = value;
+			} else {
+				put(key, value);
+			}
+			this.value = value;
+			return old;
+		}
+
+		//false if the map changed since this entry was made
+		private boolean current() {
+			return map == null && index < size && keys[index] == key;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry)) {
+				return false;
+			}
+			Entry<?, ?> e = (Entry<?, ?>) o;
+			return key.equals(e.getKey()) && getValue().equals(e.getValue());
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() ^ getValue().hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+}
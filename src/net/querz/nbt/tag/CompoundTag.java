@@ -3,7 +3,6 @@ package net.querz.nbt.tag;
 import net.querz.io.MaxDepthIO;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
@@ -14,21 +13,64 @@ public class CompoundTag extends Tag<Map<String, Tag<?>>> implements Iterable<Ma
 
 	public static final byte ID = 10;
 
+	// set while the map is shared with shallow clones, see CopyOnWrite
+	private volatile CopyOnWrite shared;
+
 	public CompoundTag() {
 		super(createEmptyValue());
 	}
 
+	private CompoundTag(Map<String, Tag<?>> value, CopyOnWrite shared) {
+		super(value);
+		this.shared = shared;
+	}
+
 	@Override
 	public byte getID() {
 		return ID;
 	}
 
 	private static Map<String, Tag<?>> createEmptyValue() {
-		return new HashMap<>(8);
+		return new CompactMap();
+	}
+
+	/**
+	 * @return The map, copied first if it is shared with shallow clones, so its Tags can be changed.
+	 * */
+	@Override
+	protected Map<String, Tag<?>> getValue() {
+		if (shared != null) {
+			unshare();
+		}
+		return super.getValue();
+	}
+
+	/**
+	 * @return The map, even if it is shared with shallow clones. Only for reading, its Tags must not be changed.
+	 * */
+	private Map<String, Tag<?>> readValue() {
+		return super.getValue();
+	}
+
+	private synchronized void unshare() {
+		if (shared == null) {
+			return;
+		}
+		synchronized (shared) {
+			if (shared.isShared()) {
+				Map<String, Tag<?>> copy = createEmptyValue();
+				for (Map.Entry<String, Tag<?>> e : super.getValue().entrySet()) {
+					copy.put(e.getKey(), CopyOnWrite.shallowClone(e.getValue()));
+				}
+				setValue(copy);
+			}
+			shared.release();
+		}
+		shared = null;
 	}
 
 	public int size() {
-		return getValue().size();
+		return readValue().size();
 	}
 
 	public Tag<?> remove(String key) {
@@ -40,11 +82,11 @@ public class CompoundTag extends Tag<Map<String, Tag<?>>> implements Iterable<Ma
 	}
 
 	public boolean containsKey(String key) {
-		return getValue().containsKey(key);
+		return readValue().containsKey(key);
 	}
 
 	public boolean containsValue(Tag<?> value) {
-		return getValue().containsValue(value);
+		return readValue().containsValue(value);
 	}
 
 	public Collection<Tag<?>> values() {
@@ -235,7 +277,7 @@ public class CompoundTag extends Tag<Map<String, Tag<?>>> implements Iterable<Ma
 	public String valueToString(int maxDepth) {
 		StringBuilder sb = new StringBuilder("{");
 		boolean first = true;
-		for (Map.Entry<String, Tag<?>> e : getValue().entrySet()) {
+		for (Map.Entry<String, Tag<?>> e : readValue().entrySet()) {
 			sb.append(first ? "" : ",")
 					.append(escapeString(e.getKey(), false)).append(":")
 					.append(e.getValue().toString(decrementMaxDepth(maxDepth)));
@@ -253,9 +295,13 @@ public class CompoundTag extends Tag<Map<String, Tag<?>>> implements Iterable<Ma
 		if (!super.equals(other) || size() != ((CompoundTag) other).size()) {
 			return false;
 		}
-		for (Map.Entry<String, Tag<?>> e : getValue().entrySet()) {
+		Map<String, Tag<?>> otherValue = ((CompoundTag) other).readValue();
+		if (readValue() == otherValue) {
+			return true;
+		}
+		for (Map.Entry<String, Tag<?>> e : readValue().entrySet()) {
 			Tag<?> v;
-			if ((v = ((CompoundTag) other).get(e.getKey())) == null || !e.getValue().equals(v)) {
+			if ((v = otherValue.get(e.getKey())) == null || !e.getValue().equals(v)) {
 				return false;
 			}
 		}
@@ -264,15 +310,29 @@ public class CompoundTag extends Tag<Map<String, Tag<?>>> implements Iterable<Ma
 
 	@Override
 	public int compareTo(CompoundTag o) {
-		return Integer.compare(size(), o.getValue().size());
+		return Integer.compare(size(), o.size());
 	}
 
 	@Override
 	public CompoundTag clone() {
 		CompoundTag copy = new CompoundTag();
-		for (Map.Entry<String, Tag<?>> e : getValue().entrySet()) {
+		for (Map.Entry<String, Tag<?>> e : readValue().entrySet()) {
 			copy.put(e.getKey(), e.getValue().clone());
 		}
 		return copy;
 	}
+
+	/**
+	 * Clones this compound without copying it. The clone shares the map with this compound until one of them
+	 * is changed or one of its Tags is used, see {@link CopyOnWrite}.
+	 * Unlike {@link #clone()}, Tags that were taken from this compound before it was cloned must not be changed
+	 * afterwards, get them again instead, or the change shows in the clone too.
+	 * @return A clone that is only copied when it or this compound is used.
+	 * */
+	public synchronized CompoundTag shallowClone() {
+		if (shared == null) {
+			shared = new CopyOnWrite();
+		}
+		return new CompoundTag(readValue(), shared.share());
+	}
 }
@@ -0,0 +1,46 @@
+package net.querz.nbt.tag;
+
+/**
+ * Counts the {@link CompoundTag}s or {@link ListTag}s that use the same map or list after {@code shallowClone()}.
+ * A shallow clone shares the value of the tag it was cloned from, so cloning doesn't depend on the size of the tag.
+ * When one of the tags is changed or one of its elements is used, it copies the value first and shallow clones the
+ * elements into the copy, which share their own values in the same way. So only the tags on the paths that are
+ * used are copied. The last tag that still uses a value doesn't need to copy it.
+ * The tags lock this object while they copy the value or change the count, so a tag that is left as the last owner
+ * waits until the others are done copying before it changes the value.
+ * */
+final class CopyOnWrite {
+
+	private int owners = 1; // only used while holding the lock on this object
+
+	CopyOnWrite share() {
+		synchronized (this) {
+			owners++;
+		}
+		return this;
+	}
+
+	/**
+	 * @return Whether other tags use the value too, so it has to be copied before it is changed.
+	 * Only meaningful while holding the lock on this object.
+	 * */
+	boolean isShared() {
+		return owners > 1;
+	}
+
+	void release() {
+		owners--;
+	}
+
+	/**
+	 * @return A shallow clone of a {@link CompoundTag} or {@link ListTag}, or a clone of any other Tag.
+	 * */
+	static Tag<?> shallowClone(Tag<?> tag) {
+		if (tag instanceof CompoundTag) {
+			return ((CompoundTag) tag).shallowClone();
+		} else if (tag instanceof ListTag) {
+			return ((ListTag<?>) tag).shallowClone();
+		}
+		return tag.clone();
+	}
+}
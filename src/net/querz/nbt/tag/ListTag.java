@@ -16,6 +16,8 @@ import java.util.function.Consumer;
  * and returns an {@link EndTag}{@code .class} in {@link ListTag#getTypeClass()}.
  * The type of an empty untyped {@link ListTag} can be set by using any of the {@code add()}
  * methods or any of the {@code as...List()} methods.
+ * Lists of numbers read from a file keep their values in a primitive array until an element is used as a Tag,
+ * see {@link #getInt(int)}, {@link #getLong(int)}, {@link #getFloat(int)} and {@link #getDouble(int)}.
  * */
 public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<T>, Comparable<ListTag<T>>, MaxDepthIO {
 
@@ -23,10 +25,23 @@ public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<
 
 	private Class<?> typeClass = null;
 
+	// set while the list is shared with shallow clones, see CopyOnWrite
+	private volatile CopyOnWrite shared;
+
 	private ListTag() {
 		super(createEmptyValue(3));
 	}
 
+	private ListTag(List<T> value, Class<?> typeClass) {
+		super(value);
+		this.typeClass = typeClass;
+	}
+
+	private ListTag(List<T> value, Class<?> typeClass, CopyOnWrite shared) {
+		this(value, typeClass);
+		this.shared = shared;
+	}
+
 	@Override
 	public byte getID() {
 		return ID;
@@ -47,6 +62,46 @@ public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<
 		return list;
 	}
 
+	/**
+	 * Creates a ListTag of {@link IntTag}s that keeps its values in {@code values} until an element is used as a Tag.
+	 * @param values The values of the list. The array is used as it is, not copied.
+	 * @return A new ListTag of IntTags
+	 */
+	public static ListTag<IntTag> fromInts(int[] values) {
+		return fromNumbers(NumericList.ofInts(values), IntTag.class);
+	}
+
+	/**
+	 * Creates a ListTag of {@link LongTag}s that keeps its values in {@code values} until an element is used as a Tag.
+	 * @param values The values of the list. The array is used as it is, not copied.
+	 * @return A new ListTag of LongTags
+	 */
+	public static ListTag<LongTag> fromLongs(long[] values) {
+		return fromNumbers(NumericList.ofLongs(values), LongTag.class);
+	}
+
+	/**
+	 * Creates a ListTag of {@link FloatTag}s that keeps its values in {@code values} until an element is used as a Tag.
+	 * @param values The values of the list. The array is used as it is, not copied.
+	 * @return A new ListTag of FloatTags
+	 */
+	public static ListTag<FloatTag> fromFloats(float[] values) {
+		return fromNumbers(NumericList.ofFloats(values), FloatTag.class);
+	}
+
+	/**
+	 * Creates a ListTag of {@link DoubleTag}s that keeps its values in {@code values} until an element is used as a Tag.
+	 * @param values The values of the list. The array is used as it is, not copied.
+	 * @return A new ListTag of DoubleTags
+	 */
+	public static ListTag<DoubleTag> fromDoubles(double[] values) {
+		return fromNumbers(NumericList.ofDoubles(values), DoubleTag.class);
+	}
+
+	private static <T extends Tag<?>> ListTag<T> fromNumbers(NumericList<T> values, Class<T> typeClass) {
+		return new ListTag<>(values, typeClass);
+	}
+
 	/**
 	 * <p>Creates an empty mutable list to be used as empty value of ListTags.</p>
 	 *
@@ -75,8 +130,50 @@ public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<
 		return typeClass == null ? EndTag.class : typeClass;
 	}
 
+	/**
+	 * @return The list, copied first if it is shared with shallow clones, so its Tags can be changed.
+	 * */
+	@Override
+	protected List<T> getValue() {
+		if (shared != null) {
+			unshare();
+		}
+		return super.getValue();
+	}
+
+	/**
+	 * @return The list, even if it is shared with shallow clones. Only for reading, its Tags must not be changed.
+	 * */
+	private List<T> readValue() {
+		return super.getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized void unshare() {
+		if (shared == null) {
+			return;
+		}
+		synchronized (shared) {
+			if (shared.isShared()) {
+				List<T> value = super.getValue();
+				NumericList<T> numbers = value instanceof NumericList ? ((NumericList<T>) value).copy() : null;
+				if (numbers != null) {
+					setValue(numbers);
+				} else {
+					List<T> copy = createEmptyValue(Math.max(value.size(), 3));
+					for (T t : value) {
+						copy.add((T) CopyOnWrite.shallowClone(t));
+					}
+					setValue(copy);
+				}
+			}
+			shared.release();
+		}
+		shared = null;
+	}
+
 	public int size() {
-		return getValue().size();
+		return readValue().size();
 	}
 
 	public T remove(int index) {
@@ -88,11 +185,11 @@ public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<
 	}
 
 	public boolean contains(T t) {
-		return getValue().contains(t);
+		return readValue().contains(t);
 	}
 
 	public boolean containsAll(Collection<Tag<?>> tags) {
-		return getValue().containsAll(tags);
+		return readValue().containsAll(tags);
 	}
 
 	public void sort(Comparator<T> comparator) {
@@ -200,8 +297,61 @@ public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<
 		return getValue().get(index);
 	}
 
+	/**
+	 * Reads a number from a list of {@link NumberTag}s without creating its Tag if the list is still a primitive array.
+	 * @param index The index of the element.
+	 * @return The element as an int.
+	 * @throws ClassCastException If the element is not a NumberTag.
+	 * */
+	public int getInt(int index) {
+		NumericList<T> numbers = numbers();
+		return numbers != null ? numbers.getInt(index) : ((NumberTag<?>) get(index)).asInt();
+	}
+
+	/**
+	 * @see ListTag#getInt(int)
+	 * @param index The index of the element.
+	 * @return The element as a long.
+	 * @throws ClassCastException If the element is not a NumberTag.
+	 * */
+	public long getLong(int index) {
+		NumericList<T> numbers = numbers();
+		return numbers != null ? numbers.getLong(index) : ((NumberTag<?>) get(index)).asLong();
+	}
+
+	/**
+	 * @see ListTag#getInt(int)
+	 * @param index The index of the element.
+	 * @return The element as a float.
+	 * @throws ClassCastException If the element is not a NumberTag.
+	 * */
+	public float getFloat(int index) {
+		NumericList<T> numbers = numbers();
+		return numbers != null ? numbers.getFloat(index) : ((NumberTag<?>) get(index)).asFloat();
+	}
+
+	/**
+	 * @see ListTag#getInt(int)
+	 * @param index The index of the element.
+	 * @return The element as a double.
+	 * @throws ClassCastException If the element is not a NumberTag.
+	 * */
+	public double getDouble(int index) {
+		NumericList<T> numbers = numbers();
+		return numbers != null ? numbers.getDouble(index) : ((NumberTag<?>) get(index)).asDouble();
+	}
+
+	/**
+	 * @return The primitive array backed list, or {@code null} if this list holds Tags.
+	 * */
+	@SuppressWarnings("unchecked")
+	private NumericList<T> numbers() {
+		List<T> value = readValue();
+		return value instanceof NumericList && ((NumericList<T>) value).isPrimitive() ? (NumericList<T>) value : null;
+	}
+
 	public int indexOf(T t) {
-		return getValue().indexOf(t);
+		return readValue().indexOf(t);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -265,8 +415,9 @@ public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<
 	@Override
 	public String valueToString(int maxDepth) {
 		StringBuilder sb = new StringBuilder("{\"type\":\"").append(getTypeClass().getSimpleName()).append("\",\"list\":[");
-		for (int i = 0; i < size(); i++) {
-			sb.append(i > 0 ? "," : "").append(get(i).valueToString(decrementMaxDepth(maxDepth)));
+		List<T> value = readValue();
+		for (int i = 0; i < value.size(); i++) {
+			sb.append(i > 0 ? "," : "").append(value.get(i).valueToString(decrementMaxDepth(maxDepth)));
 		}
 		sb.append("]}");
 		return sb.toString();
@@ -280,8 +431,16 @@ public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<
 		if (!super.equals(other) || size() != ((ListTag<?>) other).size() || getTypeClass() != ((ListTag<?>) other).getTypeClass()) {
 			return false;
 		}
-		for (int i = 0; i < size(); i++) {
-			if (!get(i).equals(((ListTag<?>) other).get(i))) {
+		List<?> value = readValue(), otherValue = ((ListTag<?>) other).readValue();
+		if (value == otherValue) {
+			return true;
+		}
+		NumericList<?> numbers = numbers(), otherNumbers = ((ListTag<?>) other).numbers();
+		if (numbers != null && otherNumbers != null) {
+			return numbers.primitiveEquals(otherNumbers);
+		}
+		for (int i = 0; i < value.size(); i++) {
+			if (!value.get(i).equals(otherValue.get(i))) {
 				return false;
 			}
 		}
@@ -290,26 +449,45 @@ public class ListTag<T extends Tag<?>> extends Tag<List<T>> implements Iterable<
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(getTypeClass().hashCode(), getValue().hashCode());
+		return Objects.hash(getTypeClass().hashCode(), readValue().hashCode());
 	}
 
 	@Override
 	public int compareTo(ListTag<T> o) {
-		return Integer.compare(size(), o.getValue().size());
+		return Integer.compare(size(), o.size());
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public ListTag<T> clone() {
+		List<T> value = readValue();
+		NumericList<T> numbers = value instanceof NumericList ? ((NumericList<T>) value).copy() : null;
+		if (numbers != null) {
+			return new ListTag<>(numbers, typeClass);
+		}
 		ListTag<T> copy = new ListTag<>();
 		// assure type safety for clone
 		copy.typeClass = typeClass;
-		for (T t : getValue()) {
+		for (T t : value) {
 			copy.add((T) t.clone());
 		}
 		return copy;
 	}
 
+	/**
+	 * Clones this list without copying it. The clone shares the list with this one until one of them
+	 * is changed or one of its Tags is used, see {@link CopyOnWrite}.
+	 * The primitive getters ({@link #getInt(int)}...) don't copy a list that is still a primitive array.
+	 * As with {@link CompoundTag#shallowClone()}, Tags taken from this list before it was cloned must not be changed afterwards.
+	 * @return A clone that is only copied when it or this list is used.
+	 * */
+	public synchronized ListTag<T> shallowClone() {
+		if (shared == null) {
+			shared = new CopyOnWrite();
+		}
+		return new ListTag<>(readValue(), typeClass, shared.share());
+	}
+
 	//TODO: make private
 	@SuppressWarnings("unchecked")
 	public void addUnchecked(Tag<?> tag) {
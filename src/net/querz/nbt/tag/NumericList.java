@@ -0,0 +1,239 @@
+package net.querz.nbt.tag;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The list behind a {@link ListTag} of {@link IntTag}s, {@link LongTag}s, {@link FloatTag}s or {@link DoubleTag}s
+ * that was read from a file. The values are kept in a primitive array, so positions, motions and rotations
+ * don't need a Tag and a boxed number for each element, and {@link ListTag#getInt(int)} and the other
+ * primitive getters read the array directly.
+ * The first time an element is used as a Tag (get, set, add, remove, iterating...), the Tags are created
+ * and the list works like an ArrayList from then on, so changes to the returned Tags are kept.
+ * */
+final class NumericList<T extends Tag<?>> extends AbstractList<T> implements RandomAccess {
+
+	private final byte id;
+	private final int[] ints;
+	private final long[] longs;
+	private final float[] floats;
+	private final double[] doubles;
+	private final int size;
+	private volatile List<T> tags; //null until an element is used as a Tag
+
+	private NumericList(byte id, int[] ints, long[] longs, float[] floats, double[] doubles, int size) {
+		this.id = id;
+		this.ints = ints;
+		this.longs = longs;
+		this.floats = floats;
+		this.doubles = doubles;
+		this.size = size;
+	}
+
+	static <T extends Tag<?>> NumericList<T> ofInts(int[] values) {
+		return new NumericList<>(IntTag.ID, values, null, null, null, values.length);
+	}
+
+	static <T extends Tag<?>> NumericList<T> ofLongs(long[] values) {
+		return new NumericList<>(LongTag.ID, null, values, null, null, values.length);
+	}
+
+	static <T extends Tag<?>> NumericList<T> ofFloats(float[] values) {
+		return new NumericList<>(FloatTag.ID, null, null, values, null, values.length);
+	}
+
+	static <T extends Tag<?>> NumericList<T> ofDoubles(double[] values) {
+		return new NumericList<>(DoubleTag.ID, null, null, null, values, values.length);
+	}
+
+	/**
+	 * @return Whether the values are still only in the primitive array.
+	 * */
+	boolean isPrimitive() {
+		return tags == null;
+	}
+
+	/**
+	 * @return The id of the Tags in this list.
+	 * */
+	byte getElementID() {
+		return id;
+	}
+
+	int getInt(int index) {
+		switch (id) {
+		case IntTag.ID:
+			return ints[checkIndex(index)];
+		case LongTag.ID:
+			return (int) longs[checkIndex(index)];
+		case FloatTag.ID:
+			return (int) floats[checkIndex(index)];
+		default:
+			return (int) doubles[checkIndex(index)];
+		}
+	}
+
+	long getLong(int index) {
+		switch (id) {
+		case IntTag.ID:
+			return ints[checkIndex(index)];
+		case LongTag.ID:
+			return longs[checkIndex(index)];
+		case FloatTag.ID:
+			return (long) floats[checkIndex(index)];
+		default:
+			return (long) doubles[checkIndex(index)];
+		}
+	}
+
+	float getFloat(int index) {
+		switch (id) {
+		case IntTag.ID:
+			return ints[checkIndex(index)];
+		case LongTag.ID:
+			return longs[checkIndex(index)];
+		case FloatTag.ID:
+			return floats[checkIndex(index)];
+		default:
+			return (float) doubles[checkIndex(index)];
+		}
+	}
+
+	double getDouble(int index) {
+		switch (id) {
+		case IntTag.ID:
+			return ints[checkIndex(index)];
+		case LongTag.ID:
+			return longs[checkIndex(index)];
+		case FloatTag.ID:
+			return floats[checkIndex(index)];
+		default:
+			return doubles[checkIndex(index)];
+		}
+	}
+
+	private int checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return index;
+	}
+
+	/**
+	 * @return A copy of this list that is still only in a primitive array, or {@code null} if the Tags were already created.
+	 * */
+	NumericList<T> copy() {
+		if (tags != null) {
+			return null;
+		}
+		return new NumericList<>(id,
+				ints == null ? null : ints.clone(),
+				longs == null ? null : longs.clone(),
+				floats == null ? null : floats.clone(),
+				doubles == null ? null : doubles.clone(),
+				size);
+	}
+
+	/**
+	 * Compares the values of two lists that are both still primitive.
+	 * */
+	boolean primitiveEquals(NumericList<?> other) {
+		return id == other.id && Arrays.equals(ints, other.ints) && Arrays.equals(longs, other.longs)
+				&& Arrays.equals(floats, other.floats) && Arrays.equals(doubles, other.doubles);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T createTag(int index) {
+		switch (id) {
+		case IntTag.ID:
+			return (T) new IntTag(ints[index]);
+		case LongTag.ID:
+			return (T) new LongTag(longs[index]);
+		case FloatTag.ID:
+			return (T) new FloatTag(floats[index]);
+		default:
+			return (T) new DoubleTag(doubles[index]);
+		}
+	}
+
+	private List<T> tags() {
+		List<T> t = tags;
+		if (t == null) {
+			synchronized (this) {
+				t = tags;
+				if (t == null) {
+					t = new ArrayList<>(Math.max(size, 3));
+					for (int i = 0; i < size; i++) {
+						t.add(createTag(i));
+					}
+					tags = t;
+				}
+			}
+		}
+		return t;
+	}
+
+	@Override
+	public int size() {
+		List<T> t = tags;
+		return t == null ? size : t.size();
+	}
+
+	@Override
+	public T get(int index) {
+		return tags().get(index);
+	}
+
+	@Override
+	public T set(int index, T element) {
+		return tags().set(index, element);
+	}
+
+	@Override
+	public void add(int index, T element) {
+		modCount++;
+		tags().add(index, element);
+	}
+
+	@Override
+	public T remove(int index) {
+		modCount++;
+		return tags().remove(index);
+	}
+
+	@Override
+	public void clear() {
+		modCount++;
+		tags().clear();
+	}
+
+	@Override
+	public int hashCode() {
+		if (tags != null) {
+			return tags.hashCode();
+		}
+		// the same as a list of the Tags, whose hash codes are the hash codes of their boxed values
+		int hash = 1;
+		for (int i = 0; i < size; i++) {
+			int h;
+			switch (id) {
+			case IntTag.ID:
+				h = Integer.hashCode(ints[i]);
+				break;
+			case LongTag.ID:
+				h = Long.hashCode(longs[i]);
+				break;
+			case FloatTag.ID:
+				h = Float.hashCode(floats[i]);
+				break;
+			default:
+				h = Double.hashCode(doubles[i]);
+			}
+			hash = 31 * hash + h;
+		}
+		return hash;
+	}
+}
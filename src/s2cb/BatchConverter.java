@@ -0,0 +1,592 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.NumberFormat;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.tag.CompoundTag;
+import s2cb.ConversionEngine.SchematicData;
+
+/**
+ * Converts every schematic in a directory without opening a window.
+ *
+ * Run as: S2CB batch &lt;input directory&gt; &lt;output directory&gt; [options file] [-threads n] [-memory mb] [-cache directory] [-cachesize mb] [-metrics]
+ *
+ * The options file uses the same format as s2cb.properties. Conversion options go in an [OPTIONS] section,
+ * using the option names from ConversionOptions.Builder (quiet=true, outputType=1, offsetY=-2 ...). Any of the
+ * s2cb.properties sections (BLOCKS, DANGERBLOCKS, PASSIVEMOBS ...) in the file replace the ones loaded from s2cb.properties.
+ *
+ * Files are converted at the same time on a fixed number of threads. Before a file is converted, the memory it will need is
+ * estimated, and it waits until that much of the memory budget is free, so a few large schematics can't run the JVM out of memory together.
+ *
+ * Command block output is written to &lt;file name&gt;.txt, data packs to &lt;file name&gt;.zip, in the output directory. The file name
+ * keeps its extension (house.schem.txt), so house.schem and house.nbt in the same directory don't overwrite each other's output.
+ *
+ * With -cache, finished conversions are kept in a ConversionCache (1GB unless -cachesize is given), and files that were
+ * already converted with the same options are copied from it instead of being converted again.
+ *
+ * With -metrics, the time, CPU time, allocations and commands of each conversion phase (see PhaseMetrics) are written to
+ * metrics.json in the output directory, as a JSON array with an object for each file.
+ *
+ * Also run as: S2CB diff &lt;previous schematic&gt; &lt;current schematic&gt; &lt;output directory&gt; [options file]
+ * to convert only the changes between two revisions of a schematic (see ConversionEngine.convertDiff), written to &lt;name&gt;_diff.txt or .zip.
+ *
+ * Also run as: S2CB world &lt;world folder&gt; &lt;x1&gt; &lt;y1&gt; &lt;z1&gt; &lt;x2&gt; &lt;y2&gt; &lt;z2&gt; &lt;output directory&gt; [options file]
+ * to convert an area of a world save straight from its region files (see WorldReader), written to &lt;world&gt;_&lt;x&gt;_&lt;y&gt;_&lt;z&gt;.txt or .zip.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class BatchConverter {
+
+	private static final String[] EXTENSIONS = {".schematic", ".nbt", ".schem", ".litematic"};
+
+	//Rough memory needed per byte of uncompressed NBT - the parsed tags, the Block objects made from them and the generated commands
+	private static final int MEMORY_PER_NBT_BYTE = 48;
+	private static final long MIN_FILE_MEMORY = 16L * 1024 * 1024;
+	private static final long MB = 1024L * 1024;
+	static final long DEFAULT_CACHE_SIZE = 1024L * MB;
+
+	private final File inDir;
+	private final File outDir;
+	private final ConversionOptions options;
+	private final int threads;
+	private final long memoryBudget;
+	private final ConversionCache cache;
+	//the JSON metrics of each converted file, or null if not collecting them
+	private final List<String> metrics;
+
+	//memory budget shared by the running conversions
+	private final MemoryGate memory;
+
+	private final AtomicInteger filesDone = new AtomicInteger();
+	private final AtomicInteger filesFailed = new AtomicInteger();
+	private final AtomicLong voxels = new AtomicLong();
+	private final AtomicLong commands = new AtomicLong();
+
+
+	public BatchConverter(File inDir, File outDir, ConversionOptions options, int threads, long memoryBudget, ConversionCache cache, boolean metrics) {
+		this.inDir = inDir;
+		this.outDir = outDir;
+		this.options = options;
+		this.threads = threads;
+		this.memoryBudget = memoryBudget;
+		this.cache = cache;
+		this.metrics = metrics ? Collections.synchronizedList(new ArrayList<String>()) : null;
+		this.memory = new MemoryGate(memoryBudget);
+	}
+
+	/**
+	 * Runs the batch conversion from the command line arguments (args[0] is "batch")
+	 * @param args	the command line arguments
+	 * @return		the exit code - 0 if all files converted, 1 if any failed, 2 for bad arguments
+	 */
+	public static int run(String[] args) {
+		File inDir = null;
+		File outDir = null;
+		File optionsFile = null;
+		File cacheDir = null;
+		long cacheSize = DEFAULT_CACHE_SIZE;
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean metrics = false;
+		long memoryBudget = MemoryGate.defaultBudget();
+
+		try {
+			for(int i=1; i<args.length; i++) {
+				if(args[i].equals("-threads")) {
+					threads = Math.max(1, Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-memory")) {
+					memoryBudget = Math.max(1, Long.parseLong(args[++i])) * MB;
+				}else if(args[i].equals("-cache")) {
+					cacheDir = new File(args[++i]);
+				}else if(args[i].equals("-cachesize")) {
+					cacheSize = Math.max(1, Long.parseLong(args[++i])) * MB;
+				}else if(args[i].equals("-metrics")) {
+					metrics = true;
+				}else if(inDir == null) {
+					inDir = new File(args[i]);
+				}else if(outDir == null) {
+					outDir = new File(args[i]);
+				}else if(optionsFile == null) {
+					optionsFile = new File(args[i]);
+				}else {
+					return usage("Unexpected argument: "+args[i]);
+				}
+			}
+		}catch(NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			return usage("Bad number for -threads, -memory or -cachesize");
+		}
+
+		if(inDir == null || outDir == null) {
+			return usage(null);
+		}
+		if(!inDir.isDirectory()) {
+			return usage("Input directory not found: "+inDir);
+		}
+		if(!outDir.isDirectory() && !outDir.mkdirs()) {
+			return usage("Couldn't create output directory: "+outDir);
+		}
+
+		ConversionEngine.initTables();
+
+		ConversionOptions options;
+		try {
+			options = loadOptions(optionsFile);
+		}catch(IOException | IllegalArgumentException e) {
+			return usage("Couldn't read options file "+optionsFile+": "+e.getLocalizedMessage());
+		}
+
+		ConversionCache cache = null;
+		if(cacheDir != null) {
+			try {
+				cache = new ConversionCache(cacheDir, cacheSize);
+			}catch(IOException e) {
+				return usage(e.getLocalizedMessage());
+			}
+		}
+
+		BatchConverter batch = new BatchConverter(inDir, outDir, options, threads, memoryBudget, cache, metrics);
+		return batch.convertAll() ? 0 : 1;
+	}
+
+	/**
+	 * Converts the changes between two revisions of a schematic from the command line arguments (args[0] is "diff")
+	 * @param args	the command line arguments
+	 * @return		the exit code - 0 if converted, 1 if it failed, 2 for bad arguments
+	 */
+	public static int runDiff(String[] args) {
+		if(args.length < 4 || args.length > 5) {
+			return diffUsage(null);
+		}
+		File previousFile = new File(args[1]);
+		File currentFile = new File(args[2]);
+		File outDir = new File(args[3]);
+		File optionsFile = args.length > 4 ? new File(args[4]) : null;
+		if(!previousFile.isFile()) {
+			return diffUsage("File not found: "+previousFile);
+		}
+		if(!currentFile.isFile()) {
+			return diffUsage("File not found: "+currentFile);
+		}
+		if(!outDir.isDirectory() && !outDir.mkdirs()) {
+			return diffUsage("Couldn't create output directory: "+outDir);
+		}
+
+		ConversionEngine.initTables();
+
+		ConversionOptions options;
+		try {
+			options = loadOptions(optionsFile);
+		}catch(IOException | IllegalArgumentException e) {
+			return diffUsage("Couldn't read options file "+optionsFile+": "+e.getLocalizedMessage());
+		}
+
+		try {
+			ConversionEngine engine = new ConversionEngine(options, new FileListener(outDir, null));
+			CompoundTag previous = readSchematic(engine, previousFile);
+			CompoundTag current = readSchematic(engine, currentFile);
+			SchematicData data = engine.convertDiff(previous, previousFile.getName(), current, currentFile.getName());
+			writeOutput(data, engineName(data, currentFile), outDir);
+			System.out.println(currentFile.getName()+": "+data.cmds.size()+" commands");
+		}catch(IOException | RuntimeException | OutOfMemoryError e) {
+			System.err.println(currentFile.getName()+": FAILED  "+e.getLocalizedMessage());
+			return 1;
+		}
+		return 0;
+	}
+
+	private static int diffUsage(String error) {
+		if(error != null) {
+			System.err.println(error);
+		}
+		System.err.println("Usage: S2CB diff <previous schematic> <current schematic> <output directory> [options file]");
+		return 2;
+	}
+
+	/**
+	 * Converts an area of a world save from the command line arguments (args[0] is "world")
+	 * @param args	the command line arguments
+	 * @return		the exit code - 0 if converted, 1 if it failed, 2 for bad arguments
+	 */
+	public static int runWorld(String[] args) {
+		if(args.length < 9 || args.length > 10) {
+			return worldUsage(null);
+		}
+		File worldDir = new File(args[1]);
+		int[] corners = new int[6];
+		try {
+			for(int i=0; i<6; i++) {
+				corners[i] = Integer.parseInt(args[i+2]);
+			}
+		}catch(NumberFormatException e) {
+			return worldUsage("Bad coordinate: "+e.getLocalizedMessage());
+		}
+		File outDir = new File(args[8]);
+		File optionsFile = args.length > 9 ? new File(args[9]) : null;
+		if(!outDir.isDirectory() && !outDir.mkdirs()) {
+			return worldUsage("Couldn't create output directory: "+outDir);
+		}
+
+		WorldReader world;
+		try {
+			world = new WorldReader(worldDir, corners[0], corners[1], corners[2], corners[3], corners[4], corners[5]);
+		}catch(IOException e) {
+			return worldUsage(e.getLocalizedMessage());
+		}
+
+		ConversionEngine.initTables();
+
+		ConversionOptions options;
+		try {
+			options = loadOptions(optionsFile);
+		}catch(IOException | IllegalArgumentException e) {
+			return worldUsage("Couldn't read options file "+optionsFile+": "+e.getLocalizedMessage());
+		}
+
+		try {
+			ConversionEngine engine = new ConversionEngine(options, new FileListener(outDir, null));
+			SchematicData data = engine.convertWorld(world);
+			writeOutput(data, engineName(data, worldDir), outDir);
+			System.out.println(data.filename+": "+data.cmds.size()+" commands");
+		}catch(IOException | RuntimeException | OutOfMemoryError e) {
+			System.err.println(world.name()+": FAILED  "+e.getLocalizedMessage());
+			return 1;
+		}
+		return 0;
+	}
+
+	private static int worldUsage(String error) {
+		if(error != null) {
+			System.err.println(error);
+		}
+		System.err.println("Usage: S2CB world <world folder> <x1> <y1> <z1> <x2> <y2> <z2> <output directory> [options file]");
+		return 2;
+	}
+
+	/**
+	 * Reads a batch options file, and applies any s2cb.properties sections in it to the shared tables
+	 * @param optionsFile	the options file, or null for the default options
+	 * @return				the conversion options from the file's [OPTIONS] section
+	 * @throws IOException	if the file couldn't be read
+	 * @throws IllegalArgumentException if a number option isn't a number, or is out of range
+	 */
+	static ConversionOptions loadOptions(File optionsFile) throws IOException {
+		ConversionOptions.Builder builder = new ConversionOptions.Builder();
+		if(optionsFile != null) {
+			try (Reader reader = new InputStreamReader(new FileInputStream(optionsFile), StandardCharsets.UTF_8)){
+				Map<String, Properties> sections = ConversionEngine.parseINI(reader);
+				Properties opts = sections.get("OPTIONS");
+				if(opts != null) {
+					builder.load(opts);
+				}
+				ConversionEngine.applySettings(sections);
+			}
+		}
+		return builder.build();
+	}
+
+	private static int usage(String error) {
+		if(error != null) {
+			System.err.println(error);
+		}
+		System.err.println("Usage: S2CB batch <input directory> <output directory> [options file] [-threads n] [-memory mb] [-cache directory] [-cachesize mb] [-metrics]");
+		return 2;
+	}
+
+	/**
+	 * Converts all the schematics in the input directory
+	 * @return true if all of them converted
+	 */
+	public boolean convertAll() {
+		File[] files = schematicsIn(inDir);
+		if(files.length == 0) {
+			System.out.println("No schematics found in "+inDir);
+			return true;
+		}
+
+		System.out.println("Converting "+files.length+" files on "+threads+" threads, with "+(memoryBudget/MB)+"MB of memory");
+
+		long start = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for(File f : files) {
+			pool.execute(new Runnable() {
+				@Override
+				public void run() {
+					convertFile(f);
+				}
+			});
+		}
+		pool.shutdown();
+		try {
+			while(!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+				System.out.println(""+filesDone.get()+" of "+files.length+" done");
+			}
+		}catch(InterruptedException e) {
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		NumberFormat nf = NumberFormat.getInstance();
+		nf.setMaximumFractionDigits(1);
+
+		System.out.println();
+		System.out.println("Converted "+filesDone.get()+" of "+files.length+" files in "+nf.format(seconds)+" seconds"+
+				((filesFailed.get()>0)?(", "+filesFailed.get()+" failed"):""));
+		if(seconds > 0) {
+			System.out.println("  "+nf.format(filesDone.get() / seconds)+" files/s");
+			System.out.println("  "+nf.format(voxels.get() / seconds)+" voxels/s");
+			System.out.println("  "+nf.format(commands.get() / seconds)+" commands/s");
+		}
+
+		if(metrics != null) {
+			File metricsFile = new File(outDir, "metrics.json");
+			try (Writer w = new OutputStreamWriter(new FileOutputStream(metricsFile), StandardCharsets.UTF_8)){
+				w.write("[\n");
+				for(int i=0; i<metrics.size(); i++) {
+					w.write(metrics.get(i));
+					w.write((i < metrics.size()-1) ? ",\n" : "\n");
+				}
+				w.write("]\n");
+			}catch(IOException e) {
+				System.out.println("Couldn't write "+metricsFile+": "+e.getLocalizedMessage());
+			}
+		}
+
+		return filesFailed.get() == 0;
+	}
+
+	/**
+	 * @param dir	a directory
+	 * @return		the schematic files in the directory, sorted by name
+	 */
+	static File[] schematicsIn(File dir) {
+		File[] files = dir.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File f) {
+				if(!f.isFile()) {
+					return false;
+				}
+				String name = f.getName().toLowerCase();
+				for(String ext : EXTENSIONS) {
+					if(name.endsWith(ext)) {
+						return true;
+					}
+				}
+				return false;
+			}
+		});
+		if(files == null) {
+			return new File[0];
+		}
+		Arrays.sort(files);
+		return files;
+	}
+
+	private void convertFile(File f) {
+		int permits;
+		try {
+			permits = memory.acquire(f);
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		try {
+			long start = System.nanoTime();
+
+			SchematicData data = convertFile(f, outDir, options, cache);
+
+			if(metrics != null) {
+				metrics.add(PhaseMetrics.toJson(data));
+			}
+			voxels.addAndGet((long)data.w * data.h * data.l);
+			commands.addAndGet(data.cmds.size());
+			filesDone.incrementAndGet();
+			System.out.println(f.getName()+": "+data.cmds.size()+" commands in "+((System.nanoTime() - start) / 1000000)+"ms");
+		}catch(Exception | OutOfMemoryError e) {
+			filesFailed.incrementAndGet();
+			System.out.println(f.getName()+": FAILED "+e.getClass().getName()+"  "+e.getLocalizedMessage());
+		}finally {
+			memory.release(permits);
+		}
+	}
+
+	/**
+	 * Converts one schematic file, saving the output in a directory
+	 * @param f			the schematic file
+	 * @param outDir	the directory for the output, &lt;file name&gt;.txt for command blocks or &lt;file name&gt;.zip for data packs
+	 * @param options	the conversion options
+	 * @param cache		the cache of finished conversions, or null to always convert
+	 * @return			the converted schematic
+	 * @throws IOException	if the file couldn't be read or converted, or the output couldn't be written
+	 */
+	static SchematicData convertFile(File f, File outDir, ConversionOptions options, ConversionCache cache) throws IOException {
+		//name the output after the whole file name, as files with the same name but different formats would have the same engine name
+		ConversionEngine engine = new ConversionEngine(options, new FileListener(outDir, f.getName()));
+		CompoundTag tag = readSchematic(engine, f);
+
+		SchematicData data = engine.convert(tag, f.getName(), cache);
+		writeOutput(data, f.getName(), outDir);
+		return data;
+	}
+
+	private static CompoundTag readSchematic(ConversionEngine engine, File f) throws IOException {
+		NamedTag sch = engine.read(f);
+		if(!(sch.getTag() instanceof CompoundTag)) {
+			throw new IOException("Not a schematic, found tag named '"+sch.getName()+"' but not a compound tag");
+		}
+		return (CompoundTag)sch.getTag();
+	}
+
+	/**
+	 * Gets the name the engine gave the output (the schematic name without its extension, or the world area)
+	 */
+	private static String engineName(SchematicData data, File f) {
+		return data.filename.length() > 0 ? data.filename : f.getName();
+	}
+
+	/**
+	 * Writes the output text for command block output (data packs are already saved by the engine)
+	 * @param name	the output file name, without .txt
+	 * @throws IOException if the conversion failed, or the text couldn't be written
+	 */
+	private static void writeOutput(SchematicData data, String name, File outDir) throws IOException {
+		if(data.cmds == null) {
+			//the engine reports errors in the output text
+			throw new IOException(data.out.toString().trim());
+		}
+		if(data.outputType == 0) {
+			try (Writer w = new OutputStreamWriter(new FileOutputStream(new File(outDir, name + ".txt")), StandardCharsets.UTF_8)){
+				w.write(data.out.toString());
+			}
+		}
+	}
+
+	/**
+	 * Estimates the memory needed to convert a file from its uncompressed size.
+	 * For gzipped files (which all schematic formats are) the uncompressed size is read from the end of the file.
+	 * @param f	the schematic file
+	 * @return	the estimated memory needed in bytes
+	 */
+	static long estimateMemory(File f) {
+		long size = f.length();
+		try (RandomAccessFile raf = new RandomAccessFile(f, "r")){
+			if(raf.length() > 18 && raf.read() == 0x1f && raf.read() == 0x8b) {
+				//the gzip trailer has the uncompressed size (mod 2^32) as a little endian int
+				raf.seek(raf.length() - 4);
+				long isize = raf.read() | (raf.read() << 8) | (raf.read() << 16) | ((long)raf.read() << 24);
+				//deflate can't do better than about 1032:1, so anything bigger isn't a real gzip trailer
+				if(isize > size && isize < size * 1032) {
+					size = isize;
+				}
+			}
+		}catch(IOException e) {
+			//just use the file size
+		}
+		return Math.max(MIN_FILE_MEMORY, size * MEMORY_PER_NBT_BYTE);
+	}
+
+	/**
+	 * Limits the memory used by conversions running at the same time. Before a file is converted, its memory is estimated
+	 * (see estimateMemory) and taken from the budget, waiting until that much is free, and given back when the conversion is done.
+	 */
+	static class MemoryGate {
+
+		private final long budget;
+		//the budget in MB
+		private final Semaphore permits;
+
+		MemoryGate(long budget) {
+			this.budget = budget;
+			this.permits = new Semaphore((int)Math.max(1, budget / MB));
+		}
+
+		/**
+		 * @return	the default budget, three quarters of the heap (leaving a quarter for everything else)
+		 */
+		static long defaultBudget() {
+			return Runtime.getRuntime().maxMemory() / 4 * 3;
+		}
+
+		/**
+		 * Waits until the memory needed to convert a file is free, and takes it from the budget
+		 * @param f	the schematic file
+		 * @return	the permits taken, to pass to release when the conversion is done
+		 * @throws InterruptedException if interrupted while waiting
+		 */
+		int acquire(File f) throws InterruptedException {
+			//a file bigger than the whole budget still gets converted, just by itself
+			int n = (int)Math.max(1, Math.min(estimateMemory(f), budget) / MB);
+			permits.acquire(n);
+			return n;
+		}
+
+		void release(int n) {
+			permits.release(n);
+		}
+	}
+
+	/**
+	 * Saves data packs to the output directory. Status text is dropped, as the engine already prints warnings (unknown blocks and such) to the console
+	 */
+	private static class FileListener implements ConversionListener {
+
+		private final File outDir;
+		private final String name;
+
+		/**
+		 * @param outDir	the directory to save data packs in
+		 * @param name		the data pack file name without .zip, or null to use the name the engine asks for
+		 */
+		FileListener(File outDir, String name) {
+			this.outDir = outDir;
+			this.name = name;
+		}
+
+		@Override
+		public void status(String text) {
+		}
+
+		@Override
+		public void progress(double ratio) {
+		}
+
+		@Override
+		public void progress(double ratio, double ratio2) {
+		}
+
+		@Override
+		public File getDataPackFile(String filename) {
+			return new File(outDir, name != null ? name + ".zip" : filename);
+		}
+
+	}
+
+}
@@ -0,0 +1,315 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.io.*;
+import java.nio.file.Files;
+import java.text.NumberFormat;
+import java.util.*;
+
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.Tag;
+import s2cb.ConversionEngine.Block;
+import s2cb.ConversionEngine.SchematicData;
+
+/**
+ * Times each phase of converting schematics, so changes to the engine can be compared.
+ *
+ * Run as: S2CB bench &lt;schematic file or directory&gt; ... [-synthetic size] ... [-options file] [-warmup n] [-iterations n]
+ *
+ * Each schematic is converted warmup + iterations times, and the times of the last iterations are reported for each phase:
+ * reading the file (read), loading the blocks (schematicToModern or the buildBlockCache loader for the format),
+ * each conversion pass the options turn on (doBigBlocks, doClone, doBuildPasses, doRails ...), writing the data pack (saveDataPack),
+ * writing the block entity and entity NBT as command text (writeTag) and laying out the finished commands again (appendPassenger, by rerender).
+ *
+ * -synthetic makes a size x size x size build with SchematicGenerator (with rails, chests, pigs and some repetition) in each of
+ * the four formats, and benchmarks those too.
+ *
+ * Without an options file, the default options are used with imperfect fills, clones and complex rails turned on and data pack output,
+ * so every phase runs. Data packs are written to a temporary directory that is deleted afterwards.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class ConversionBenchmark {
+
+	private final ConversionOptions options;
+	private final int warmup;
+	private final int iterations;
+	private final File packDir;
+
+	private final NumberFormat nf = NumberFormat.getInstance();
+
+
+	public ConversionBenchmark(ConversionOptions options, int warmup, int iterations, File packDir) {
+		this.options = options;
+		this.warmup = warmup;
+		this.iterations = iterations;
+		this.packDir = packDir;
+		nf.setMaximumFractionDigits(2);
+		nf.setMinimumFractionDigits(2);
+	}
+
+	/**
+	 * Runs the benchmark from the command line arguments (args[0] is "bench")
+	 * @param args	the command line arguments
+	 * @return		the exit code - 0 if all files converted, 1 if any failed, 2 for bad arguments
+	 */
+	public static int run(String[] args) {
+		List<File> files = new ArrayList<File>();
+		List<Integer> synthetic = new ArrayList<Integer>();
+		File optionsFile = null;
+		int warmup = 3;
+		int iterations = 5;
+
+		try {
+			for(int i=1; i<args.length; i++) {
+				if(args[i].equals("-warmup")) {
+					warmup = Math.max(0, Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-iterations")) {
+					iterations = Math.max(1, Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-options")) {
+					optionsFile = new File(args[++i]);
+				}else if(args[i].equals("-synthetic")) {
+					synthetic.add(Math.max(1, Integer.parseInt(args[++i])));
+				}else {
+					File f = new File(args[i]);
+					if(f.isDirectory()) {
+						files.addAll(Arrays.asList(BatchConverter.schematicsIn(f)));
+					}else if(f.isFile()) {
+						files.add(f);
+					}else {
+						return usage("File not found: "+f);
+					}
+				}
+			}
+		}catch(NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			return usage("Bad number for -warmup, -iterations or -synthetic");
+		}
+		if(files.isEmpty() && synthetic.isEmpty()) {
+			return usage(null);
+		}
+
+		ConversionEngine.initTables();
+		//load the item tables now, rather than in the first iteration
+		SchematicConverter.itemMapping.size();
+
+		ConversionOptions options;
+		try {
+			options = (optionsFile != null) ? BatchConverter.loadOptions(optionsFile) :
+				new ConversionOptions.Builder().imperfectFills(true).checkClones(true).complexRails(true).outputType(1).build();
+		}catch(IOException | IllegalArgumentException e) {
+			return usage("Couldn't read options file "+optionsFile+": "+e.getLocalizedMessage());
+		}
+
+		File packDir;
+		try {
+			packDir = Files.createTempDirectory("s2cb-bench").toFile();
+		}catch(IOException e) {
+			System.err.println("Couldn't create a temporary directory: "+e.getLocalizedMessage());
+			return 1;
+		}
+
+		boolean ok = true;
+		try {
+			for(int size : synthetic) {
+				SchematicGenerator gen = new SchematicGenerator(size, size, size).paletteSize(16).air(0.4).repeat(2)
+						.rails(Math.max(1, size / 16)).blockEntities(0.002).entities(Math.max(1, size / 4));
+				for(String ext : new String[] {".schematic", ".nbt", ".litematic", ".schem"}) {
+					File f = new File(packDir, "synthetic"+size+ext);
+					gen.write(f);
+					files.add(f);
+				}
+			}
+			ConversionBenchmark bench = new ConversionBenchmark(options, warmup, iterations, packDir);
+			System.out.println("Options: "+options);
+			System.out.println("Warmup iterations: "+warmup+"  Measured iterations: "+iterations);
+			for(File f : files) {
+				ok &= bench.benchmark(f);
+			}
+		}catch(IOException e) {
+			System.err.println("Couldn't write synthetic schematics: "+e.getLocalizedMessage());
+			ok = false;
+		}finally {
+			File[] packs = packDir.listFiles();
+			if(packs != null) {
+				for(File p : packs) {
+					p.delete();
+				}
+			}
+			packDir.delete();
+		}
+		return ok ? 0 : 1;
+	}
+
+	private static int usage(String error) {
+		if(error != null) {
+			System.err.println(error);
+		}
+		System.err.println("Usage: S2CB bench <schematic file or directory> ... [-options file] [-warmup n] [-iterations n]");
+		return 2;
+	}
+
+	/**
+	 * Converts a file warmup + iterations times, and prints the phase times of the measured iterations
+	 * @param f	the schematic file
+	 * @return	true if it converted
+	 */
+	public boolean benchmark(File f) {
+		System.out.println();
+		System.out.println(f.getName()+" ("+f.length()+" bytes)");
+
+		//phase name to the time of each measured iteration, in the order the phases first ran
+		Map<String, long[]> times = new LinkedHashMap<String, long[]>();
+		SchematicData data = null;
+		try {
+			for(int i=0; i<warmup+iterations; i++) {
+				Map<String, Long> phases = new LinkedHashMap<String, Long>();
+				data = runOnce(f, phases);
+				if(i >= warmup) {
+					for(Map.Entry<String, Long> e : phases.entrySet()) {
+						long[] t = times.get(e.getKey());
+						if(t == null) {
+							t = new long[iterations];
+							times.put(e.getKey(), t);
+						}
+						t[i-warmup] = e.getValue();
+					}
+				}
+			}
+		}catch(IOException | RuntimeException | OutOfMemoryError e) {
+			System.out.println("  FAILED  "+e.getClass().getName()+"  "+e.getLocalizedMessage());
+			return false;
+		}
+
+		long voxels = (long)data.w * data.h * data.l;
+		System.out.println("  "+data.w+"x"+data.h+"x"+data.l+"  "+voxels+" voxels  "+data.cmdCount+" commands  "+data.cmds.size()+" command blocks / lines");
+		System.out.println(String.format("  %-26s %12s %12s %12s", "phase", "mean ms", "min ms", "max ms"));
+		for(Map.Entry<String, long[]> e : times.entrySet()) {
+			long min = Long.MAX_VALUE, max = 0, total = 0;
+			for(long t : e.getValue()) {
+				min = Math.min(min, t);
+				max = Math.max(max, t);
+				total += t;
+			}
+			System.out.println(String.format("  %-26s %12s %12s %12s", e.getKey(), ms(total / (double)iterations), ms(min), ms(max)));
+		}
+		long[] convert = times.get("convert");
+		if(convert != null) {
+			long total = 0;
+			for(long t : convert) {
+				total += t;
+			}
+			double seconds = total / (double)iterations / 1e9;
+			System.out.println("  "+NumberFormat.getIntegerInstance().format(voxels / seconds)+" voxels/s");
+		}
+		return true;
+	}
+
+	/**
+	 * Reads and converts a file once, timing each phase
+	 * @param f			the schematic file
+	 * @param phases	gets the nanoseconds spent in each phase
+	 * @return			the converted schematic
+	 * @throws IOException if the file couldn't be read or converted
+	 */
+	private SchematicData runOnce(File f, Map<String, Long> phases) throws IOException {
+		BenchListener listener = new BenchListener(packDir);
+
+		//the read is timed by the engine, as its read phase
+		ConversionEngine engine = new ConversionEngine(options, listener);
+		NamedTag sch = engine.read(f);
+		if(!(sch.getTag() instanceof CompoundTag)) {
+			throw new IOException("Not a schematic, found tag named '"+sch.getName()+"' but not a compound tag");
+		}
+
+		long start = System.nanoTime();
+		SchematicData data = engine.convert((CompoundTag)sch.getTag(), f.getName());
+		phases.put("convert", System.nanoTime() - start);
+		if(data.cmds == null) {
+			//the engine reports errors in the output text
+			throw new IOException(data.out.toString().trim());
+		}
+		for(PhaseMetrics p : data.phases.values()) {
+			phases.put(p.phase, p.wallNanos);
+		}
+
+		//the block entity and entity NBT, written the way the passes write it into setblock and summon commands
+		StringBuilder sb = new StringBuilder();
+		start = System.nanoTime();
+		for(Block b : data.BLOCK_CACHE.values()) {
+			if(b.compound != null && b.compound.containsKey("nbt")) {
+				sb.setLength(0);
+				engine.writeTag(sb, b.compound.getCompoundTag("nbt"), "");
+			}
+		}
+		if(data.entities != null) {
+			for(Tag<?> t : data.entities) {
+				sb.setLength(0);
+				engine.writeTag(sb, t, "");
+			}
+		}
+		phases.put("writeTag", System.nanoTime() - start);
+
+		if(data.plan != null) {
+			//command block output, so only the command layout runs again
+			ConversionEngine layout = new ConversionEngine(options.toBuilder().outputType(0).build(), listener);
+			start = System.nanoTime();
+			layout.rerender(data);
+			phases.put("appendPassenger", System.nanoTime() - start);
+		}
+		return data;
+	}
+
+	private String ms(double nanos) {
+		return nf.format(nanos / 1e6);
+	}
+
+	/**
+	 * Saves data packs to the temporary directory and drops status text
+	 */
+	private static class BenchListener implements ConversionListener {
+
+		private final File packDir;
+
+		BenchListener(File packDir) {
+			this.packDir = packDir;
+		}
+
+		@Override
+		public void status(String text) {
+		}
+
+		@Override
+		public void progress(double ratio) {
+		}
+
+		@Override
+		public void progress(double ratio, double ratio2) {
+		}
+
+		@Override
+		public File getDataPackFile(String filename) {
+			return new File(packDir, filename);
+		}
+	}
+
+}
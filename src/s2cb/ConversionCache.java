@@ -0,0 +1,268 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import net.querz.nbt.io.NBTSerializer;
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.tag.CompoundTag;
+import s2cb.ConversionEngine.SchematicData;
+
+/**
+ * An on disk cache of finished conversions, so converting the same schematic with the same options again doesn't redo the work.
+ *
+ * Entries are named by a SHA-256 hash of the schematic's NBT, its file name, the conversion options, the program version and the
+ * loaded s2cb.properties settings, so a change to any of them is a different entry. Each entry is a &lt;hash&gt;.s2c file with
+ * the output text and commands, and for data packs a &lt;hash&gt;.zip with the data pack.
+ *
+ * When the cache gets bigger than its maximum size, the least recently used entries are deleted. An entry's last modified time is
+ * its last use.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class ConversionCache {
+
+	private static final int ENTRY_VERSION = 1;
+	private static final String ENTRY_EXT = ".s2c";
+	private static final String PACK_EXT = ".zip";
+
+	private final File dir;
+	private final long maxSize;
+
+
+	/**
+	 * @param dir		the cache directory, created if needed
+	 * @param maxSize	the maximum size of the cache in bytes
+	 * @throws IOException if the directory can't be created
+	 */
+	public ConversionCache(File dir, long maxSize) throws IOException {
+		if(!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Couldn't create cache directory "+dir);
+		}
+		this.dir = dir;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Makes the cache key for a conversion
+	 * @param tag		the root NBT tag of the schematic
+	 * @param filename	the schematic file name
+	 * @param options	the conversion options
+	 * @return			the key, as hex
+	 * @throws IOException if the tag couldn't be serialized
+	 */
+	public String key(CompoundTag tag, String filename, ConversionOptions options) throws IOException {
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-256");
+		}catch(NoSuchAlgorithmException e) {
+			//all Java platforms have SHA-256
+			throw new IOException(e);
+		}
+		DigestOutputStream dos = new DigestOutputStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}, md);
+		new NBTSerializer(false).toStream(new NamedTag("", tag), dos);
+		md.update(("\n" + filename + "\n" + ConversionEngine.programVersion + "\n" + options + ConversionEngine.settingsText()).getBytes(StandardCharsets.UTF_8));
+
+		StringBuilder sb = new StringBuilder();
+		for(byte b : md.digest()) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Gets a cached conversion. For data packs, the listener is asked where to save the data pack, and the cached one is copied there.
+	 * @param key		the cache key
+	 * @param filename	the schematic file name
+	 * @param listener	asked where to save data packs
+	 * @return			the cached conversion, or null if it isn't cached
+	 * @throws IOException if the entry couldn't be read, or the data pack couldn't be copied
+	 */
+	public SchematicData get(String key, String filename, ConversionListener listener) throws IOException {
+		File entry = new File(dir, key + ENTRY_EXT);
+		File pack = new File(dir, key + PACK_EXT);
+		SchematicData data = new SchematicData();
+		String outFile;
+		synchronized(this) {
+			if(!entry.isFile()) {
+				return null;
+			}
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(entry))))){
+				if(in.readInt() != ENTRY_VERSION) {
+					return null;
+				}
+				data.filename = readString(in);
+				data.outputType = in.readInt();
+				data.w = in.readInt();
+				data.h = in.readInt();
+				data.l = in.readInt();
+				outFile = readString(in);
+				data.out = new StringBuilder(readString(in));
+				int count = in.readInt();
+				data.cmds = new ArrayList<String>(count);
+				for(int i=0; i<count; i++) {
+					data.cmds.add(readString(in));
+				}
+			}
+			if(data.outputType != 0 && !pack.isFile()) {
+				return null;
+			}
+			long now = System.currentTimeMillis();
+			entry.setLastModified(now);
+			pack.setLastModified(now);
+		}
+
+		if(data.outputType != 0) {
+			int dot = filename.lastIndexOf('.');
+			File dest = listener.getDataPackFile((dot > 0 ? filename.substring(0, dot) : filename) + PACK_EXT);
+			if(dest == null) {
+				data.out.append("\n\nData Pack not saved.\n");
+				return data;
+			}
+			Files.copy(pack.toPath(), dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			data.outFile = dest.getAbsolutePath();
+			if(outFile.length() > 0) {
+				String text = data.out.toString().replace(outFile, data.outFile);
+				data.out.setLength(0);
+				data.out.append(text);
+			}
+		}
+		return data;
+	}
+
+	/**
+	 * Adds a finished conversion to the cache, then removes the least recently used entries if the cache is too big
+	 * @param key	the cache key
+	 * @param data	the finished conversion
+	 * @throws IOException if the entry couldn't be written
+	 */
+	public void put(String key, SchematicData data) throws IOException {
+		File pack = null;
+		if(data.outputType != 0) {
+			if(data.outFile == null || data.outFile.length() == 0 || !(new File(data.outFile)).isFile()) {
+				//the data pack wasn't saved, so there is nothing to cache
+				return;
+			}
+			pack = new File(data.outFile);
+		}
+
+		synchronized(this) {
+			File entry = new File(dir, key + ENTRY_EXT);
+			File tmp = new File(dir, key + ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmp))))){
+				out.writeInt(ENTRY_VERSION);
+				writeString(out, data.filename);
+				out.writeInt(data.outputType);
+				out.writeInt(data.w);
+				out.writeInt(data.h);
+				out.writeInt(data.l);
+				writeString(out, data.outFile == null ? "" : data.outFile);
+				writeString(out, data.out.toString());
+				out.writeInt(data.cmds.size());
+				for(String cmd : data.cmds) {
+					writeString(out, cmd);
+				}
+			}
+			if(pack != null) {
+				Files.copy(pack.toPath(), new File(dir, key + PACK_EXT).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			//the pack is in place before the entry, so an entry is never found without its pack
+			Files.move(tmp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+			evict();
+		}
+	}
+
+	/**
+	 * Deletes the least recently used entries until the cache is no bigger than its maximum size
+	 */
+	private void evict() {
+		File[] entries = dir.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File f) {
+				return f.getName().endsWith(ENTRY_EXT);
+			}
+		});
+		if(entries == null) {
+			return;
+		}
+
+		long total = 0;
+		Map<File, Long> used = new HashMap<File, Long>();
+		for(File f : entries) {
+			total += f.length() + packFor(f).length();
+			used.put(f, f.lastModified());
+		}
+		if(total <= maxSize) {
+			return;
+		}
+
+		Arrays.sort(entries, new Comparator<File>() {
+			@Override
+			public int compare(File a, File b) {
+				return Long.compare(used.get(a), used.get(b));
+			}
+		});
+		for(int i=0; i<entries.length && total > maxSize; i++) {
+			File pack = packFor(entries[i]);
+			total -= entries[i].length() + pack.length();
+			entries[i].delete();
+			pack.delete();
+		}
+	}
+
+	private File packFor(File entry) {
+		String name = entry.getName();
+		return new File(dir, name.substring(0, name.length() - ENTRY_EXT.length()) + PACK_EXT);
+	}
+
+	//writeUTF is limited to 64k, and the output text can be much bigger
+	private static void writeString(DataOutputStream out, String s) throws IOException {
+		byte[] b = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(b.length);
+		out.write(b);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] b = new byte[in.readInt()];
+		in.readFully(b);
+		return new String(b, StandardCharsets.UTF_8);
+	}
+
+}
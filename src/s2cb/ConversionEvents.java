@@ -0,0 +1,409 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder events for the slow parts of a conversion, so a recording shows which phase, fill or clone search,
+ * data pack function or NBT file the time went to. They show up under S2CB in JDK Mission Control, or with
+ * "jfr print --categories S2CB recording.jfr".
+ *
+ * The engine only uses the static methods here, which pass the events around as Objects. On a JVM without JFR
+ * (Java 8 before update 262) the event classes are never loaded and the methods do nothing. When JFR isn't recording,
+ * begin returns null and end does nothing.
+ *
+ * The fill and clone search events run once per starting block, so they have a 1 ms threshold by default. Set
+ * s2cb.FillSearch#threshold (or s2cb.CloneSearch#threshold) to 0 ms in the recording settings to get all of them.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class ConversionEvents {
+
+	static final boolean AVAILABLE = jfrAvailable();
+
+
+	private static boolean jfrAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, ConversionEvents.class.getClassLoader());
+			return true;
+		}catch(ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return	the event for a conversion phase, or null if it isn't being recorded
+	 */
+	static Object beginPhase() {
+		return AVAILABLE ? Recorder.beginPhase() : null;
+	}
+
+	/**
+	 * @param event		from beginPhase
+	 * @param phase		the phase name - the engine method that does it
+	 * @param file		the schematic file name
+	 * @param voxels	the number of voxels the phase worked on
+	 * @param commands	the commands the phase added
+	 */
+	static void endPhase(Object event, String phase, String file, long voxels, int commands) {
+		if(event != null) {
+			Recorder.endPhase(event, phase, file, voxels, commands);
+		}
+	}
+
+	/**
+	 * @return	the event for the imperfect fill search from one block, or null if it isn't being recorded
+	 */
+	static Object beginFillSearch() {
+		return AVAILABLE ? Recorder.beginFillSearch() : null;
+	}
+
+	/**
+	 * @param event			from beginFillSearch
+	 * @param x				the block the search started from
+	 * @param y
+	 * @param z
+	 * @param w				the size of the best fill found, 0 if none
+	 * @param h
+	 * @param l
+	 * @param candidates	the number of fill boxes scored
+	 * @param points		the score of the best fill
+	 * @param accepted		if the best fill was used
+	 */
+	static void endFillSearch(Object event, int x, int y, int z, int w, int h, int l, int candidates, int points, boolean accepted) {
+		if(event != null) {
+			Recorder.endFillSearch(event, x, y, z, w, h, l, candidates, points, accepted);
+		}
+	}
+
+	/**
+	 * @return	the event for growing one possible clone, or null if it isn't being recorded
+	 */
+	static Object beginCloneSearch() {
+		return AVAILABLE ? Recorder.beginCloneSearch() : null;
+	}
+
+	/**
+	 * @param event			from beginCloneSearch
+	 * @param phase			doClone or doCloneBig
+	 * @param seedSize		the size of the matching area the search started from
+	 * @param sx			the source area
+	 * @param sy
+	 * @param sz
+	 * @param dx			the destination area
+	 * @param dy
+	 * @param dz
+	 * @param w				the size of the best clone found, 0 if none
+	 * @param h
+	 * @param l
+	 * @param candidates	the number of clone boxes compared
+	 * @param accepted		if a clone was found
+	 */
+	static void endCloneSearch(Object event, String phase, int seedSize, int sx, int sy, int sz, int dx, int dy, int dz, int w, int h, int l, int candidates, boolean accepted) {
+		if(event != null) {
+			Recorder.endCloneSearch(event, phase, seedSize, sx, sy, sz, dx, dy, dz, w, h, l, candidates, accepted);
+		}
+	}
+
+	/**
+	 * @return	the event for writing one data pack function, or null if it isn't being recorded
+	 */
+	static Object beginDataPackPage() {
+		return AVAILABLE ? Recorder.beginDataPackPage() : null;
+	}
+
+	/**
+	 * @param event		from beginDataPackPage
+	 * @param path		the function's path in the data pack
+	 * @param commands	the number of commands in it
+	 * @param bytes		its size
+	 */
+	static void endDataPackPage(Object event, String path, int commands, long bytes) {
+		if(event != null) {
+			Recorder.endDataPackPage(event, path, commands, bytes);
+		}
+	}
+
+	/**
+	 * @return	the event for reading a NBT file, or null if it isn't being recorded
+	 */
+	static Object beginNbtRead() {
+		return AVAILABLE ? Recorder.beginNbtRead() : null;
+	}
+
+	/**
+	 * @param event		from beginNbtRead
+	 * @param file		the file read
+	 * @param bytes		the file size
+	 */
+	static void endNbtRead(Object event, String file, long bytes) {
+		if(event != null) {
+			Recorder.endNbtRead(event, file, bytes);
+		}
+	}
+
+
+	/**
+	 * Everything that uses the JFR classes, so they are only loaded when JFR is available
+	 */
+	private static class Recorder {
+
+		static Object beginPhase() {
+			return begin(new PhaseEvent());
+		}
+
+		static void endPhase(Object event, String phase, String file, long voxels, int commands) {
+			PhaseEvent e = (PhaseEvent)event;
+			e.end();
+			if(e.shouldCommit()) {
+				e.phase = phase;
+				e.file = file;
+				e.voxels = voxels;
+				e.commands = commands;
+				e.commit();
+			}
+		}
+
+		static Object beginFillSearch() {
+			return begin(new FillSearchEvent());
+		}
+
+		static void endFillSearch(Object event, int x, int y, int z, int w, int h, int l, int candidates, int points, boolean accepted) {
+			FillSearchEvent e = (FillSearchEvent)event;
+			e.end();
+			if(e.shouldCommit()) {
+				e.x = x;
+				e.y = y;
+				e.z = z;
+				e.width = w;
+				e.height = h;
+				e.length = l;
+				e.candidates = candidates;
+				e.points = points;
+				e.accepted = accepted;
+				e.commit();
+			}
+		}
+
+		static Object beginCloneSearch() {
+			return begin(new CloneSearchEvent());
+		}
+
+		static void endCloneSearch(Object event, String phase, int seedSize, int sx, int sy, int sz, int dx, int dy, int dz, int w, int h, int l, int candidates, boolean accepted) {
+			CloneSearchEvent e = (CloneSearchEvent)event;
+			e.end();
+			if(e.shouldCommit()) {
+				e.phase = phase;
+				e.seedSize = seedSize;
+				e.sourceX = sx;
+				e.sourceY = sy;
+				e.sourceZ = sz;
+				e.destX = dx;
+				e.destY = dy;
+				e.destZ = dz;
+				e.width = w;
+				e.height = h;
+				e.length = l;
+				e.candidates = candidates;
+				e.accepted = accepted;
+				e.commit();
+			}
+		}
+
+		static Object beginDataPackPage() {
+			return begin(new DataPackPageEvent());
+		}
+
+		static void endDataPackPage(Object event, String path, int commands, long bytes) {
+			DataPackPageEvent e = (DataPackPageEvent)event;
+			e.end();
+			if(e.shouldCommit()) {
+				e.path = path;
+				e.commands = commands;
+				e.bytes = bytes;
+				e.commit();
+			}
+		}
+
+		static Object beginNbtRead() {
+			return begin(new NbtReadEvent());
+		}
+
+		static void endNbtRead(Object event, String file, long bytes) {
+			NbtReadEvent e = (NbtReadEvent)event;
+			e.end();
+			if(e.shouldCommit()) {
+				e.file = file;
+				e.bytes = bytes;
+				e.commit();
+			}
+		}
+
+		private static Event begin(Event e) {
+			if(!e.isEnabled()) {
+				return null;
+			}
+			e.begin();
+			return e;
+		}
+	}
+
+
+	@Name("s2cb.Phase")
+	@Label("Conversion Phase")
+	@Category("S2CB")
+	@Description("One phase of a conversion - the same phases as the conversion report")
+	static class PhaseEvent extends Event {
+		@Label("Phase")
+		String phase;
+
+		@Label("File")
+		String file;
+
+		@Label("Voxels")
+		long voxels;
+
+		@Label("Commands")
+		int commands;
+	}
+
+	@Name("s2cb.FillSearch")
+	@Label("Imperfect Fill Search")
+	@Category("S2CB")
+	@Description("doBigBlocks looking for the best fill starting from one block")
+	@StackTrace(false)
+	@Threshold("1 ms")
+	static class FillSearchEvent extends Event {
+		@Label("X")
+		int x;
+
+		@Label("Y")
+		int y;
+
+		@Label("Z")
+		int z;
+
+		@Label("Width")
+		int width;
+
+		@Label("Height")
+		int height;
+
+		@Label("Length")
+		int length;
+
+		@Label("Candidates")
+		@Description("Fill boxes scored")
+		int candidates;
+
+		@Label("Points")
+		int points;
+
+		@Label("Accepted")
+		boolean accepted;
+	}
+
+	@Name("s2cb.CloneSearch")
+	@Label("Clone Search")
+	@Category("S2CB")
+	@Description("doClone or doCloneBig growing a matching area into the biggest clone it can")
+	@StackTrace(false)
+	@Threshold("1 ms")
+	static class CloneSearchEvent extends Event {
+		@Label("Phase")
+		String phase;
+
+		@Label("Seed Size")
+		int seedSize;
+
+		@Label("Source X")
+		int sourceX;
+
+		@Label("Source Y")
+		int sourceY;
+
+		@Label("Source Z")
+		int sourceZ;
+
+		@Label("Destination X")
+		int destX;
+
+		@Label("Destination Y")
+		int destY;
+
+		@Label("Destination Z")
+		int destZ;
+
+		@Label("Width")
+		int width;
+
+		@Label("Height")
+		int height;
+
+		@Label("Length")
+		int length;
+
+		@Label("Candidates")
+		@Description("Clone boxes compared")
+		int candidates;
+
+		@Label("Accepted")
+		boolean accepted;
+	}
+
+	@Name("s2cb.DataPackPage")
+	@Label("Data Pack Function")
+	@Category("S2CB")
+	@Description("One function file written to a data pack")
+	static class DataPackPageEvent extends Event {
+		@Label("Path")
+		String path;
+
+		@Label("Commands")
+		int commands;
+
+		@Label("Bytes")
+		@DataAmount
+		long bytes;
+	}
+
+	@Name("s2cb.NbtRead")
+	@Label("NBT File Read")
+	@Category("S2CB")
+	@Description("Reading and parsing a NBT file")
+	static class NbtReadEvent extends Event {
+		@Label("File")
+		String file;
+
+		@Label("Bytes")
+		@DataAmount
+		long bytes;
+	}
+
+}
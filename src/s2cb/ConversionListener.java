@@ -0,0 +1,60 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.io.File;
+
+/**
+ * Receives progress from a ConversionEngine while it converts a schematic.
+ * The Swing window shows these in its text area, headless clients can log or ignore them.
+ * Methods are called from the conversion thread.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public interface ConversionListener {
+
+	/**
+	 * A new line of status text
+	 * @param text	the status text
+	 */
+	void status(String text);
+
+	/**
+	 * Progress of the current step, replacing the last progress shown
+	 * @param ratio	the progress, from 0 to 1
+	 */
+	void progress(double ratio);
+
+	/**
+	 * Progress of the current step and of the sub step
+	 * @param ratio		the progress, from 0 to 1
+	 * @param ratio2	the progress of the sub step, from 0 to 1
+	 */
+	void progress(double ratio, double ratio2);
+
+	/**
+	 * Asks where to save a data pack
+	 * @param filename	the suggested file name
+	 * @return			the file to save to, or null to cancel saving
+	 */
+	File getDataPackFile(String filename);
+
+}
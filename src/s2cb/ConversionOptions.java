@@ -0,0 +1,386 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.util.Properties;
+
+/**
+ * The options for a conversion. Options can't be changed once created, so a conversion can read them
+ * from any thread without checking the Swing controls. Use a Builder to create them.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public final class ConversionOptions {
+
+	final boolean quiet; //Stop command block output from showing in the chat
+	final boolean clear; //Fill the area for the schematic with air first
+	final boolean chain; //Set up the command blocks so they can be triggered in a chain
+	final boolean noDangerousBlocks; //Don't place dangerous blocks, such as lava, tnt and fire
+	final boolean removeBarriers; //Remove barrier blocks
+	final boolean removeEMobs; //Remove hostile mobs
+	final boolean removeMobs; //Remove all mobs
+	final boolean removeProjectiles; //Remove projectiles
+	final boolean ignoreUnneededBlockState; //Remove block state that isn't needed to recreate the schematic
+	final boolean redstoneDotsToPluses; //Convert single spots of redstone to pluses
+	final boolean complexRails; //Place rails one at a time, following the rail lines
+	final boolean minimizeWater; //Only place water and lava source blocks
+	final boolean minimizeEntities; //Remove unneeded (default) properties from entities
+	final boolean serverSafe; //Limit commands to about 80% of the maximum length
+	final boolean hollowOut; //Remove completely hidden blocks
+	final boolean limitDistance; //Limit the length of a line of command blocks (only used for directions that place command blocks in a line)
+	final boolean imperfectFills; //Fill large areas of mostly one block type, then fix the other blocks
+	final boolean checkClones; //Clone areas that are duplicates of each other
+	final boolean relativeCoords; //Group nearby data pack commands into relative coordinate functions
+	final int base; //Index of the base block placed under the schematic (0 for none)
+	final int moreCmds; //Where additional command blocks go (index of the New Command Offset options)
+	final int outputType; //Output type (index of the Output options)
+	final int bannerConversion; //How to convert banners in .schematic files
+	final int offsetX; //Build offset X
+	final int offsetY; //Build offset Y
+	final int offsetZ; //Build offset Z
+	final int tickCommands; //Commands run per tick by the scheduled data pack output
+
+	private ConversionOptions(Builder b) {
+		quiet = b.quiet;
+		clear = b.clear;
+		chain = b.chain;
+		noDangerousBlocks = b.noDangerousBlocks;
+		removeBarriers = b.removeBarriers;
+		removeEMobs = b.removeEMobs;
+		removeMobs = b.removeMobs;
+		removeProjectiles = b.removeProjectiles;
+		ignoreUnneededBlockState = b.ignoreUnneededBlockState;
+		redstoneDotsToPluses = b.redstoneDotsToPluses;
+		complexRails = b.complexRails;
+		minimizeWater = b.minimizeWater;
+		minimizeEntities = b.minimizeEntities;
+		serverSafe = b.serverSafe;
+		hollowOut = b.hollowOut;
+		limitDistance = b.limitDistance;
+		imperfectFills = b.imperfectFills;
+		checkClones = b.checkClones;
+		relativeCoords = b.relativeCoords;
+		base = b.base;
+		moreCmds = b.moreCmds;
+		outputType = b.outputType;
+		bannerConversion = b.bannerConversion;
+		offsetX = b.offsetX;
+		offsetY = b.offsetY;
+		offsetZ = b.offsetZ;
+		tickCommands = b.tickCommands;
+	}
+
+	/**
+	 * Lists every option as name=value, in the form Builder.load reads. Equal options always give the same string.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("quiet=").append(quiet).append('\n');
+		sb.append("clear=").append(clear).append('\n');
+		sb.append("chain=").append(chain).append('\n');
+		sb.append("noDangerousBlocks=").append(noDangerousBlocks).append('\n');
+		sb.append("removeBarriers=").append(removeBarriers).append('\n');
+		sb.append("removeEMobs=").append(removeEMobs).append('\n');
+		sb.append("removeMobs=").append(removeMobs).append('\n');
+		sb.append("removeProjectiles=").append(removeProjectiles).append('\n');
+		sb.append("ignoreUnneededBlockState=").append(ignoreUnneededBlockState).append('\n');
+		sb.append("redstoneDotsToPluses=").append(redstoneDotsToPluses).append('\n');
+		sb.append("complexRails=").append(complexRails).append('\n');
+		sb.append("minimizeWater=").append(minimizeWater).append('\n');
+		sb.append("minimizeEntities=").append(minimizeEntities).append('\n');
+		sb.append("serverSafe=").append(serverSafe).append('\n');
+		sb.append("hollowOut=").append(hollowOut).append('\n');
+		sb.append("limitDistance=").append(limitDistance).append('\n');
+		sb.append("imperfectFills=").append(imperfectFills).append('\n');
+		sb.append("checkClones=").append(checkClones).append('\n');
+		sb.append("relativeCoords=").append(relativeCoords).append('\n');
+		sb.append("base=").append(base).append('\n');
+		sb.append("moreCmds=").append(moreCmds).append('\n');
+		sb.append("outputType=").append(outputType).append('\n');
+		sb.append("bannerConversion=").append(bannerConversion).append('\n');
+		sb.append("offsetX=").append(offsetX).append('\n');
+		sb.append("offsetY=").append(offsetY).append('\n');
+		sb.append("offsetZ=").append(offsetZ).append('\n');
+		sb.append("tickCommands=").append(tickCommands).append('\n');
+		return sb.toString();
+	}
+
+	/**
+	 * Creates a Builder starting with the same options as this
+	 */
+	public Builder toBuilder() {
+		Builder b = new Builder();
+		b.quiet = quiet;
+		b.clear = clear;
+		b.chain = chain;
+		b.noDangerousBlocks = noDangerousBlocks;
+		b.removeBarriers = removeBarriers;
+		b.removeEMobs = removeEMobs;
+		b.removeMobs = removeMobs;
+		b.removeProjectiles = removeProjectiles;
+		b.ignoreUnneededBlockState = ignoreUnneededBlockState;
+		b.redstoneDotsToPluses = redstoneDotsToPluses;
+		b.complexRails = complexRails;
+		b.minimizeWater = minimizeWater;
+		b.minimizeEntities = minimizeEntities;
+		b.serverSafe = serverSafe;
+		b.hollowOut = hollowOut;
+		b.limitDistance = limitDistance;
+		b.imperfectFills = imperfectFills;
+		b.checkClones = checkClones;
+		b.relativeCoords = relativeCoords;
+		b.base = base;
+		b.moreCmds = moreCmds;
+		b.outputType = outputType;
+		b.bannerConversion = bannerConversion;
+		b.offsetX = offsetX;
+		b.offsetY = offsetY;
+		b.offsetZ = offsetZ;
+		b.tickCommands = tickCommands;
+		return b;
+	}
+
+	/**
+	 * Builds ConversionOptions, starting from the same defaults as the window
+	 */
+	public static class Builder {
+		private boolean quiet = true;
+		private boolean clear = true;
+		private boolean chain = false;
+		private boolean noDangerousBlocks = false;
+		private boolean removeBarriers = false;
+		private boolean removeEMobs = true;
+		private boolean removeMobs = false;
+		private boolean removeProjectiles = true;
+		private boolean ignoreUnneededBlockState = true;
+		private boolean redstoneDotsToPluses = true;
+		private boolean complexRails = false;
+		private boolean minimizeWater = true;
+		private boolean minimizeEntities = true;
+		private boolean serverSafe = false;
+		private boolean hollowOut = false;
+		private boolean limitDistance = false;
+		private boolean imperfectFills = false;
+		private boolean checkClones = false;
+		private boolean relativeCoords = false;
+		private int base = 0;
+		private int moreCmds = 5;
+		private int outputType = 0;
+		private int bannerConversion = 3;
+		private int offsetX = 0;
+		private int offsetY = 0;
+		private int offsetZ = 0;
+		private int tickCommands = 4096;
+
+		public Builder quiet(boolean quiet) {
+			this.quiet = quiet;
+			return this;
+		}
+
+		public Builder clear(boolean clear) {
+			this.clear = clear;
+			return this;
+		}
+
+		public Builder chain(boolean chain) {
+			this.chain = chain;
+			return this;
+		}
+
+		public Builder noDangerousBlocks(boolean noDangerousBlocks) {
+			this.noDangerousBlocks = noDangerousBlocks;
+			return this;
+		}
+
+		public Builder removeBarriers(boolean removeBarriers) {
+			this.removeBarriers = removeBarriers;
+			return this;
+		}
+
+		public Builder removeEMobs(boolean removeEMobs) {
+			this.removeEMobs = removeEMobs;
+			return this;
+		}
+
+		public Builder removeMobs(boolean removeMobs) {
+			this.removeMobs = removeMobs;
+			return this;
+		}
+
+		public Builder removeProjectiles(boolean removeProjectiles) {
+			this.removeProjectiles = removeProjectiles;
+			return this;
+		}
+
+		public Builder ignoreUnneededBlockState(boolean ignoreUnneededBlockState) {
+			this.ignoreUnneededBlockState = ignoreUnneededBlockState;
+			return this;
+		}
+
+		public Builder redstoneDotsToPluses(boolean redstoneDotsToPluses) {
+			this.redstoneDotsToPluses = redstoneDotsToPluses;
+			return this;
+		}
+
+		public Builder complexRails(boolean complexRails) {
+			this.complexRails = complexRails;
+			return this;
+		}
+
+		public Builder minimizeWater(boolean minimizeWater) {
+			this.minimizeWater = minimizeWater;
+			return this;
+		}
+
+		public Builder minimizeEntities(boolean minimizeEntities) {
+			this.minimizeEntities = minimizeEntities;
+			return this;
+		}
+
+		public Builder serverSafe(boolean serverSafe) {
+			this.serverSafe = serverSafe;
+			return this;
+		}
+
+		public Builder hollowOut(boolean hollowOut) {
+			this.hollowOut = hollowOut;
+			return this;
+		}
+
+		public Builder limitDistance(boolean limitDistance) {
+			this.limitDistance = limitDistance;
+			return this;
+		}
+
+		public Builder imperfectFills(boolean imperfectFills) {
+			this.imperfectFills = imperfectFills;
+			return this;
+		}
+
+		public Builder checkClones(boolean checkClones) {
+			this.checkClones = checkClones;
+			return this;
+		}
+
+		public Builder relativeCoords(boolean relativeCoords) {
+			this.relativeCoords = relativeCoords;
+			return this;
+		}
+
+		public Builder base(int base) {
+			this.base = base;
+			return this;
+		}
+
+		public Builder moreCmds(int moreCmds) {
+			this.moreCmds = moreCmds;
+			return this;
+		}
+
+		public Builder outputType(int outputType) {
+			this.outputType = outputType;
+			return this;
+		}
+
+		public Builder bannerConversion(int bannerConversion) {
+			this.bannerConversion = bannerConversion;
+			return this;
+		}
+
+		public Builder offsetX(int offsetX) {
+			this.offsetX = offsetX;
+			return this;
+		}
+
+		public Builder offsetY(int offsetY) {
+			this.offsetY = offsetY;
+			return this;
+		}
+
+		public Builder offsetZ(int offsetZ) {
+			this.offsetZ = offsetZ;
+			return this;
+		}
+
+		public Builder tickCommands(int tickCommands) {
+			this.tickCommands = tickCommands;
+			return this;
+		}
+
+		/**
+		 * Sets the options found in a properties section (such as the [OPTIONS] section of a batch options file).
+		 * Keys are the option names used by this Builder, options that aren't present keep their current value.
+		 * @param p	the properties to read
+		 * @return	this Builder
+		 * @throws NumberFormatException if a number option isn't a number (build checks the ranges)
+		 */
+		public Builder load(Properties p) {
+			quiet = Boolean.parseBoolean(p.getProperty("quiet", ""+quiet).trim());
+			clear = Boolean.parseBoolean(p.getProperty("clear", ""+clear).trim());
+			chain = Boolean.parseBoolean(p.getProperty("chain", ""+chain).trim());
+			noDangerousBlocks = Boolean.parseBoolean(p.getProperty("noDangerousBlocks", ""+noDangerousBlocks).trim());
+			removeBarriers = Boolean.parseBoolean(p.getProperty("removeBarriers", ""+removeBarriers).trim());
+			removeEMobs = Boolean.parseBoolean(p.getProperty("removeEMobs", ""+removeEMobs).trim());
+			removeMobs = Boolean.parseBoolean(p.getProperty("removeMobs", ""+removeMobs).trim());
+			removeProjectiles = Boolean.parseBoolean(p.getProperty("removeProjectiles", ""+removeProjectiles).trim());
+			ignoreUnneededBlockState = Boolean.parseBoolean(p.getProperty("ignoreUnneededBlockState", ""+ignoreUnneededBlockState).trim());
+			redstoneDotsToPluses = Boolean.parseBoolean(p.getProperty("redstoneDotsToPluses", ""+redstoneDotsToPluses).trim());
+			complexRails = Boolean.parseBoolean(p.getProperty("complexRails", ""+complexRails).trim());
+			minimizeWater = Boolean.parseBoolean(p.getProperty("minimizeWater", ""+minimizeWater).trim());
+			minimizeEntities = Boolean.parseBoolean(p.getProperty("minimizeEntities", ""+minimizeEntities).trim());
+			serverSafe = Boolean.parseBoolean(p.getProperty("serverSafe", ""+serverSafe).trim());
+			hollowOut = Boolean.parseBoolean(p.getProperty("hollowOut", ""+hollowOut).trim());
+			limitDistance = Boolean.parseBoolean(p.getProperty("limitDistance", ""+limitDistance).trim());
+			imperfectFills = Boolean.parseBoolean(p.getProperty("imperfectFills", ""+imperfectFills).trim());
+			checkClones = Boolean.parseBoolean(p.getProperty("checkClones", ""+checkClones).trim());
+			relativeCoords = Boolean.parseBoolean(p.getProperty("relativeCoords", ""+relativeCoords).trim());
+			base = Integer.parseInt(p.getProperty("base", ""+base).trim());
+			moreCmds = Integer.parseInt(p.getProperty("moreCmds", ""+moreCmds).trim());
+			outputType = Integer.parseInt(p.getProperty("outputType", ""+outputType).trim());
+			bannerConversion = Integer.parseInt(p.getProperty("bannerConversion", ""+bannerConversion).trim());
+			offsetX = Integer.parseInt(p.getProperty("offsetX", ""+offsetX).trim());
+			offsetY = Integer.parseInt(p.getProperty("offsetY", ""+offsetY).trim());
+			offsetZ = Integer.parseInt(p.getProperty("offsetZ", ""+offsetZ).trim());
+			tickCommands = Integer.parseInt(p.getProperty("tickCommands", ""+tickCommands).trim());
+			return this;
+		}
+
+		/**
+		 * @return	the options
+		 * @throws IllegalArgumentException if a number option is out of range, such as an output type that doesn't exist
+		 */
+		public ConversionOptions build() {
+			checkRange("base", base, 0, ConversionEngine.BASE_BLOCK.length - 1);
+			checkRange("moreCmds", moreCmds, 0, ConversionEngine.moreCmdsX.length - 1);
+			checkRange("outputType", outputType, 0, ConversionEngine.OUTPUT_TYPES - 1);
+			checkRange("bannerConversion", bannerConversion, 0, 3);
+			checkRange("tickCommands", tickCommands, 1, ConversionEngine.DATAPACK_PAGE_COMMANDS);
+			return new ConversionOptions(this);
+		}
+
+		private static void checkRange(String name, int value, int min, int max) {
+			if(value < min || value > max) {
+				throw new IllegalArgumentException(name+" must be from "+min+" to "+max+", not "+value);
+			}
+		}
+	}
+}
@@ -0,0 +1,394 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import s2cb.ConversionEngine.SchematicData;
+
+/**
+ * Keeps the JVM and the block, item and entity tables loaded, and converts schematics sent to it over a local socket.
+ *
+ * Run as: S2CB serve &lt;port&gt; [options file] [-threads n] [-memory mb] [-cache directory] [-cachesize mb]
+ *
+ * The options file, the memory budget and the cache are the same as for batch mode. The service only listens on the loopback address. Each request is one line,
+ * with the arguments separated by tabs (or by spaces, if there are no tabs), and gets one line back (LIST returns one line per job, then an empty line):
+ *
+ *  CONVERT &lt;priority&gt; &lt;schematic file&gt; &lt;output directory&gt; [option=value ...]	queues a job, replies "JOB &lt;id&gt;".  Higher priorities run first.
+ *  STATUS &lt;id&gt;		replies with the job's status line
+ *  LIST				replies with the status line of every job
+ *  SHUTDOWN			finishes the running jobs and stops the service
+ *
+ * A status line is: &lt;id&gt; &lt;state&gt; &lt;priority&gt; &lt;ms queued&gt; &lt;ms converting&gt; &lt;commands&gt; &lt;file&gt; [error]
+ * Errors are replied as "ERROR &lt;message&gt;".
+ *
+ * Finished jobs are forgotten an hour after they finish, or sooner once there are more than 1000 of them (the oldest first),
+ * after which STATUS replies that the job is unknown.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class ConversionService {
+
+	enum JobState { QUEUED, RUNNING, DONE, FAILED };
+
+	//how many finished jobs are kept for STATUS and LIST, and for how long
+	private static final int KEEP_FINISHED_JOBS = 1000;
+	private static final long KEEP_FINISHED_NANOS = TimeUnit.HOURS.toNanos(1);
+
+	private final ConversionOptions options;
+	private final ConversionCache cache;
+	private final BatchConverter.MemoryGate memory;
+	private final ThreadPoolExecutor pool;
+	private final Map<Integer, Job> jobs = new ConcurrentHashMap<Integer, Job>();
+	private final AtomicInteger nextJob = new AtomicInteger(1);
+	private volatile boolean running = true;
+
+
+	public ConversionService(ConversionOptions options, int threads, long memoryBudget, ConversionCache cache) {
+		this.options = options;
+		this.cache = cache;
+		this.memory = new BatchConverter.MemoryGate(memoryBudget);
+		//only Jobs are ever queued, and they are run with execute so the queue sees the Jobs themselves, not wrappers
+		this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>());
+	}
+
+	/**
+	 * Runs the service from the command line arguments (args[0] is "serve")
+	 * @param args	the command line arguments
+	 * @return		the exit code - 0 after a SHUTDOWN, 1 if the socket couldn't be used, 2 for bad arguments
+	 */
+	public static int run(String[] args) {
+		int port = -1;
+		File optionsFile = null;
+		File cacheDir = null;
+		long cacheSize = BatchConverter.DEFAULT_CACHE_SIZE;
+		int threads = Runtime.getRuntime().availableProcessors();
+		long memoryBudget = BatchConverter.MemoryGate.defaultBudget();
+
+		try {
+			for(int i=1; i<args.length; i++) {
+				if(args[i].equals("-threads")) {
+					threads = Math.max(1, Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-memory")) {
+					memoryBudget = Math.max(1, Long.parseLong(args[++i])) * 1024 * 1024;
+				}else if(args[i].equals("-cache")) {
+					cacheDir = new File(args[++i]);
+				}else if(args[i].equals("-cachesize")) {
+					cacheSize = Math.max(1, Long.parseLong(args[++i])) * 1024 * 1024;
+				}else if(port < 0) {
+					port = Integer.parseInt(args[i]);
+				}else if(optionsFile == null) {
+					optionsFile = new File(args[i]);
+				}else {
+					return usage("Unexpected argument: "+args[i]);
+				}
+			}
+		}catch(NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			return usage("Bad number for port, -threads, -memory or -cachesize");
+		}
+		if(port < 0) {
+			return usage(null);
+		}
+
+		long start = System.nanoTime();
+		ConversionEngine.initTables();
+		//load the item tables now, rather than in the first job
+		SchematicConverter.itemMapping.size();
+
+		ConversionOptions options;
+		try {
+			options = BatchConverter.loadOptions(optionsFile);
+		}catch(IOException | IllegalArgumentException e) {
+			return usage("Couldn't read options file "+optionsFile+": "+e.getLocalizedMessage());
+		}
+		System.out.println("Tables loaded in "+((System.nanoTime() - start) / 1000000)+"ms");
+
+		ConversionCache cache = null;
+		if(cacheDir != null) {
+			try {
+				cache = new ConversionCache(cacheDir, cacheSize);
+			}catch(IOException e) {
+				return usage(e.getLocalizedMessage());
+			}
+		}
+
+		ConversionService service = new ConversionService(options, threads, memoryBudget, cache);
+		try {
+			service.serve(port);
+		}catch(IOException e) {
+			System.err.println("Couldn't listen on port "+port+": "+e.getLocalizedMessage());
+			return 1;
+		}
+		return 0;
+	}
+
+	private static int usage(String error) {
+		if(error != null) {
+			System.err.println(error);
+		}
+		System.err.println("Usage: S2CB serve <port> [options file] [-threads n] [-memory mb] [-cache directory] [-cachesize mb]");
+		return 2;
+	}
+
+	/**
+	 * Accepts connections until a SHUTDOWN request, then waits for the queued jobs to finish
+	 * @param port	the port to listen on
+	 * @throws IOException if the port can't be used
+	 */
+	public void serve(int port) throws IOException {
+		try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())){
+			System.out.println("S2CB service listening on "+server.getLocalSocketAddress()+" with "+pool.getMaximumPoolSize()+" threads");
+			while(running) {
+				Socket s = server.accept();
+				Thread t = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						handle(s, server);
+					}
+				}, "s2cb-client");
+				t.setDaemon(true);
+				t.start();
+			}
+		}catch(SocketException e) {
+			//the server socket was closed by SHUTDOWN
+			if(running) {
+				throw e;
+			}
+		}
+		pool.shutdown();
+		try {
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		}catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void handle(Socket s, ServerSocket server) {
+		try (Socket sock = s;
+				BufferedReader in = new BufferedReader(new InputStreamReader(sock.getInputStream(), StandardCharsets.UTF_8));
+				PrintWriter out = new PrintWriter(new OutputStreamWriter(sock.getOutputStream(), StandardCharsets.UTF_8), true)){
+			String line;
+			while((line = in.readLine()) != null) {
+				line = line.trim();
+				if(line.length() == 0) {
+					continue;
+				}
+				String[] parts = line.indexOf('\t') >= 0 ? line.split("\t") : line.split(" +");
+				String cmd = parts[0].trim().toUpperCase();
+				evictFinished();
+				if(cmd.equals("CONVERT")) {
+					out.println(queue(parts));
+				}else if(cmd.equals("STATUS") && parts.length == 2) {
+					Job j = null;
+					try {
+						j = jobs.get(Integer.parseInt(parts[1].trim()));
+					}catch(NumberFormatException e) {
+						//handled as an unknown job
+					}
+					out.println(j == null ? "ERROR Unknown job "+parts[1] : j.status());
+				}else if(cmd.equals("LIST")) {
+					List<Integer> ids = new ArrayList<Integer>(jobs.keySet());
+					Collections.sort(ids);
+					for(Integer id : ids) {
+						out.println(jobs.get(id).status());
+					}
+					out.println();
+				}else if(cmd.equals("SHUTDOWN")) {
+					running = false;
+					out.println("OK");
+					server.close();
+					return;
+				}else {
+					out.println("ERROR Unknown request: "+parts[0]);
+				}
+			}
+		}catch(IOException e) {
+			System.out.println("Client error: "+e.getLocalizedMessage());
+		}
+	}
+
+	private String queue(String[] parts) {
+		if(!running) {
+			return "ERROR Shutting down";
+		}
+		if(parts.length < 4) {
+			return "ERROR Usage: CONVERT <priority> <schematic file> <output directory> [option=value ...]";
+		}
+		int priority;
+		try {
+			priority = Integer.parseInt(parts[1].trim());
+		}catch(NumberFormatException e) {
+			return "ERROR Bad priority: "+parts[1];
+		}
+		File file = new File(parts[2].trim());
+		File outDir = new File(parts[3].trim());
+		if(!file.isFile()) {
+			return "ERROR File not found: "+file;
+		}
+		if(!outDir.isDirectory() && !outDir.mkdirs()) {
+			return "ERROR Couldn't create output directory: "+outDir;
+		}
+
+		ConversionOptions jobOptions = options;
+		if(parts.length > 4) {
+			Properties p = new Properties();
+			for(int i=4; i<parts.length; i++) {
+				int eq = parts[i].indexOf('=');
+				if(eq < 1) {
+					return "ERROR Bad option: "+parts[i];
+				}
+				p.setProperty(parts[i].substring(0, eq).trim(), parts[i].substring(eq+1).trim());
+			}
+			try {
+				jobOptions = options.toBuilder().load(p).build();
+			}catch(IllegalArgumentException e) {
+				return "ERROR Bad option value: "+e.getLocalizedMessage();
+			}
+		}
+
+		Job j = new Job(nextJob.getAndIncrement(), priority, file, outDir, jobOptions, cache, memory);
+		jobs.put(j.id, j);
+		try {
+			pool.execute(j);
+		}catch(RejectedExecutionException e) {
+			//SHUTDOWN came in after the running check above
+			j.error = "Shutting down";
+			j.finished = System.nanoTime();
+			j.state = JobState.FAILED;
+			return "ERROR Shutting down";
+		}
+		return "JOB "+j.id;
+	}
+
+	/**
+	 * Forgets finished jobs that finished too long ago, and the oldest ones past KEEP_FINISHED_JOBS, so the job list doesn't grow forever
+	 */
+	private void evictFinished() {
+		long now = System.nanoTime();
+		List<Integer> finished = new ArrayList<Integer>();
+		for(Job j : jobs.values()) {
+			if(j.state == JobState.DONE || j.state == JobState.FAILED) {
+				if(now - j.finished > KEEP_FINISHED_NANOS) {
+					jobs.remove(j.id);
+				}else {
+					finished.add(j.id);
+				}
+			}
+		}
+		if(finished.size() > KEEP_FINISHED_JOBS) {
+			//ids are handed out in order, so the lowest ids were queued first
+			Collections.sort(finished);
+			for(int i=0; i<finished.size() - KEEP_FINISHED_JOBS; i++) {
+				jobs.remove(finished.get(i));
+			}
+		}
+	}
+
+	/**
+	 * One queued conversion. Jobs sort by priority (highest first), then in the order they were queued.
+	 */
+	private static class Job implements Runnable, Comparable<Job> {
+		final int id;
+		final int priority;
+		final File file;
+		final File outDir;
+		final ConversionOptions options;
+		final ConversionCache cache;
+		final BatchConverter.MemoryGate memory;
+
+		final long queued = System.nanoTime();
+		volatile JobState state = JobState.QUEUED;
+		volatile long started = 0;
+		volatile long finished = 0;
+		volatile int commands = 0;
+		volatile String error = null;
+
+		Job(int id, int priority, File file, File outDir, ConversionOptions options, ConversionCache cache, BatchConverter.MemoryGate memory) {
+			this.id = id;
+			this.priority = priority;
+			this.file = file;
+			this.outDir = outDir;
+			this.options = options;
+			this.cache = cache;
+			this.memory = memory;
+		}
+
+		@Override
+		public void run() {
+			//the job stays queued while it waits for memory
+			int permits;
+			try {
+				permits = memory.acquire(file);
+			}catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				error = "Interrupted";
+				finished = System.nanoTime();
+				state = JobState.FAILED;
+				return;
+			}
+			started = System.nanoTime();
+			state = JobState.RUNNING;
+			JobState result;
+			try {
+				SchematicData data = BatchConverter.convertFile(file, outDir, options, cache);
+				commands = data.cmds.size();
+				result = JobState.DONE;
+			}catch(Exception | OutOfMemoryError e) {
+				error = e.getClass().getName()+"  "+e.getLocalizedMessage();
+				result = JobState.FAILED;
+			}finally {
+				memory.release(permits);
+			}
+			//set finished first, as evictFinished reads it once the state is DONE or FAILED
+			finished = System.nanoTime();
+			state = result;
+			System.out.println(status());
+		}
+
+		String status() {
+			long now = System.nanoTime();
+			long queuedMs = ((started > 0 ? started : now) - queued) / 1000000;
+			long runMs = started > 0 ? ((finished > 0 ? finished : now) - started) / 1000000 : 0;
+			return ""+id+" "+state+" "+priority+" "+queuedMs+" "+runMs+" "+commands+" "+file.getPath()+(error != null ? " "+error.replace('\n', ' ') : "");
+		}
+
+		@Override
+		public int compareTo(Job o) {
+			if(priority != o.priority) {
+				return priority > o.priority ? -1 : 1;
+			}
+			return Integer.compare(id, o.id);
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.Locale;
+
+import s2cb.ConversionEngine.SchematicData;
+
+/**
+ * Where the time went in one phase of a conversion (loading, the conversion passes, saving...).
+ *
+ * CPU time and allocated bytes are for the thread running the conversion, from its ThreadMXBean. They are -1 if the JVM can't measure them.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class PhaseMetrics {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+	//allocation counting is only in the HotSpot (and OpenJ9) extension of ThreadMXBean
+	private static final com.sun.management.ThreadMXBean ALLOC = allocBean();
+
+	final String phase;
+	long wallNanos = 0;
+	long cpuNanos = 0;
+	long allocatedBytes = 0;
+	long voxels = 0;
+	long commands = 0;
+
+
+	PhaseMetrics(String phase) {
+		this.phase = phase;
+		if(!CPU_TIME) {
+			cpuNanos = -1;
+		}
+		if(ALLOC == null) {
+			allocatedBytes = -1;
+		}
+	}
+
+	private static com.sun.management.ThreadMXBean allocBean() {
+		try {
+			if(THREADS instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)THREADS;
+				if(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+					return bean;
+				}
+			}
+		}catch(LinkageError e) {
+			//not a JVM with the com.sun.management extensions
+		}
+		return null;
+	}
+
+	/**
+	 * The counters of the current thread when a phase started
+	 */
+	static class Mark {
+		final long wall;
+		final long cpu;
+		final long alloc;
+		final int commands;
+		final Object event;	//the JFR event, if it is recording
+
+		Mark(int commands) {
+			this.commands = commands;
+			this.event = ConversionEvents.beginPhase();
+			this.wall = System.nanoTime();
+			this.cpu = CPU_TIME ? THREADS.getCurrentThreadCpuTime() : 0;
+			this.alloc = (ALLOC != null) ? ALLOC.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+		}
+	}
+
+	/**
+	 * Adds the time, allocations and commands since a phase started. Calling this again for the same phase adds to it.
+	 * @param start		when the phase started
+	 * @param commands	the command count now
+	 * @param voxels	the number of voxels the phase worked on since it started
+	 */
+	void add(Mark start, int commands, long voxels) {
+		wallNanos += System.nanoTime() - start.wall;
+		if(CPU_TIME) {
+			cpuNanos += THREADS.getCurrentThreadCpuTime() - start.cpu;
+		}
+		if(ALLOC != null) {
+			allocatedBytes += ALLOC.getThreadAllocatedBytes(Thread.currentThread().getId()) - start.alloc;
+		}
+		this.commands += commands - start.commands;
+		this.voxels += voxels;
+	}
+
+	/**
+	 * Adds a table of the phases to the conversion report
+	 * @param sb		the report
+	 * @param phases	the phases, in the order they ran
+	 */
+	static void appendReport(StringBuilder sb, Collection<PhaseMetrics> phases) {
+		if(phases.isEmpty()) {
+			return;
+		}
+		sb.append("Conversion phases:\n");
+		sb.append(String.format(Locale.ROOT, "  %-26s %10s %10s %12s %12s %10s\n", "phase", "wall ms", "cpu ms", "allocated MB", "voxels", "commands"));
+		for(PhaseMetrics p : phases) {
+			sb.append(String.format(Locale.ROOT, "  %-26s %10.1f %10s %12s %12d %10d\n", p.phase, p.wallNanos / 1e6,
+					(p.cpuNanos < 0) ? "-" : String.format(Locale.ROOT, "%.1f", p.cpuNanos / 1e6),
+					(p.allocatedBytes < 0) ? "-" : String.format(Locale.ROOT, "%.1f", p.allocatedBytes / (1024.0 * 1024.0)),
+					p.voxels, p.commands));
+		}
+		sb.append("\n");
+	}
+
+	/**
+	 * @param data	a converted schematic
+	 * @return		the conversion's size, command count and phases as a JSON object
+	 */
+	static String toJson(SchematicData data) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"file\":");
+		appendJsonString(sb, data.filename);
+		sb.append(",\"format\":\"").append(data.format).append('"');
+		sb.append(",\"outputType\":").append(data.outputType);
+		sb.append(",\"width\":").append(data.w);
+		sb.append(",\"height\":").append(data.h);
+		sb.append(",\"length\":").append(data.l);
+		sb.append(",\"voxels\":").append((long)data.w * data.h * data.l);
+		sb.append(",\"commands\":").append(data.cmdCount);
+		sb.append(",\"phases\":[");
+		boolean first = true;
+		for(PhaseMetrics p : data.phases.values()) {
+			if(!first) {
+				sb.append(',');
+			}
+			first = false;
+			sb.append("{\"phase\":");
+			appendJsonString(sb, p.phase);
+			sb.append(",\"wallNanos\":").append(p.wallNanos);
+			sb.append(",\"cpuNanos\":").append(p.cpuNanos);
+			sb.append(",\"allocatedBytes\":").append(p.allocatedBytes);
+			sb.append(",\"voxels\":").append(p.voxels);
+			sb.append(",\"commands\":").append(p.commands);
+			sb.append('}');
+		}
+		sb.append("]}");
+		return sb.toString();
+	}
+
+	private static void appendJsonString(StringBuilder sb, String s) {
+		if(s == null) {
+			sb.append("null");
+			return;
+		}
+		sb.append('"');
+		for(int i=0; i<s.length(); i++) {
+			char c = s.charAt(i);
+			if(c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			}else if(c < 0x20) {
+				sb.append(String.format("\\u%04x", (int)c));
+			}else {
+				sb.append(c);
+			}
+		}
+		sb.append('"');
+	}
+
+}
@@ -24,11 +24,8 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 
-import javax.swing.JTextPane;
-import javax.swing.SwingUtilities;
-
-import s2cb.S2CB.Block;
-import s2cb.S2CB.SchematicData;
+import s2cb.ConversionEngine.Block;
+import s2cb.ConversionEngine.SchematicData;
 
 import net.querz.nbt.*;
 import net.querz.nbt.tag.*;
@@ -471,7 +468,7 @@ public class SchematicConverter {
 		itemMapping.put(new Item("speckled_melon",0),"glistering_melon_slice");
 		
 		//itemMapping.put(new Item("spawn_egg",0),"");
-		S2CB.mobNames.forEach((k,v) -> itemMapping.put(new Item("spawn_egg",k), v + "_spawn_egg"));
+		ConversionEngine.mobNames.forEach((k,v) -> itemMapping.put(new Item("spawn_egg",k), v + "_spawn_egg"));
 		
 		itemMapping.put(new Item("skull",0),"skeleton_skull");
 		itemMapping.put(new Item("skull",1),"wither_skeleton_skull");
@@ -564,7 +561,7 @@ public class SchematicConverter {
 		this.ignoreWirePower = ignoreRedstoneWirePower;
 	}
 
-	public void schematicToModern(SchematicData data, byte[] blocks, byte[] bdata, ListTag<?> tileEntities,  int w, int h, int l, JTextPane area) {
+	public void schematicToModern(SchematicData data, byte[] blocks, byte[] bdata, ListTag<?> tileEntities,  int w, int h, int l, ConversionListener listener) {
 		
 		buildTileEntCache(tileEntities);
 		
@@ -588,13 +585,8 @@ public class SchematicConverter {
 				}
 			}
 			
-			if(area!=null) {
-				final int yy = y+1;
-				SwingUtilities.invokeLater(new Runnable() {
-					public void run() {
-						area.setText(area.getText()+"\n"+yy+" of "+h);
-					}
-				});
+			if(listener!=null) {
+				listener.status(""+(y+1)+" of "+h);
 			}
 		}
 		
@@ -622,7 +614,7 @@ public class SchematicConverter {
 		String name = "";
 		switch(blockId) {
 			default:
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				break;
 
 			case 1: //stone
@@ -635,7 +627,7 @@ public class SchematicConverter {
 				case 5: name = "andesite"; break;
 				case 6: name = "polished_andesite"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 3:
 				name = "dirt";
@@ -643,38 +635,38 @@ public class SchematicConverter {
 				case 1: name = "coarse_dirt"; break;
 				case 2: name = "podzol"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 5:
 				name = getWoodType(blockdata)+"_planks";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 6:
 				name = getWoodType(blockdata)+"_sapling";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 8:
-				block.type = S2CB.BLOCK_TYPES.get("water");
+				block.type = ConversionEngine.BLOCK_TYPES.get("water");
 				block.properties = "level=" + blockdata;//(blockdata & 0x7) + ",falling=" + Boolean.toString((blockdata & 0x8)>0);
 				break;
 			case 9:
-				block.type = S2CB.BLOCK_TYPES.get("water");
+				block.type = ConversionEngine.BLOCK_TYPES.get("water");
 				block.properties = "level=" + blockdata;//(blockdata & 0x7) + ",falling=" + Boolean.toString((blockdata & 0x8)>0);
 				break;
 			case 10:
-				block.type = S2CB.BLOCK_TYPES.get("lava");
+				block.type = ConversionEngine.BLOCK_TYPES.get("lava");
 				block.properties = "level=" + blockdata;//(blockdata & 0x7) + ",falling=" + Boolean.toString((blockdata & 0x8)>0);
 				break;
 			case 11:
-				block.type = S2CB.BLOCK_TYPES.get("lava");
+				block.type = ConversionEngine.BLOCK_TYPES.get("lava");
 				block.properties = "level=" + blockdata;//(blockdata & 0x7) + ",falling=" + Boolean.toString((blockdata & 0x8)>0);
 				break;
 			case 12:
-				block.type = S2CB.BLOCK_TYPES.get(blockdata==1?"red_sand":"sand");
+				block.type = ConversionEngine.BLOCK_TYPES.get(blockdata==1?"red_sand":"sand");
 				break;
 			case 17:
 				name = getWoodType(blockdata & 0x3)+"_log";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				{
 					String axis = "";
 					switch(blockdata >> 2) {
@@ -688,14 +680,14 @@ public class SchematicConverter {
 				break;
 			case 18:
 				name = getWoodType(blockdata & 0x3)+"_leaves";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = ((blockdata & 4) > 0)?"persistent=true":"persistent=false";
 				break;
 			case 19:
-				block.type = S2CB.BLOCK_TYPES.get(blockdata==1?"wet_sponge":"sponge");
+				block.type = ConversionEngine.BLOCK_TYPES.get(blockdata==1?"wet_sponge":"sponge");
 				break;
 			case 23:
-				block.type = S2CB.BLOCK_TYPES.get("dispenser");
+				block.type = ConversionEngine.BLOCK_TYPES.get("dispenser");
 				{
 					String prop = "facing="+getBlockDirection(blockdata);
 					prop+=","+(((blockdata & 8)>0)?"triggered=true":"triggered=false");
@@ -708,10 +700,10 @@ public class SchematicConverter {
 				case 2: name = "cut_"; break;
 				}
 				name += "sandstone";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 25:
-				block.type = S2CB.BLOCK_TYPES.get("note_block");
+				block.type = ConversionEngine.BLOCK_TYPES.get("note_block");
 				{
 					int note = 0;
 					boolean powered = false;
@@ -741,7 +733,7 @@ public class SchematicConverter {
 						System.out.println("bad tile entity at "+x+","+y+","+z);
 						e.printStackTrace();
 					}
-					block.type = S2CB.BLOCK_TYPES.get(color+"_bed");
+					block.type = ConversionEngine.BLOCK_TYPES.get(color+"_bed");
 					
 					boolean head = ((blockdata & 0x8)>0);
 					String prop="south";
@@ -758,7 +750,7 @@ public class SchematicConverter {
 			case 27: //powered_rail
 			case 28: //detector_rail
 			case 157: //activator rail
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				{
 					String shape = "shape=north_south";
 					switch(blockdata & 0x7) {
@@ -772,7 +764,7 @@ public class SchematicConverter {
 				}
 				break;
 			case 29:
-				block.type = S2CB.BLOCK_TYPES.get("sticky_piston");
+				block.type = ConversionEngine.BLOCK_TYPES.get("sticky_piston");
 				{
 					String prop = "facing="+getBlockDirection(blockdata);
 					prop += ",extended=" + (((blockdata & 0x8)>0)?"true":"false");
@@ -784,10 +776,10 @@ public class SchematicConverter {
 				//ok, we have some disagreement here.  Wiki says 1 is fern, however, I have found some older schematics that should be grass, but have values of 1, and I found a page that back that up, saying fren is 2. So, if you really want 1 to be fern, here is where you make that change.
 				//if(blockdata == 1) name = "fern";
 				if(blockdata == 2) name = "fern";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 33:
-				block.type = S2CB.BLOCK_TYPES.get("piston");
+				block.type = ConversionEngine.BLOCK_TYPES.get("piston");
 				{
 					String prop = "facing="+getBlockDirection(blockdata);
 					prop += ",extended=" + (((blockdata & 0x8)>0)?"true":"false");
@@ -796,7 +788,7 @@ public class SchematicConverter {
 				break;
 			case 34: //piston_head
 			case 36: //moving_piston  piston-extension  - probably should never be in a schematic, but just in case...
-				block.type = S2CB.BLOCK_TYPES.get("piston_head");
+				block.type = ConversionEngine.BLOCK_TYPES.get("piston_head");
 				{
 					String prop = "facing="+getBlockDirection(blockdata);
 					prop += ",type=" + (((blockdata & 0x8)>0)?"sticky":"normal");
@@ -805,7 +797,7 @@ public class SchematicConverter {
 				break;
 			case 35:
 				name = getColorName(blockdata) + "_wool";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 38:
 				name = "poppy";
@@ -819,7 +811,7 @@ public class SchematicConverter {
 				case 7: name="pink_tulip"; break;
 				case 8: name="oxeye_daisy"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 43:
 				name = "stone_slab"; //TODO 1.14 need to update stone_slab to smooth_stone_slab
@@ -834,7 +826,7 @@ public class SchematicConverter {
 				case 8: name="smooth_stone"; break;
 				case 9: name="smooth_sandstone"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = "type=double";
 				if(blockdata==8||blockdata==9) block.properties="";
 				break;
@@ -849,11 +841,11 @@ public class SchematicConverter {
 				case 6: name="nether_brick_slab"; break;
 				case 7: name="quartz_slab"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = "type=" + (((blockdata & 0x8)>0)?"top":"bottom");
 				break;
 			case 45:
-				block.type = S2CB.BLOCK_TYPES.get("bricks");
+				block.type = ConversionEngine.BLOCK_TYPES.get("bricks");
 				break;
 			case 50:
 				name = "torch";
@@ -867,10 +859,10 @@ public class SchematicConverter {
 					}
 					block.properties = "facing="+prop;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 51:
-				block.type = S2CB.BLOCK_TYPES.get("fire");
+				block.type = ConversionEngine.BLOCK_TYPES.get("fire");
 				{
 					//not sure if this is necessary
 					block.compound = new CompoundTag();//fire
@@ -881,12 +873,12 @@ public class SchematicConverter {
 				}
 				break;
 			case 53:
-				block.type = S2CB.BLOCK_TYPES.get("oak_stairs");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_stairs");
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 54:
 			case 146:
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				{
 					String direction = getBlockDirection(blockdata,false);
 					String type = "single"; //need to check if it is a double chest
@@ -929,7 +921,7 @@ public class SchematicConverter {
 				}
 				break;
 			case 55:
-				block.type = S2CB.BLOCK_TYPES.get("redstone_wire");
+				block.type = ConversionEngine.BLOCK_TYPES.get("redstone_wire");
 				{
 					String prop = "";
 					boolean isdot = true;
@@ -990,35 +982,35 @@ public class SchematicConverter {
 				}
 				break;
 			case 59:
-				block.type = S2CB.BLOCK_TYPES.get("wheat");
+				block.type = ConversionEngine.BLOCK_TYPES.get("wheat");
 				block.properties = "age=" + blockdata;
 				break;
 			case 60:
-				block.type = S2CB.BLOCK_TYPES.get("farmland");
+				block.type = ConversionEngine.BLOCK_TYPES.get("farmland");
 				block.properties = "moisture=" + blockdata;
 				break;
 			case 61:
-				block.type = S2CB.BLOCK_TYPES.get("furnace");
+				block.type = ConversionEngine.BLOCK_TYPES.get("furnace");
 				block.properties = "lit=false,facing=" + getBlockDirection(blockdata,false);
 				break;
 			case 62:
-				block.type = S2CB.BLOCK_TYPES.get("furnace");
+				block.type = ConversionEngine.BLOCK_TYPES.get("furnace");
 				block.properties = "lit=true,facing=" + getBlockDirection(blockdata,false);
 				break;
 			case 63:
-				block.type = S2CB.BLOCK_TYPES.get("oak_sign");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_sign");
 				block.properties = "rotation=" + blockdata;
 				break;
 			case 64:
-				block.type = S2CB.BLOCK_TYPES.get("oak_door");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_door");
 				block.properties = getDoorProps(blockdata,x,y,z,bdata,w,h,l);
 				break;
 			case 65:
-				block.type = S2CB.BLOCK_TYPES.get("ladder");
+				block.type = ConversionEngine.BLOCK_TYPES.get("ladder");
 				block.properties = "facing=" + getBlockDirection(blockdata);
 				break;
 			case 66:
-				block.type = S2CB.BLOCK_TYPES.get("rail");
+				block.type = ConversionEngine.BLOCK_TYPES.get("rail");
 				{
 					String prop="north_south";
 					switch(blockdata) {
@@ -1036,15 +1028,15 @@ public class SchematicConverter {
 				}
 				break;
 			case 67:
-				block.type = S2CB.BLOCK_TYPES.get("cobblestone_stairs");
+				block.type = ConversionEngine.BLOCK_TYPES.get("cobblestone_stairs");
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 68:
-				block.type = S2CB.BLOCK_TYPES.get("oak_wall_sign");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_wall_sign");
 				block.properties = "facing=" + getBlockDirection(blockdata);
 				break;
 			case 69:
-				block.type = S2CB.BLOCK_TYPES.get("lever");
+				block.type = ConversionEngine.BLOCK_TYPES.get("lever");
 				{
 					boolean powered = (blockdata & 0x8) > 0;
 					String prop=",face=ceiling,facing=west";
@@ -1061,20 +1053,20 @@ public class SchematicConverter {
 				}
 				break;
 			case 70:
-				block.type = S2CB.BLOCK_TYPES.get("stone_pressure_plate");
+				block.type = ConversionEngine.BLOCK_TYPES.get("stone_pressure_plate");
 				block.properties = "powered=" + Boolean.toString(blockdata == 1);
 				break;
 			case 71:
-				block.type = S2CB.BLOCK_TYPES.get("iron_door");
+				block.type = ConversionEngine.BLOCK_TYPES.get("iron_door");
 				block.properties = getDoorProps(blockdata,x,y,z,bdata,w,h,l);
 				break;
 			case 72:
-				block.type = S2CB.BLOCK_TYPES.get("oak_pressure_plate");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_pressure_plate");
 				block.properties = "powered=" + Boolean.toString(blockdata == 1);
 				break;
 			case 73:
 			case 74:
-				block.type = S2CB.BLOCK_TYPES.get("redstone_ore");
+				block.type = ConversionEngine.BLOCK_TYPES.get("redstone_ore");
 				block.properties = "lit=" + Boolean.toString(blockId == 74);
 				break;
 			case 75:
@@ -1090,7 +1082,7 @@ public class SchematicConverter {
 					}
 					block.properties = "facing="+prop;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				if(block.properties!=null && block.properties.length() > 0) {
 					block.properties += ",lit=" + Boolean.toString(blockId == 76);
 				}else {
@@ -1098,7 +1090,7 @@ public class SchematicConverter {
 				}
 				break;
 			case 77:
-				block.type = S2CB.BLOCK_TYPES.get("stone_button");
+				block.type = ConversionEngine.BLOCK_TYPES.get("stone_button");
 				{
 					boolean powered = (blockdata & 0x8) > 0;
 					String prop=",face=ceiling,facing=east";
@@ -1113,31 +1105,31 @@ public class SchematicConverter {
 				}
 				break;
 			case 78:
-				block.type = S2CB.BLOCK_TYPES.get("snow");
+				block.type = ConversionEngine.BLOCK_TYPES.get("snow");
 				block.properties = "layers=" + (blockdata + 1);
 				break;
 			case 81:
-				block.type = S2CB.BLOCK_TYPES.get("cactus");
+				block.type = ConversionEngine.BLOCK_TYPES.get("cactus");
 				block.properties = "age=" + blockdata;
 				break;
 			case 83:
-				block.type = S2CB.BLOCK_TYPES.get("sugar_cane");
+				block.type = ConversionEngine.BLOCK_TYPES.get("sugar_cane");
 				block.properties = "age=" + blockdata;
 				break;
 			case 84:
-				block.type = S2CB.BLOCK_TYPES.get("jukebox");
+				block.type = ConversionEngine.BLOCK_TYPES.get("jukebox");
 				block.properties = "has_record=" +  Boolean.toString(blockdata == 1);
 				break;
 			case 85:
-				block.type = S2CB.BLOCK_TYPES.get("oak_fence");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_fence");
 				block.properties = getFenceProperties(blockdata,false,x,y,z,blocks,w,h,l);
 				break;
 			case 86:
 			case 91:
 				if(blockId==86) {
-					block.type = S2CB.BLOCK_TYPES.get("carved_pumpkin");
+					block.type = ConversionEngine.BLOCK_TYPES.get("carved_pumpkin");
 				}else{
-					block.type = S2CB.BLOCK_TYPES.get("jack_o_lantern");
+					block.type = ConversionEngine.BLOCK_TYPES.get("jack_o_lantern");
 				}
 				{
 					String prop="south";
@@ -1150,7 +1142,7 @@ public class SchematicConverter {
 				}
 				break;
 			case 90:
-				block.type = S2CB.BLOCK_TYPES.get("nether_portal");
+				block.type = ConversionEngine.BLOCK_TYPES.get("nether_portal");
 				if( getBlockAt(x, y, z+1, blocks, w, h, l) == 90 || getBlockAt(x, y, z-1, blocks, w, h, l) == 90) {
 					block.properties = "axis=z";
 				} else {
@@ -1158,12 +1150,12 @@ public class SchematicConverter {
 				}
 				break;
 			case 92: 
-				block.type = S2CB.BLOCK_TYPES.get("cake");
+				block.type = ConversionEngine.BLOCK_TYPES.get("cake");
 				block.properties = "bites=" + blockdata;
 				break;
 			case 93:
 			case 94:
-				block.type = S2CB.BLOCK_TYPES.get("repeater");
+				block.type = ConversionEngine.BLOCK_TYPES.get("repeater");
 				{
 					String facing = "south";
 					switch(blockdata & 0x3) {
@@ -1179,10 +1171,10 @@ public class SchematicConverter {
 				break;
 			case 95:
 				name = getColorName(blockdata) + "_stained_glass";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 96:
-				block.type = S2CB.BLOCK_TYPES.get("oak_trapdoor");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_trapdoor");
 				{
 					String facing = "north";
 					switch(blockdata & 0x3) {
@@ -1204,7 +1196,7 @@ public class SchematicConverter {
 				case 4: name = "infested_mossy_stone_bricks"; break;
 				case 5: name = "infested_chiseled_stone_bricks"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 98:
 				name = "stone_bricks";
@@ -1213,7 +1205,7 @@ public class SchematicConverter {
 				case 2: name = "mossy_stone_bricks"; break;
 				case 3: name = "chiseled_stone_bricks"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 99:
 			case 100:
@@ -1247,33 +1239,33 @@ public class SchematicConverter {
 							",east=" + Boolean.toString(e) +
 							",west=" + Boolean.toString(ww);
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 101:
-				block.type = S2CB.BLOCK_TYPES.get("iron_bars");
+				block.type = ConversionEngine.BLOCK_TYPES.get("iron_bars");
 				block.properties = getPaneBarProperties(blockdata, x, y, z, blocks, w, h, l);
 				break;
 			case 102:
-				block.type = S2CB.BLOCK_TYPES.get("glass_pane");
+				block.type = ConversionEngine.BLOCK_TYPES.get("glass_pane");
 				block.properties = getPaneBarProperties(blockdata, x, y, z, blocks, w, h, l);
 				break;
 			case 104:
-				block.type = S2CB.BLOCK_TYPES.get("pumpkin_stem");
+				block.type = ConversionEngine.BLOCK_TYPES.get("pumpkin_stem");
 				block.properties = "age=" + blockdata;
 				break;
 			case 105:
-				block.type = S2CB.BLOCK_TYPES.get("melon_stem");
+				block.type = ConversionEngine.BLOCK_TYPES.get("melon_stem");
 				block.properties = "age=" + blockdata;
 				break;
 			case 106:
-				block.type = S2CB.BLOCK_TYPES.get("vine");
+				block.type = ConversionEngine.BLOCK_TYPES.get("vine");
 				block.properties = "south=" + Boolean.toString((blockdata & 0x1)>0) +
 						",west=" + Boolean.toString((blockdata & 0x2)>0) +
 						",north=" + Boolean.toString((blockdata & 0x4)>0) +
 						",east=" + Boolean.toString((blockdata & 0x8)>0); //hopefully the game figures out "up" itself
 				break;
 			case 107:
-				block.type = S2CB.BLOCK_TYPES.get("oak_fence_gate");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_fence_gate");
 				{
 					String facing = "south";
 					switch(blockdata & 0x3) {
@@ -1287,29 +1279,29 @@ public class SchematicConverter {
 			case 108: //brick stairs
 			case 109: //stone brick stairs
 			case 114: //nether brick stairs
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 113:
-				block.type = S2CB.BLOCK_TYPES.get("nether_brick_fence");
+				block.type = ConversionEngine.BLOCK_TYPES.get("nether_brick_fence");
 				block.properties = getFenceProperties(blockdata,true,x,y,z,blocks,w,h,l);
 				break;
 			case 115:
-				block.type = S2CB.BLOCK_TYPES.get("nether_wart");
+				block.type = ConversionEngine.BLOCK_TYPES.get("nether_wart");
 				block.properties = "age=" + blockdata;
 				break;
 			case 117:
-				block.type = S2CB.BLOCK_TYPES.get("brewing_stand");
+				block.type = ConversionEngine.BLOCK_TYPES.get("brewing_stand");
 				block.properties = "has_bottle_0=" + Boolean.toString((blockdata & 0x1)>0) +
 						",has_bottle_1=" + Boolean.toString((blockdata & 0x2)>0) +
 						",has_bottle_2=" + Boolean.toString((blockdata & 0x4)>0);
 				break;
 			case 118:
-				block.type = S2CB.BLOCK_TYPES.get("cauldron");
+				block.type = ConversionEngine.BLOCK_TYPES.get("cauldron");
 				block.properties = "level=" + blockdata;
 				break;
 			case 120:
-				block.type = S2CB.BLOCK_TYPES.get("end_portal_frame");
+				block.type = ConversionEngine.BLOCK_TYPES.get("end_portal_frame");
 				{
 					String facing = "south";
 					switch(blockdata & 0x3) {
@@ -1322,21 +1314,21 @@ public class SchematicConverter {
 				break;
 			case 123:
 			case 124:
-				block.type = S2CB.BLOCK_TYPES.get("redstone_lamp");
+				block.type = ConversionEngine.BLOCK_TYPES.get("redstone_lamp");
 				block.properties = "lit=" + Boolean.toString(blockId == 124);
 				break;
 			case 125:
 				name = getWoodType(blockdata) + "_slab";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = "type=double";
 				break;
 			case 126:
 				name = getWoodType(blockdata & 0x7) + "_slab";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = "type=" + (((blockdata & 0x8)>0)?"top":"bottom");
 				break;
 			case 127:
-				block.type = S2CB.BLOCK_TYPES.get("cocoa");
+				block.type = ConversionEngine.BLOCK_TYPES.get("cocoa");
 				{
 					String facing = "north";
 					switch(blockdata & 0x3) {
@@ -1349,15 +1341,15 @@ public class SchematicConverter {
 				}
 				break;
 			case 128: //nether brick stairs
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 130:
-				block.type = S2CB.BLOCK_TYPES.get("ender_chest");
+				block.type = ConversionEngine.BLOCK_TYPES.get("ender_chest");
 				block.properties = "facing=" + getBlockDirection(blockdata);
 				break;
 			case 131:
-				block.type = S2CB.BLOCK_TYPES.get("tripwire_hook");
+				block.type = ConversionEngine.BLOCK_TYPES.get("tripwire_hook");
 				{
 					String facing = "south";
 					switch(blockdata & 0x3) {
@@ -1372,7 +1364,7 @@ public class SchematicConverter {
 				
 				break;
 			case 132:
-				block.type = S2CB.BLOCK_TYPES.get("tripwire");
+				block.type = ConversionEngine.BLOCK_TYPES.get("tripwire");
 				block.properties = "powered=" + Boolean.toString((blockdata & 0x1)>0) +
 						",attached=" + Boolean.toString((blockdata & 0x4)>0) +
 						",disarmed=" + Boolean.toString((blockdata & 0x8)>0);
@@ -1380,13 +1372,13 @@ public class SchematicConverter {
 			case 134:
 			case 135:
 			case 136: //3 wood stairs
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 137:
 			case 210:
 			case 211: // command blocks
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				block.properties = "facing=" + getBlockDirection(blockdata) + 
 						",conditional=" + Boolean.toString((blockdata & 0x8)>0);
 				break;
@@ -1395,7 +1387,7 @@ public class SchematicConverter {
 				if(blockdata == 1) {
 					name = "mossy_" + name;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = getWallProperties(blockdata, x, y, z, blocks, w, h, l);
 				break;
 			case 140:
@@ -1481,16 +1473,16 @@ cactus			cactus		0
 						System.out.println("bad tile entity at "+x+","+y+","+z);
 						e.printStackTrace();
 					}
-					block.type = S2CB.BLOCK_TYPES.get(name);
+					block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				}
 				break;
 			case 141: //carrots
 			case 142: //potato
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				block.properties = "age=" + blockdata;
 				break;
 			case 143:
-				block.type = S2CB.BLOCK_TYPES.get("oak_button");
+				block.type = ConversionEngine.BLOCK_TYPES.get("oak_button");
 				{
 					boolean powered = (blockdata & 0x8) > 0;
 					String prop=",face=ceiling,facing=east";
@@ -1567,7 +1559,7 @@ cactus			cactus		0
 						e.printStackTrace();
 					}
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 145:
 				name = "anvil";
@@ -1575,7 +1567,7 @@ cactus			cactus		0
 				case 1: name = "chipped_anvil";
 				case 2: name = "damaged_anvil";
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				{
 					String facing = "south";
 					switch(blockdata & 0x3) {
@@ -1588,12 +1580,12 @@ cactus			cactus		0
 				break;
 			case 147: //gold pressure plate
 			case 148: //iron pressure plate
-				block.type = S2CB.BLOCK_TYPES.get(materials[blockId]);
+				block.type = ConversionEngine.BLOCK_TYPES.get(materials[blockId]);
 				block.properties = "power=" + blockdata;
 				break;
 			case 149:
 			case 150:
-				block.type = S2CB.BLOCK_TYPES.get("comparator");
+				block.type = ConversionEngine.BLOCK_TYPES.get("comparator");
 				{
 					String facing = "south";
 					switch(blockdata & 0x3) {
@@ -1608,11 +1600,11 @@ cactus			cactus		0
 				break;
 			case 151:
 			case 178:
-				block.type = S2CB.BLOCK_TYPES.get("daylight_detector");
+				block.type = ConversionEngine.BLOCK_TYPES.get("daylight_detector");
 				block.properties = "power=" + blockdata + ",inverted=" + Boolean.toString(blockId==178);
 				break;
 			case 154:
-				block.type = S2CB.BLOCK_TYPES.get("hopper");
+				block.type = ConversionEngine.BLOCK_TYPES.get("hopper");
 				block.properties = "facing=" + getBlockDirection(blockdata) + ",enabled=" + Boolean.toString((blockdata & 0x8)>0);
 				break;
 			case 155:
@@ -1629,14 +1621,14 @@ cactus			cactus		0
 						block.properties = "axis=" + dir;
 					}
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 156:
-				block.type = S2CB.BLOCK_TYPES.get("quartz_stairs");
+				block.type = ConversionEngine.BLOCK_TYPES.get("quartz_stairs");
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 158:
-				block.type = S2CB.BLOCK_TYPES.get("dropper");
+				block.type = ConversionEngine.BLOCK_TYPES.get("dropper");
 				block.properties = "facing=" + getBlockDirection(blockdata) + ",triggered=" + Boolean.toString((blockdata & 0x8)>0);
 				break;
 			case 159:
@@ -1645,21 +1637,21 @@ cactus			cactus		0
 				if(blockId == 159) {
 					name = getColorName(blockdata) + "_terracotta";
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 160:
 				name = getColorName(blockdata) + "_stained_glass_pane";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = getPaneBarProperties(blockdata, x, y, z, blocks, w, h, l);
 				break;
 			case 161:
 				name = getWoodType((blockdata & 0x3) + 4)+"_leaves";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = ((blockdata & 4) > 0)?"persistent=true":"persistent=false";
 				break;
 			case 162:
 				name = getWoodType((blockdata & 0x3) + 4)+"_log";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				{
 					String axis = "";
 					switch(blockdata >> 2) {
@@ -1673,14 +1665,14 @@ cactus			cactus		0
 				break;
 			case 163:
 			case 164:
-				block.type = S2CB.BLOCK_TYPES.get(getWoodType(blockId-159) + "_stairs");
+				block.type = ConversionEngine.BLOCK_TYPES.get(getWoodType(blockId-159) + "_stairs");
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 165:
-				block.type = S2CB.BLOCK_TYPES.get("slime_block");
+				block.type = ConversionEngine.BLOCK_TYPES.get("slime_block");
 				break;
 			case 167: 
-				block.type = S2CB.BLOCK_TYPES.get("iron_trapdoor");
+				block.type = ConversionEngine.BLOCK_TYPES.get("iron_trapdoor");
 				{
 					String facing = "north";
 					switch(blockdata & 0x3) {
@@ -1699,10 +1691,10 @@ cactus			cactus		0
 				case 1: name = "prismarine_bricks"; break;
 				case 2: name = "dark_prismarine"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 170:
-				block.type = S2CB.BLOCK_TYPES.get("hay_block");
+				block.type = ConversionEngine.BLOCK_TYPES.get("hay_block");
 				{
 					String axis = "";
 					switch(blockdata/4) {
@@ -1715,7 +1707,7 @@ cactus			cactus		0
 				break;
 			case 171:
 				name = getColorName(blockdata) + "_carpet";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 175:
 				name = "sunflower";
@@ -1730,7 +1722,7 @@ cactus			cactus		0
 				case 4: name = "rose_bush"; break;
 				case 5: name = "peony"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = "half=" + (tophalf?"upper":"lower");
 				break;
 			case 176: 
@@ -1750,7 +1742,7 @@ cactus			cactus		0
 						color = 15 - color;
 					}
 					
-					block.type = S2CB.BLOCK_TYPES.get(getColorName(color) + "_banner"); //why mess with colors?
+					block.type = ConversionEngine.BLOCK_TYPES.get(getColorName(color) + "_banner"); //why mess with colors?
 					block.properties = "rotation=" + blockdata;
 					
 					if(info!=null && info.containsKey("Patterns") && info.getListTag("Patterns").size() > 0) {
@@ -1798,7 +1790,7 @@ cactus			cactus		0
 						color = 15 - color;
 					}
 					
-					block.type = S2CB.BLOCK_TYPES.get(getColorName(color) + "_wall_banner");
+					block.type = ConversionEngine.BLOCK_TYPES.get(getColorName(color) + "_wall_banner");
 					block.properties = "facing=" + getBlockDirection(blockdata);
 					
 					if(info!=null && info.containsKey("Patterns") && info.getListTag("Patterns").size() > 0) {
@@ -1836,10 +1828,10 @@ cactus			cactus		0
 				case 2: name = "cut_"; break;
 				}
 				name += "red_sandstone";
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 180:
-				block.type = S2CB.BLOCK_TYPES.get("red_sandstone_stairs");
+				block.type = ConversionEngine.BLOCK_TYPES.get("red_sandstone_stairs");
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 181:
@@ -1851,7 +1843,7 @@ cactus			cactus		0
 				case 4: name="dark_prismarine_slab"; break;
 				case 8: name="smooth_red_sandstone"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = "type=double";
 				if(blockdata==8) block.properties="";
 				break;
@@ -1863,7 +1855,7 @@ cactus			cactus		0
 				case 3: name="prismarine_brick_slab"; break;
 				case 4: name="dark_prismarine_slab"; break;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				block.properties = "type=" + (((blockdata & 0x8)>0)?"top":"bottom");
 				break;
 			case 183:
@@ -1871,7 +1863,7 @@ cactus			cactus		0
 			case 185:
 			case 186:
 			case 187:
-				block.type = S2CB.BLOCK_TYPES.get(getWoodType(blockId - 182,true) + "_fence_gate");
+				block.type = ConversionEngine.BLOCK_TYPES.get(getWoodType(blockId - 182,true) + "_fence_gate");
 				{
 					String facing = "south";
 					switch(blockdata & 0x3) {
@@ -1887,7 +1879,7 @@ cactus			cactus		0
 			case 190:
 			case 191:
 			case 192:
-				block.type = S2CB.BLOCK_TYPES.get(getWoodType(blockId - 187,true) + "_fence");
+				block.type = ConversionEngine.BLOCK_TYPES.get(getWoodType(blockId - 187,true) + "_fence");
 				block.properties = getFenceProperties(blockdata,false,x,y,z,blocks,w,h,l);
 				break;
 			case 193:
@@ -1895,19 +1887,19 @@ cactus			cactus		0
 			case 195:
 			case 196:
 			case 197:
-				block.type = S2CB.BLOCK_TYPES.get(getWoodType(blockId - 192) + "_door");
+				block.type = ConversionEngine.BLOCK_TYPES.get(getWoodType(blockId - 192) + "_door");
 				block.properties = getDoorProps(blockdata,x,y,z,bdata,w,h,l);
 				break;
 			case 198:
-				block.type = S2CB.BLOCK_TYPES.get("end_rod");
+				block.type = ConversionEngine.BLOCK_TYPES.get("end_rod");
 				block.properties = "facing=" + getBlockDirection(blockdata);
 				break;
 			case 199:
-				block.type = S2CB.BLOCK_TYPES.get("chorus_plant");
+				block.type = ConversionEngine.BLOCK_TYPES.get("chorus_plant");
 				block.properties = getChorusProperties(blockdata, x, y, z, blocks, w, h, l);
 				break;
 			case 200:
-				block.type = S2CB.BLOCK_TYPES.get("chorus_flower");
+				block.type = ConversionEngine.BLOCK_TYPES.get("chorus_flower");
 				block.properties = "age=" + blockdata;
 				break;
 			case 202:
@@ -1921,22 +1913,22 @@ cactus			cactus		0
 					}
 					block.properties = axis;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 203:
-				block.type = S2CB.BLOCK_TYPES.get("purpur_stairs");
+				block.type = ConversionEngine.BLOCK_TYPES.get("purpur_stairs");
 				block.properties = getStairProps(blockdata, x, y, z, blocks, w, h, l, bdata);
 				break;
 			case 204:
-				block.type = S2CB.BLOCK_TYPES.get("purpur_slab");
+				block.type = ConversionEngine.BLOCK_TYPES.get("purpur_slab");
 				block.properties = "type=double";
 				break;
 			case 205:
-				block.type = S2CB.BLOCK_TYPES.get("purpur_slab");
+				block.type = ConversionEngine.BLOCK_TYPES.get("purpur_slab");
 				block.properties = "type=" + (((blockdata)>0)?"top":"bottom");
 				break;
 			case 207:
-				block.type = S2CB.BLOCK_TYPES.get("beetroots");
+				block.type = ConversionEngine.BLOCK_TYPES.get("beetroots");
 				block.properties = "age=" + blockdata;
 				break;
 			case 216:
@@ -1950,10 +1942,10 @@ cactus			cactus		0
 					}
 					block.properties = axis;
 				}
-				block.type = S2CB.BLOCK_TYPES.get(name);
+				block.type = ConversionEngine.BLOCK_TYPES.get(name);
 				break;
 			case 218:
-				block.type = S2CB.BLOCK_TYPES.get("observer");
+				block.type = ConversionEngine.BLOCK_TYPES.get("observer");
 				block.properties = "facing=" + getBlockDirection(blockdata) + 
 						",powered=" + Boolean.toString((blockdata & 0x8)>0);
 				break;
@@ -1973,7 +1965,7 @@ cactus			cactus		0
 			case 232:
 			case 233:
 			case 234:
-				block.type = S2CB.BLOCK_TYPES.get(getColorName(blockId - 219) + "_shulker_box");
+				block.type = ConversionEngine.BLOCK_TYPES.get(getColorName(blockId - 219) + "_shulker_box");
 				block.properties = "facing=" + getBlockDirection(blockdata);
 				break;
 			case 235:
@@ -1992,7 +1984,7 @@ cactus			cactus		0
 			case 248:
 			case 249:
 			case 250:
-				block.type = S2CB.BLOCK_TYPES.get(getColorName(blockId - 235) + "_glazed_terracotta");
+				block.type = ConversionEngine.BLOCK_TYPES.get(getColorName(blockId - 235) + "_glazed_terracotta");
 				{
 					String facing = "south";
 					switch(blockdata & 0x3) {
@@ -2004,13 +1996,13 @@ cactus			cactus		0
 				}
 				break;
 			case 251:
-				block.type = S2CB.BLOCK_TYPES.get(getColorName(blockdata) + "_concrete");
+				block.type = ConversionEngine.BLOCK_TYPES.get(getColorName(blockdata) + "_concrete");
 				break;
 			case 252:
-				block.type = S2CB.BLOCK_TYPES.get(getColorName(blockdata) + "_concrete_powder");
+				block.type = ConversionEngine.BLOCK_TYPES.get(getColorName(blockdata) + "_concrete_powder");
 				break;
 			case 255:
-				block.type = S2CB.BLOCK_TYPES.get("structure_block");
+				block.type = ConversionEngine.BLOCK_TYPES.get("structure_block");
 				{
 					String mode = "data";
 					switch(blockdata & 0x3) {
@@ -2034,14 +2026,14 @@ cactus			cactus		0
 			block.properties = "";
 		}
 		
-		if(S2CB.intern) {
+		if(ConversionEngine.intern) {
 			block.properties = block.properties.intern();
 		}
 		
 		if(block.type == null) {
 			//shouldn't happen
 			System.out.println("Unknown Block Id: "+blockId);
-			block.type = S2CB.BLOCK_TYPES.get("air");
+			block.type = ConversionEngine.BLOCK_TYPES.get("air");
 		}
 		
 		
@@ -2537,8 +2529,8 @@ cactus			cactus		0
 			name = name.substring(10);
 		}
 		
-		if(S2CB.entityNameMap.keySet().contains(name) && itemid != null) {
-			name = S2CB.entityNameMap.get(name);
+		if(ConversionEngine.entityNameMap.keySet().contains(name) && itemid != null) {
+			name = ConversionEngine.entityNameMap.get(name);
 			itemid.setValue(name);
 			//ent.remove("id");
 			//ent.put("id", new StringTag(name)); //not sure if this is necessary, but I had issues with banner base colors when re-using tags
@@ -2676,8 +2668,8 @@ cactus			cactus		0
 			} else if(it instanceof StringTag) {
 				StringTag itm = (StringTag)it;
 				String itemstr = itm.getValue();
-				if(S2CB.entityNameMap.keySet().contains(itemstr)) {
-					itm.setValue(S2CB.entityNameMap.get(itemstr));
+				if(ConversionEngine.entityNameMap.keySet().contains(itemstr)) {
+					itm.setValue(ConversionEngine.entityNameMap.get(itemstr));
 				}
 			}
 			
@@ -2694,8 +2686,8 @@ cactus			cactus		0
 			} else if(it instanceof StringTag) {
 				StringTag itm = (StringTag)it;
 				String itemstr = itm.getValue();
-				if(S2CB.entityNameMap.keySet().contains(itemstr)) {
-					itm.setValue(S2CB.entityNameMap.get(itemstr));
+				if(ConversionEngine.entityNameMap.keySet().contains(itemstr)) {
+					itm.setValue(ConversionEngine.entityNameMap.get(itemstr));
 				}
 			}
 			
@@ -2783,8 +2775,8 @@ cactus			cactus		0
 					if(entname.startsWith("minecraft:")) {
 						entname = entname.substring(10);
 					}
-					if(S2CB.entityNameMap.keySet().contains(entname)) {
-						entname = S2CB.entityNameMap.get(entname);
+					if(ConversionEngine.entityNameMap.keySet().contains(entname)) {
+						entname = ConversionEngine.entityNameMap.get(entname);
 					}
 					StringTag itmid = ent.getStringTag("id");
 					if(itmid==null) {
@@ -0,0 +1,661 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+import fi.dy.masa.litematica.schematic.container.LitematicaBitArray;
+import net.querz.nbt.io.NBTOutputStream;
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.DoubleTag;
+import net.querz.nbt.tag.IntTag;
+import net.querz.nbt.tag.ListTag;
+import net.querz.nbt.tag.Tag;
+
+/**
+ * Makes made up schematics of any size, for benchmarking and testing conversions of big builds.
+ *
+ * Run as: S2CB generate &lt;output file&gt; &lt;width&gt; &lt;height&gt; &lt;length&gt; [-palette n] [-air ratio] [-cluster n] [-repeat n] [-rails n] [-blockentities ratio] [-entities n] [-seed n]
+ *
+ * The format is picked from the file extension: .schematic (MCEdit / old WorldEdit), .nbt (structure), .litematic or .schem (Sponge / new WorldEdit).
+ * The same settings and seed make the same build in every format.
+ *
+ *  -palette n			the number of different solid blocks used (up to the number of blocks in BLOCKS)
+ *  -air ratio			the part of the build that is air, 0 to 1
+ *  -cluster n			blocks are picked for n x n x n cubes, so there are areas for fills. 1 picks every block separately.
+ *  -repeat n			the build is made of n x n copies of the same part side by side, for finding clones
+ *  -rails n			the number of rectangular loops of rail (on a block of the first palette block)
+ *  -blockentities ratio	the part of the build that is chests with an item in them
+ *  -entities n			the number of pigs
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class SchematicGenerator {
+
+	//block name, properties (as used in block states), and the pre 1.13 id and data
+	private static final Object[][] BLOCKS = {
+		{"stone", "", 1, 0}, {"granite", "", 1, 1}, {"polished_granite", "", 1, 2}, {"diorite", "", 1, 3}, {"polished_diorite", "", 1, 4},
+		{"andesite", "", 1, 5}, {"polished_andesite", "", 1, 6}, {"dirt", "", 3, 0}, {"cobblestone", "", 4, 0},
+		{"oak_planks", "", 5, 0}, {"spruce_planks", "", 5, 1}, {"birch_planks", "", 5, 2}, {"jungle_planks", "", 5, 3}, {"acacia_planks", "", 5, 4}, {"dark_oak_planks", "", 5, 5},
+		{"gold_ore", "", 14, 0}, {"iron_ore", "", 15, 0}, {"coal_ore", "", 16, 0}, {"sponge", "", 19, 0}, {"glass", "", 20, 0},
+		{"lapis_ore", "", 21, 0}, {"lapis_block", "", 22, 0}, {"sandstone", "", 24, 0}, {"gold_block", "", 41, 0}, {"iron_block", "", 42, 0},
+		{"bricks", "", 45, 0}, {"bookshelf", "", 47, 0}, {"mossy_cobblestone", "", 48, 0}, {"obsidian", "", 49, 0}, {"diamond_ore", "", 56, 0},
+		{"diamond_block", "", 57, 0}, {"crafting_table", "", 58, 0}, {"snow_block", "", 80, 0}, {"clay", "", 82, 0}, {"netherrack", "", 87, 0},
+		{"glowstone", "", 89, 0}, {"stone_bricks", "", 98, 0}, {"mossy_stone_bricks", "", 98, 1}, {"cracked_stone_bricks", "", 98, 2}, {"chiseled_stone_bricks", "", 98, 3},
+		{"nether_bricks", "", 112, 0}, {"end_stone", "", 121, 0}, {"emerald_ore", "", 129, 0}, {"emerald_block", "", 133, 0}, {"redstone_block", "", 152, 0},
+		{"quartz_block", "", 155, 0}, {"prismarine", "", 168, 0}, {"prismarine_bricks", "", 168, 1}, {"dark_prismarine", "", 168, 2}, {"sea_lantern", "", 169, 0},
+		{"terracotta", "", 172, 0}, {"coal_block", "", 173, 0},
+		{"white_wool", "", 35, 0}, {"orange_wool", "", 35, 1}, {"magenta_wool", "", 35, 2}, {"light_blue_wool", "", 35, 3}, {"yellow_wool", "", 35, 4},
+		{"lime_wool", "", 35, 5}, {"pink_wool", "", 35, 6}, {"gray_wool", "", 35, 7}, {"light_gray_wool", "", 35, 8}, {"cyan_wool", "", 35, 9},
+		{"purple_wool", "", 35, 10}, {"blue_wool", "", 35, 11}, {"brown_wool", "", 35, 12}, {"green_wool", "", 35, 13}, {"red_wool", "", 35, 14}, {"black_wool", "", 35, 15},
+		{"white_terracotta", "", 159, 0}, {"orange_terracotta", "", 159, 1}, {"magenta_terracotta", "", 159, 2}, {"light_blue_terracotta", "", 159, 3}, {"yellow_terracotta", "", 159, 4},
+		{"lime_terracotta", "", 159, 5}, {"pink_terracotta", "", 159, 6}, {"gray_terracotta", "", 159, 7}, {"light_gray_terracotta", "", 159, 8}, {"cyan_terracotta", "", 159, 9},
+		{"purple_terracotta", "", 159, 10}, {"blue_terracotta", "", 159, 11}, {"brown_terracotta", "", 159, 12}, {"green_terracotta", "", 159, 13}, {"red_terracotta", "", 159, 14}, {"black_terracotta", "", 159, 15},
+	};
+
+	private static final Object[] AIR = {"air", "", 0, 0};
+	private static final Object[] CHEST = {"chest", "facing=north,type=single,waterlogged=false", 54, 2};
+	//rail shapes, in the order of the RAIL_ constants
+	private static final Object[][] RAILS = {
+		{"rail", "shape=north_south,waterlogged=false", 66, 0}, {"rail", "shape=east_west,waterlogged=false", 66, 1},
+		{"rail", "shape=south_east,waterlogged=false", 66, 6}, {"rail", "shape=south_west,waterlogged=false", 66, 7},
+		{"rail", "shape=north_west,waterlogged=false", 66, 8}, {"rail", "shape=north_east,waterlogged=false", 66, 9},
+	};
+	private static final int RAIL_NS = 0, RAIL_EW = 1, RAIL_SE = 2, RAIL_SW = 3, RAIL_NW = 4, RAIL_NE = 5;
+
+	private static final String[] CHEST_ITEMS = {"minecraft:stone", "minecraft:oak_planks", "minecraft:torch", "minecraft:iron_ingot", "minecraft:bread"};
+
+	private static final int DATA_VERSION = 2860; //1.18
+
+	private final int w, h, l;
+	private int paletteSize = 8;
+	private double air = 0.5;
+	private int cluster = 4;
+	private int repeat = 1;
+	private int rails = 0;
+	private double blockEntities = 0;
+	private int entities = 0;
+	private long seed = 1;
+
+	//the block at each location, index = y*w*l + z*w + x. values index kinds
+	private int[] cells;
+	//the kinds of block - air, the palette blocks, chest, then the rail shapes
+	private List<Object[]> kinds;
+	private int chestKind, railKind;
+	//the item in each chest, by cell index
+	private Map<Integer, CompoundTag> chests;
+	//x,y,z of each entity
+	private List<double[]> entityPos;
+
+
+	public SchematicGenerator(int width, int height, int length) {
+		if(width < 1 || height < 1 || length < 1) {
+			throw new IllegalArgumentException("Size must be at least 1x1x1");
+		}
+		this.w = width;
+		this.h = height;
+		this.l = length;
+	}
+
+	public SchematicGenerator paletteSize(int paletteSize) {
+		this.paletteSize = Math.max(1, Math.min(BLOCKS.length, paletteSize));
+		return this;
+	}
+
+	public SchematicGenerator air(double air) {
+		this.air = Math.max(0, Math.min(1, air));
+		return this;
+	}
+
+	public SchematicGenerator cluster(int cluster) {
+		this.cluster = Math.max(1, cluster);
+		return this;
+	}
+
+	public SchematicGenerator repeat(int repeat) {
+		this.repeat = Math.max(1, repeat);
+		return this;
+	}
+
+	public SchematicGenerator rails(int rails) {
+		this.rails = Math.max(0, rails);
+		return this;
+	}
+
+	public SchematicGenerator blockEntities(double blockEntities) {
+		this.blockEntities = Math.max(0, Math.min(1, blockEntities));
+		return this;
+	}
+
+	public SchematicGenerator entities(int entities) {
+		this.entities = Math.max(0, entities);
+		return this;
+	}
+
+	public SchematicGenerator seed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * Runs the generator from the command line arguments (args[0] is "generate")
+	 * @param args	the command line arguments
+	 * @return		the exit code - 0 if written, 1 if the file couldn't be written, 2 for bad arguments
+	 */
+	public static int run(String[] args) {
+		if(args.length < 5) {
+			return usage(null);
+		}
+		File file = new File(args[1]);
+		SchematicGenerator gen;
+		try {
+			gen = new SchematicGenerator(Integer.parseInt(args[2]), Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+			for(int i=5; i<args.length; i++) {
+				if(args[i].equals("-palette")) {
+					gen.paletteSize(Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-air")) {
+					gen.air(Double.parseDouble(args[++i]));
+				}else if(args[i].equals("-cluster")) {
+					gen.cluster(Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-repeat")) {
+					gen.repeat(Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-rails")) {
+					gen.rails(Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-blockentities")) {
+					gen.blockEntities(Double.parseDouble(args[++i]));
+				}else if(args[i].equals("-entities")) {
+					gen.entities(Integer.parseInt(args[++i]));
+				}else if(args[i].equals("-seed")) {
+					gen.seed(Long.parseLong(args[++i]));
+				}else {
+					return usage("Unexpected argument: "+args[i]);
+				}
+			}
+		}catch(NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			return usage("Bad number: "+e.getLocalizedMessage());
+		}catch(IllegalArgumentException e) {
+			return usage(e.getLocalizedMessage());
+		}
+
+		try {
+			gen.write(file);
+		}catch(IOException | IllegalArgumentException e) {
+			System.err.println("Couldn't write "+file+": "+e.getLocalizedMessage());
+			return 1;
+		}
+		System.out.println("Wrote "+file+" ("+file.length()+" bytes)");
+		return 0;
+	}
+
+	private static int usage(String error) {
+		if(error != null) {
+			System.err.println(error);
+		}
+		System.err.println("Usage: S2CB generate <output file> <width> <height> <length> [-palette n] [-air ratio] [-cluster n] [-repeat n] [-rails n] [-blockentities ratio] [-entities n] [-seed n]");
+		return 2;
+	}
+
+	/**
+	 * Makes the build and writes it, in the format for the file's extension
+	 * @param file	the file to write
+	 * @throws IOException if the file couldn't be written
+	 * @throws IllegalArgumentException if the extension isn't a schematic format, or the build is too big for the format
+	 */
+	public void write(File file) throws IOException {
+		String name = file.getName().toLowerCase();
+		CompoundTag root;
+		String rootName = "";
+		generate();
+		if(name.endsWith(".schematic")) {
+			root = toSchematic();
+			rootName = "Schematic";
+		}else if(name.endsWith(".nbt")) {
+			root = toStructure();
+		}else if(name.endsWith(".litematic")) {
+			root = toLitematic(name.substring(0, name.length() - 10));
+		}else if(name.endsWith(".schem")) {
+			root = toSponge();
+			rootName = "Schematic";
+		}else {
+			throw new IllegalArgumentException("Unknown schematic extension: "+file.getName());
+		}
+
+		try (NBTOutputStream out = new NBTOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))){
+			out.writeTag(new NamedTag(rootName, root), Tag.DEFAULT_MAX_DEPTH);
+		}
+	}
+
+	/**
+	 * Fills in cells, chests and entityPos from the settings
+	 */
+	private void generate() {
+		Random rnd = new Random(seed);
+
+		kinds = new ArrayList<Object[]>();
+		kinds.add(AIR);
+		for(int i=0; i<paletteSize; i++) {
+			kinds.add(BLOCKS[i]);
+		}
+		chestKind = kinds.size();
+		kinds.add(CHEST);
+		railKind = kinds.size();
+		kinds.addAll(Arrays.asList(RAILS));
+
+		//one part, copied repeat x repeat times
+		int pw = (w + repeat - 1) / repeat;
+		int pl = (l + repeat - 1) / repeat;
+		int cw = (pw + cluster - 1) / cluster;
+		int ch = (h + cluster - 1) / cluster;
+		int cl = (pl + cluster - 1) / cluster;
+		int[] clusters = new int[cw * ch * cl];
+		for(int i=0; i<clusters.length; i++) {
+			clusters[i] = (rnd.nextDouble() < air) ? 0 : 1 + rnd.nextInt(paletteSize);
+		}
+		int[] part = new int[pw * h * pl];
+		Map<Integer, CompoundTag> partChests = new HashMap<Integer, CompoundTag>();
+		for(int y=0; y<h; y++) {
+			for(int z=0; z<pl; z++) {
+				for(int x=0; x<pw; x++) {
+					int i = (y * pl + z) * pw + x;
+					if(blockEntities > 0 && rnd.nextDouble() < blockEntities) {
+						part[i] = chestKind;
+						partChests.put(i, chestItem(rnd));
+					}else {
+						part[i] = clusters[((y / cluster) * cl + (z / cluster)) * cw + (x / cluster)];
+					}
+				}
+			}
+		}
+
+		cells = new int[w * h * l];
+		chests = new HashMap<Integer, CompoundTag>();
+		for(int y=0; y<h; y++) {
+			for(int z=0; z<l; z++) {
+				for(int x=0; x<w; x++) {
+					int p = (y * pl + (z % pl)) * pw + (x % pw);
+					int i = index(x, y, z);
+					cells[i] = part[p];
+					if(part[p] == chestKind) {
+						chests.put(i, partChests.get(p).clone());
+					}
+				}
+			}
+		}
+
+		//rail loops go on top of a solid block, after the copies so they aren't cut up
+		if(w >= 3 && l >= 3 && h >= 2) {
+			for(int r=0; r<rails; r++) {
+				int y = 1 + rnd.nextInt(h - 1);
+				int x1 = rnd.nextInt(w - 2);
+				int z1 = rnd.nextInt(l - 2);
+				int x2 = x1 + 2 + rnd.nextInt(w - x1 - 2);
+				int z2 = z1 + 2 + rnd.nextInt(l - z1 - 2);
+				for(int x=x1+1; x<x2; x++) {
+					setRail(x, y, z1, RAIL_EW);
+					setRail(x, y, z2, RAIL_EW);
+				}
+				for(int z=z1+1; z<z2; z++) {
+					setRail(x1, y, z, RAIL_NS);
+					setRail(x2, y, z, RAIL_NS);
+				}
+				setRail(x1, y, z1, RAIL_SE);
+				setRail(x2, y, z1, RAIL_SW);
+				setRail(x1, y, z2, RAIL_NE);
+				setRail(x2, y, z2, RAIL_NW);
+			}
+		}
+
+		entityPos = new ArrayList<double[]>();
+		for(int i=0; i<entities; i++) {
+			entityPos.add(new double[] {rnd.nextInt(w) + 0.5, rnd.nextInt(h), rnd.nextInt(l) + 0.5});
+		}
+	}
+
+	private void setRail(int x, int y, int z, int shape) {
+		int i = index(x, y, z);
+		cells[i] = railKind + shape;
+		chests.remove(i);
+		int below = index(x, y - 1, z);
+		cells[below] = 1;
+		chests.remove(below);
+	}
+
+	private int index(int x, int y, int z) {
+		return (y * l + z) * w + x;
+	}
+
+	private CompoundTag chestItem(Random rnd) {
+		CompoundTag item = new CompoundTag();
+		item.putByte("Slot", (byte)rnd.nextInt(27));
+		item.putString("id", CHEST_ITEMS[rnd.nextInt(CHEST_ITEMS.length)]);
+		item.putByte("Count", (byte)(1 + rnd.nextInt(64)));
+		return item;
+	}
+
+	private ListTag<CompoundTag> items(int cell) {
+		ListTag<CompoundTag> items = new ListTag<CompoundTag>(CompoundTag.class);
+		items.add(chests.get(cell).clone());
+		return items;
+	}
+
+	private static ListTag<DoubleTag> doubles(double... values) {
+		ListTag<DoubleTag> list = new ListTag<DoubleTag>(DoubleTag.class);
+		for(double v : values) {
+			list.addDouble(v);
+		}
+		return list;
+	}
+
+	private static ListTag<IntTag> ints(int... values) {
+		ListTag<IntTag> list = new ListTag<IntTag>(IntTag.class);
+		for(int v : values) {
+			list.addInt(v);
+		}
+		return list;
+	}
+
+	private static CompoundTag properties(String props) {
+		CompoundTag p = new CompoundTag();
+		for(String prop : props.split(",")) {
+			int eq = prop.indexOf('=');
+			p.putString(prop.substring(0, eq), prop.substring(eq + 1));
+		}
+		return p;
+	}
+
+	/**
+	 * @return	the kinds used in cells, in the order they are first used, with air first if used
+	 */
+	private int[] usedKinds() {
+		boolean[] used = new boolean[kinds.size()];
+		for(int c : cells) {
+			used[c] = true;
+		}
+		int count = 0;
+		for(boolean u : used) {
+			if(u) {
+				count++;
+			}
+		}
+		int[] result = new int[count];
+		int n = 0;
+		for(int k=0; k<used.length; k++) {
+			if(used[k]) {
+				result[n++] = k;
+			}
+		}
+		return result;
+	}
+
+	private CompoundTag toSchematic() {
+		if(w > Short.MAX_VALUE || h > Short.MAX_VALUE || l > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Too big for a .schematic");
+		}
+		byte[] blocks = new byte[cells.length];
+		byte[] data = new byte[cells.length];
+		for(int i=0; i<cells.length; i++) {
+			Object[] kind = kinds.get(cells[i]);
+			blocks[i] = (byte)(int)(Integer)kind[2];
+			data[i] = (byte)(int)(Integer)kind[3];
+		}
+
+		ListTag<CompoundTag> tileEntities = new ListTag<CompoundTag>(CompoundTag.class);
+		for(Map.Entry<Integer, CompoundTag> e : new TreeMap<Integer, CompoundTag>(chests).entrySet()) {
+			int i = e.getKey();
+			CompoundTag te = new CompoundTag();
+			te.putString("id", "Chest");
+			te.putInt("x", i % w);
+			te.putInt("y", i / (w * l));
+			te.putInt("z", (i / w) % l);
+			te.put("Items", items(i));
+			tileEntities.add(te);
+		}
+
+		ListTag<CompoundTag> ents = new ListTag<CompoundTag>(CompoundTag.class);
+		for(double[] p : entityPos) {
+			CompoundTag e = new CompoundTag();
+			e.putString("id", "Pig");
+			e.put("Pos", doubles(p));
+			ents.add(e);
+		}
+
+		CompoundTag root = new CompoundTag();
+		root.putShort("Width", (short)w);
+		root.putShort("Height", (short)h);
+		root.putShort("Length", (short)l);
+		root.putString("Materials", "Alpha");
+		root.putByteArray("Blocks", blocks);
+		root.putByteArray("Data", data);
+		root.put("TileEntities", tileEntities);
+		root.put("Entities", ents);
+		return root;
+	}
+
+	private CompoundTag toStructure() {
+		int[] used = usedKinds();
+		int[] state = new int[kinds.size()];
+		ListTag<CompoundTag> palette = new ListTag<CompoundTag>(CompoundTag.class);
+		for(int k : used) {
+			Object[] kind = kinds.get(k);
+			CompoundTag p = new CompoundTag();
+			p.putString("Name", "minecraft:" + kind[0]);
+			if(((String)kind[1]).length() > 0) {
+				p.put("Properties", properties((String)kind[1]));
+			}
+			state[k] = palette.size();
+			palette.add(p);
+		}
+
+		ListTag<CompoundTag> blocks = new ListTag<CompoundTag>(CompoundTag.class);
+		for(int y=0; y<h; y++) {
+			for(int z=0; z<l; z++) {
+				for(int x=0; x<w; x++) {
+					int i = index(x, y, z);
+					CompoundTag b = new CompoundTag();
+					b.put("pos", ints(x, y, z));
+					b.putInt("state", state[cells[i]]);
+					if(cells[i] == chestKind) {
+						CompoundTag nbt = new CompoundTag();
+						nbt.putString("id", "minecraft:chest");
+						nbt.put("Items", items(i));
+						b.put("nbt", nbt);
+					}
+					blocks.add(b);
+				}
+			}
+		}
+
+		ListTag<CompoundTag> ents = new ListTag<CompoundTag>(CompoundTag.class);
+		for(double[] p : entityPos) {
+			CompoundTag nbt = new CompoundTag();
+			nbt.putString("id", "minecraft:pig");
+			nbt.put("Pos", doubles(p));
+			CompoundTag e = new CompoundTag();
+			e.put("pos", doubles(p));
+			e.put("blockPos", ints((int)p[0], (int)p[1], (int)p[2]));
+			e.put("nbt", nbt);
+			ents.add(e);
+		}
+
+		CompoundTag root = new CompoundTag();
+		root.putInt("DataVersion", DATA_VERSION);
+		root.put("size", ints(w, h, l));
+		root.put("palette", palette);
+		root.put("blocks", blocks);
+		root.put("entities", ents);
+		return root;
+	}
+
+	private CompoundTag toLitematic(String name) {
+		//air is always the first palette entry in litematica files
+		int[] used = usedKinds();
+		int[] state = new int[kinds.size()];
+		ListTag<CompoundTag> palette = new ListTag<CompoundTag>(CompoundTag.class);
+		if(used[0] != 0) {
+			CompoundTag p = new CompoundTag();
+			p.putString("Name", "minecraft:air");
+			palette.add(p);
+		}
+		for(int k : used) {
+			Object[] kind = kinds.get(k);
+			CompoundTag p = new CompoundTag();
+			p.putString("Name", "minecraft:" + kind[0]);
+			if(((String)kind[1]).length() > 0) {
+				p.put("Properties", properties((String)kind[1]));
+			}
+			state[k] = palette.size();
+			palette.add(p);
+		}
+
+		int bits = Math.max(2, Integer.SIZE - Integer.numberOfLeadingZeros(palette.size() - 1));
+		LitematicaBitArray storage = new LitematicaBitArray(bits, cells.length);
+		for(int i=0; i<cells.length; i++) {
+			storage.setAt(i, state[cells[i]]);
+		}
+
+		ListTag<CompoundTag> tileEntities = new ListTag<CompoundTag>(CompoundTag.class);
+		for(Map.Entry<Integer, CompoundTag> e : new TreeMap<Integer, CompoundTag>(chests).entrySet()) {
+			int i = e.getKey();
+			CompoundTag te = new CompoundTag();
+			te.putString("id", "minecraft:chest");
+			te.putInt("x", i % w);
+			te.putInt("y", i / (w * l));
+			te.putInt("z", (i / w) % l);
+			te.put("Items", items(i));
+			tileEntities.add(te);
+		}
+
+		ListTag<CompoundTag> ents = new ListTag<CompoundTag>(CompoundTag.class);
+		for(double[] p : entityPos) {
+			CompoundTag e = new CompoundTag();
+			e.putString("id", "minecraft:pig");
+			e.put("Pos", doubles(p));
+			ents.add(e);
+		}
+
+		CompoundTag size = new CompoundTag();
+		size.putInt("x", w);
+		size.putInt("y", h);
+		size.putInt("z", l);
+		CompoundTag origin = new CompoundTag();
+		origin.putInt("x", 0);
+		origin.putInt("y", 0);
+		origin.putInt("z", 0);
+
+		CompoundTag region = new CompoundTag();
+		region.put("Position", origin);
+		region.put("Size", size);
+		region.put("BlockStatePalette", palette);
+		region.putLongArray("BlockStates", storage.getBackingLongArray());
+		region.put("TileEntities", tileEntities);
+		region.put("Entities", ents);
+		region.put("PendingBlockTicks", new ListTag<CompoundTag>(CompoundTag.class));
+		region.put("PendingFluidTicks", new ListTag<CompoundTag>(CompoundTag.class));
+		CompoundTag regions = new CompoundTag();
+		regions.put(name, region);
+
+		long now = System.currentTimeMillis();
+		CompoundTag metadata = new CompoundTag();
+		metadata.putString("Name", name);
+		metadata.putString("Author", "S2CB generator");
+		metadata.putString("Description", "Generated with seed "+seed);
+		metadata.put("EnclosingSize", size.clone());
+		metadata.putInt("RegionCount", 1);
+		metadata.putLong("TotalVolume", (long)w * h * l);
+		metadata.putLong("TimeCreated", now);
+		metadata.putLong("TimeModified", now);
+
+		CompoundTag root = new CompoundTag();
+		root.putInt("MinecraftDataVersion", DATA_VERSION);
+		root.putInt("Version", 5);
+		root.put("Metadata", metadata);
+		root.put("Regions", regions);
+		return root;
+	}
+
+	private CompoundTag toSponge() {
+		if(w > 0xFFFF || h > 0xFFFF || l > 0xFFFF) {
+			throw new IllegalArgumentException("Too big for a .schem");
+		}
+		int[] used = usedKinds();
+		int[] state = new int[kinds.size()];
+		CompoundTag palette = new CompoundTag();
+		for(int k : used) {
+			Object[] kind = kinds.get(k);
+			String props = (String)kind[1];
+			state[k] = palette.size();
+			palette.putInt("minecraft:" + kind[0] + (props.length() > 0 ? "[" + props + "]" : ""), state[k]);
+		}
+
+		ByteArrayOutputStream blockData = new ByteArrayOutputStream(cells.length);
+		for(int c : cells) {
+			//varint
+			int v = state[c];
+			while((v & ~0x7F) != 0) {
+				blockData.write((v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			blockData.write(v);
+		}
+
+		ListTag<CompoundTag> blockEntities = new ListTag<CompoundTag>(CompoundTag.class);
+		for(Map.Entry<Integer, CompoundTag> e : new TreeMap<Integer, CompoundTag>(chests).entrySet()) {
+			int i = e.getKey();
+			CompoundTag te = new CompoundTag();
+			te.putString("Id", "minecraft:chest");
+			te.putIntArray("Pos", new int[] {i % w, i / (w * l), (i / w) % l});
+			te.put("Items", items(i));
+			blockEntities.add(te);
+		}
+
+		ListTag<CompoundTag> ents = new ListTag<CompoundTag>(CompoundTag.class);
+		for(double[] p : entityPos) {
+			CompoundTag e = new CompoundTag();
+			e.putString("Id", "minecraft:pig");
+			e.put("Pos", doubles(p));
+			ents.add(e);
+		}
+
+		CompoundTag metadata = new CompoundTag();
+		metadata.putInt("WEOffsetX", 0);
+		metadata.putInt("WEOffsetY", 0);
+		metadata.putInt("WEOffsetZ", 0);
+
+		CompoundTag root = new CompoundTag();
+		root.putInt("Version", 2);
+		root.putInt("DataVersion", DATA_VERSION);
+		root.put("Metadata", metadata);
+		root.putShort("Width", (short)w);
+		root.putShort("Height", (short)h);
+		root.putShort("Length", (short)l);
+		root.putIntArray("Offset", new int[] {0, 0, 0});
+		root.putInt("PaletteMax", palette.size());
+		root.put("Palette", palette);
+		root.putByteArray("BlockData", blockData.toByteArray());
+		root.put("BlockEntities", blockEntities);
+		root.put("Entities", ents);
+		return root;
+	}
+
+}
@@ -0,0 +1,180 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.io.File;
+import java.io.IOException;
+
+import javax.swing.BorderFactory;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
+
+import net.querz.nbt.io.NBTQuery;
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.ListTag;
+import net.querz.nbt.tag.NumberTag;
+import net.querz.nbt.tag.StringTag;
+import net.querz.nbt.tag.Tag;
+
+/**
+ * Shows the format, size and Minecraft version of the schematic selected in a file chooser.
+ *
+ * Only the few tags needed are read from the file with NBTQuery, which stops reading once it has them, so the blocks of
+ * a large schematic aren't read. Which tags are read depends on the file extension, the same way ConversionEngine picks
+ * the format, and only tags every file of the format has are asked for (a missing tag would make the whole file be read).
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class SchematicPreview extends JPanel implements PropertyChangeListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private final JLabel text = new JLabel("", SwingConstants.LEFT);
+	private SwingWorker<String, Void> worker = null;
+
+
+	public SchematicPreview(JFileChooser chooser) {
+		super(new BorderLayout());
+		setPreferredSize(new Dimension(220, 150));
+		setBorder(BorderFactory.createEmptyBorder(0, 8, 0, 0));
+		text.setVerticalAlignment(SwingConstants.TOP);
+		add(text, BorderLayout.CENTER);
+		chooser.addPropertyChangeListener(JFileChooser.SELECTED_FILE_CHANGED_PROPERTY, this);
+	}
+
+	@Override
+	public void propertyChange(PropertyChangeEvent evt) {
+		if(worker != null) {
+			worker.cancel(true);
+			worker = null;
+		}
+		final File f = (File)evt.getNewValue();
+		if(f == null || !f.isFile()) {
+			text.setText("");
+			return;
+		}
+		text.setText("Reading...");
+		worker = new SwingWorker<String, Void>() {
+			@Override
+			protected String doInBackground() throws Exception {
+				return describe(f);
+			}
+
+			@Override
+			protected void done() {
+				if(isCancelled()) {
+					return;
+				}
+				try {
+					text.setText(get());
+				}catch(Exception e) {
+					text.setText("");
+				}
+			}
+		};
+		worker.execute();
+	}
+
+	/**
+	 * @param f	a schematic file
+	 * @return	html describing the schematic, or why it couldn't be read
+	 */
+	static String describe(File f) {
+		String name = f.getName().toLowerCase();
+		try {
+			if(name.endsWith(".nbt")) {
+				//structure files from before 1.13 have no DataVersion, so it isn't asked for
+				CompoundTag tag = query(f, "size");
+				ListTag<?> size = tag.getListTag("size");
+				return html("Structure", size == null || size.size() < 3 ? null : size.getInt(0)+" x "+size.getInt(1)+" x "+size.getInt(2),
+						null, null);
+			}else if(name.endsWith(".litematic")) {
+				CompoundTag tag = query(f, "MinecraftDataVersion", "Metadata");
+				return html("Litematic", size(tag, "Metadata.EnclosingSize.x", "Metadata.EnclosingSize.y", "Metadata.EnclosingSize.z"),
+						number(tag, "MinecraftDataVersion"), string(tag, "Metadata.Author"));
+			}else if(name.endsWith(".schem")) {
+				CompoundTag tag = query(f, "DataVersion", "Width", "Height", "Length");
+				return html("Sponge (WorldEdit) Schematic", size(tag, "Width", "Height", "Length"), number(tag, "DataVersion"), null);
+			}else {
+				CompoundTag tag = query(f, "Width", "Height", "Length");
+				return html("MCEdit Schematic", size(tag, "Width", "Height", "Length"), null, null);
+			}
+		}catch(IOException | RuntimeException e) {
+			String reason = (e.getLocalizedMessage() != null) ? e.getLocalizedMessage() : e.getClass().getSimpleName();
+			return "<html>Not a readable schematic:<br>"+reason.replace("<", "&lt;")+"</html>";
+		}
+	}
+
+	private static CompoundTag query(File f, String... paths) throws IOException {
+		NamedTag root = NBTQuery.select(f, paths);
+		if(!(root.getTag() instanceof CompoundTag)) {
+			throw new IOException("root tag is not a compound");
+		}
+		return (CompoundTag)root.getTag();
+	}
+
+	private static String size(CompoundTag tag, String w, String h, String l) {
+		String x = number(tag, w), y = number(tag, h), z = number(tag, l);
+		return (x == null || y == null || z == null) ? null : x+" x "+y+" x "+z;
+	}
+
+	private static String number(CompoundTag tag, String path) {
+		Tag<?> t = NBTQuery.get(tag, path);
+		return (t instanceof NumberTag) ? String.valueOf(((NumberTag<?>)t).asLong()) : null;
+	}
+
+	private static String string(CompoundTag tag, String path) {
+		Tag<?> t = NBTQuery.get(tag, path);
+		return (t instanceof StringTag) ? ((StringTag)t).getValue() : null;
+	}
+
+	private static String html(String format, String size, String dataVersion, String author) {
+		StringBuilder sb = new StringBuilder("<html><b>");
+		sb.append(format);
+		sb.append("</b>");
+		if(size != null) {
+			sb.append("<br>Size: ");
+			sb.append(size);
+		}
+		if(dataVersion != null) {
+			sb.append("<br>Data version: ");
+			sb.append(dataVersion);
+			if(Integer.parseInt(dataVersion) < ConversionEngine.MINECRAFT_VER_1_13) {
+				sb.append(" (before 1.13)");
+			}
+		}
+		if(author != null && author.length() > 0) {
+			sb.append("<br>By: ");
+			sb.append(author.replace("<", "&lt;"));
+		}
+		sb.append("</html>");
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,203 @@
+package s2cb;
+
+/*
+	Schematic To Command Block for Minecraft 1.18
+
+   Copyright 2018-2020 Brian Risinger
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+
+*/
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import net.querz.mca.Chunk;
+import net.querz.mca.LoadArea;
+import net.querz.mca.LoadFlags;
+import net.querz.mca.MCAFile;
+import net.querz.mca.MCAUtil;
+
+/**
+ * Reads an area of a world save straight from its region (r.x.z.mca) files, so it can be converted without first
+ * saving it as a structure or schematic.
+ *
+ * Only the region files that the area touches are read, and only the block states, block entities and entities are
+ * loaded from their chunks. Chunks outside the area aren't decompressed, and sections above and below it aren't
+ * created. The chunks of each region are decompressed and parsed on a thread for each processor.
+ *
+ * Both the old (Level / Sections, y 0 to 255) and the 1.18 (sections / block_states, y -64 to 319) chunk formats are read.
+ * Since 1.17 entities are saved in their own region files in the entities folder, which are read too if they are there.
+ *
+ * @author Brian Risinger  aka TroZ
+ *
+ */
+public class WorldReader {
+
+	static final long LOAD_FLAGS = LoadFlags.BLOCK_STATES | LoadFlags.TILE_ENTITIES | LoadFlags.ENTITIES;
+
+	final File world;
+	final File regionDir;
+	final File entitiesDir;
+	//the area, in block coordinates, min and max both included
+	final int minX, minY, minZ;
+	final int maxX, maxY, maxZ;
+
+	//region x,z (packed by key) to the region, or null if the region file doesn't exist
+	private final Map<Long, MCAFile> regions = new HashMap<Long, MCAFile>();
+	//the same for the entity region files
+	private final Map<Long, MCAFile> entityRegions = new HashMap<Long, MCAFile>();
+
+
+	/**
+	 * @param world	the world save folder (with a region folder), or a dimension or region folder
+	 * @param x1	one corner of the area
+	 * @param y1
+	 * @param z1
+	 * @param x2	the opposite corner
+	 * @param y2
+	 * @param z2
+	 * @throws IOException if there is no region folder
+	 */
+	public WorldReader(File world, int x1, int y1, int z1, int x2, int y2, int z2) throws IOException {
+		this.world = world;
+		File region = new File(world, "region");
+		if(region.isDirectory()) {
+			this.regionDir = region;
+		}else if(world.isDirectory()) {
+			//a region folder (or a dimension without its own region folder)
+			this.regionDir = world;
+		}else {
+			throw new IOException("World folder not found: "+world);
+		}
+		//1.17+ saves entities in the entities folder next to the region folder
+		File entities = new File(regionDir.getParentFile(), "entities");
+		this.entitiesDir = (regionDir.getName().equals("region") && entities.isDirectory()) ? entities : null;
+		minX = Math.min(x1, x2);
+		minY = Math.min(y1, y2);
+		minZ = Math.min(z1, z2);
+		maxX = Math.max(x1, x2);
+		maxY = Math.max(y1, y2);
+		maxZ = Math.max(z1, z2);
+	}
+
+	int width() {
+		return maxX - minX + 1;
+	}
+
+	int height() {
+		return maxY - minY + 1;
+	}
+
+	int length() {
+		return maxZ - minZ + 1;
+	}
+
+	/**
+	 * @return	a name for the area, the world folder name and its min corner
+	 */
+	String name() {
+		File dir = world;
+		if(dir.getName().equals("region") && dir.getParentFile() != null) {
+			dir = dir.getParentFile();
+		}
+		return dir.getName()+"_"+minX+"_"+minY+"_"+minZ;
+	}
+
+	/**
+	 * Reads the region files the area touches
+	 * @param listener	gets the progress
+	 * @return			the number of region files read
+	 * @throws IOException if a region file couldn't be read
+	 */
+	int readRegions(ConversionListener listener) throws IOException {
+		int rx1 = MCAUtil.blockToRegion(minX), rx2 = MCAUtil.blockToRegion(maxX);
+		int rz1 = MCAUtil.blockToRegion(minZ), rz2 = MCAUtil.blockToRegion(maxZ);
+		int total = (rx2 - rx1 + 1) * (rz2 - rz1 + 1);
+		int count = 0, read = 0;
+		LoadArea area = new LoadArea(minX, minY, minZ, maxX, maxY, maxZ);
+		ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			for(int rx = rx1; rx <= rx2; rx++) {
+				for(int rz = rz1; rz <= rz2; rz++) {
+					listener.progress(count / (double)total);
+					count++;
+					MCAFile region = readRegion(regionDir, rx, rz, area, pool, listener);
+					regions.put(key(rx, rz), region);
+					if(region == null) {
+						//never generated, so all air
+						continue;
+					}
+					read++;
+					if(entitiesDir != null) {
+						entityRegions.put(key(rx, rz), readRegion(entitiesDir, rx, rz, area, pool, listener));
+					}
+				}
+			}
+		}finally {
+			pool.shutdown();
+		}
+		listener.progress(1.0);
+		return read;
+	}
+
+	/**
+	 * @return	the region, or null if the file isn't there
+	 */
+	private static MCAFile readRegion(File dir, int rx, int rz, LoadArea area, ExecutorService pool, ConversionListener listener) throws IOException {
+		File f = new File(dir, MCAUtil.createNameFromRegionLocation(rx, rz));
+		if(!f.isFile() || f.length() == 0) {
+			return null;
+		}
+		listener.status("Reading "+dir.getName()+"/"+f.getName()+"...");
+		Object readEvent = ConversionEvents.beginNbtRead();
+		MCAFile region = MCAUtil.read(f, LOAD_FLAGS, pool, area);
+		ConversionEvents.endNbtRead(readEvent, f.getPath(), f.length());
+		return region;
+	}
+
+	/**
+	 * @param chunkX	the chunk coordinates (block coordinate / 16)
+	 * @param chunkZ
+	 * @return			the chunk, or null if it hasn't been generated or its region wasn't read
+	 */
+	Chunk getChunk(int chunkX, int chunkZ) {
+		return getChunk(regions, chunkX, chunkZ);
+	}
+
+	/**
+	 * @param chunkX	the chunk coordinates (block coordinate / 16)
+	 * @param chunkZ
+	 * @return			the chunk's entities from the entities folder (1.17+), or null if there are none
+	 */
+	Chunk getEntityChunk(int chunkX, int chunkZ) {
+		return getChunk(entityRegions, chunkX, chunkZ);
+	}
+
+	private static Chunk getChunk(Map<Long, MCAFile> regions, int chunkX, int chunkZ) {
+		MCAFile region = regions.get(key(MCAUtil.chunkToRegion(chunkX), MCAUtil.chunkToRegion(chunkZ)));
+		if(region == null) {
+			return null;
+		}
+		return region.getChunk(chunkX & 31, chunkZ & 31);
+	}
+
+	private static long key(int rx, int rz) {
+		return ((long)rx << 32) | (rz & 0xFFFFFFFFL);
+	}
+
+}
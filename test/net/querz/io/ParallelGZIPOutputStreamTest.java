@@ -0,0 +1,204 @@
+package net.querz.io;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that {@link ParallelGZIPOutputStream} writes one gzip member per block, that every member is valid on its own,
+ * and that {@link GZIPInputStream} reads all of them back as the data that was written.
+ * */
+public class ParallelGZIPOutputStreamTest {
+
+	private static ExecutorService executor;
+
+	@BeforeClass
+	public static void startExecutor() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterClass
+	public static void stopExecutor() {
+		executor.shutdown();
+	}
+
+	private static byte[] data(int length, long seed) {
+		// half random, half repeating, so the blocks compress differently
+		Random random = new Random(seed);
+		byte[] data = new byte[length];
+		random.nextBytes(data);
+		for (int i = 0; i < length; i += 2) {
+			data[i] = (byte) (i % 61);
+		}
+		return data;
+	}
+
+	private static byte[] compress(byte[] data, int level, int chunk) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(bytes, level, executor)) {
+			for (int off = 0; off < data.length; off += chunk) {
+				if (chunk == 1) {
+					out.write(data[off]);
+				} else {
+					out.write(data, off, Math.min(chunk, data.length - off));
+				}
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] gunzip(byte[] gzip) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buf = new byte[65536];
+			for (int n; (n = in.read(buf)) > 0;) {
+				bytes.write(buf, 0, n);
+			}
+			return bytes.toByteArray();
+		}
+	}
+
+	/**
+	 * Reads the members one by one, checking each one's header, CRC and size.
+	 * @return The number of members.
+	 * */
+	private static int checkMembers(byte[] gzip, byte[] data) throws DataFormatException {
+		int members = 0;
+		int pos = 0;
+		int dataPos = 0;
+		while (pos < gzip.length) {
+			assertEquals(0x1f, gzip[pos] & 0xff);
+			assertEquals(0x8b, gzip[pos + 1] & 0xff);
+			assertEquals(Deflater.DEFLATED, gzip[pos + 2]);
+			Inflater inflater = new Inflater(true);
+			inflater.setInput(gzip, pos + 10, gzip.length - pos - 10);
+			byte[] block = new byte[ParallelGZIPOutputStream.BLOCK_SIZE];
+			int length = 0;
+			while (!inflater.finished()) {
+				int n = inflater.inflate(block, length, block.length - length);
+				if (n == 0 && (inflater.needsInput() || length == block.length)) {
+					fail("member " + members + " is cut off or bigger than a block");
+				}
+				length += n;
+			}
+			pos = gzip.length - inflater.getRemaining();
+			inflater.end();
+			CRC32 crc = new CRC32();
+			crc.update(block, 0, length);
+			assertEquals((int) crc.getValue(), readIntLE(gzip, pos));
+			assertEquals(length, readIntLE(gzip, pos + 4));
+			pos += 8;
+			for (int i = 0; i < length; i++) {
+				assertEquals(data[dataPos + i], block[i]);
+			}
+			dataPos += length;
+			members++;
+		}
+		assertEquals(data.length, dataPos);
+		return members;
+	}
+
+	private static int readIntLE(byte[] b, int pos) {
+		return (b[pos] & 0xff) | (b[pos + 1] & 0xff) << 8 | (b[pos + 2] & 0xff) << 16 | (b[pos + 3] & 0xff) << 24;
+	}
+
+	private static int blocks(int length) {
+		return Math.max(1, (length + ParallelGZIPOutputStream.BLOCK_SIZE - 1) / ParallelGZIPOutputStream.BLOCK_SIZE);
+	}
+
+	@Test
+	public void testMembers() throws IOException, DataFormatException {
+		int block = ParallelGZIPOutputStream.BLOCK_SIZE;
+		for (int length : new int[] {0, 1, 1000, block - 1, block, block + 1, 3 * block, 5 * block + 12345}) {
+			byte[] data = data(length, length);
+			byte[] gzip = compress(data, Deflater.DEFAULT_COMPRESSION, 100000);
+			assertArrayEquals("length " + length, data, gunzip(gzip));
+			assertEquals("length " + length, blocks(length), checkMembers(gzip, data));
+		}
+	}
+
+	@Test
+	public void testWrites() throws IOException, DataFormatException {
+		byte[] data = data(2 * ParallelGZIPOutputStream.BLOCK_SIZE + 3, 1);
+		for (int chunk : new int[] {1, 7, ParallelGZIPOutputStream.BLOCK_SIZE, 3 * ParallelGZIPOutputStream.BLOCK_SIZE}) {
+			byte[] gzip = compress(data, Deflater.BEST_SPEED, chunk);
+			assertArrayEquals(data, gunzip(gzip));
+			assertEquals(3, checkMembers(gzip, data));
+		}
+	}
+
+	@Test
+	public void testLevels() throws IOException {
+		byte[] data = data(ParallelGZIPOutputStream.BLOCK_SIZE + 1000, 2);
+		for (int level = Deflater.DEFAULT_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+			byte[] gzip = compress(data, level, 65536);
+			assertArrayEquals(data, gunzip(gzip));
+			// each member is as big as the block deflated at that level, with the gzip header and trailer
+			int expected = 0;
+			for (int off = 0; off < data.length; off += ParallelGZIPOutputStream.BLOCK_SIZE) {
+				expected += 10 + deflatedLength(data, off, Math.min(ParallelGZIPOutputStream.BLOCK_SIZE, data.length - off), level) + 8;
+			}
+			assertEquals("level " + level, expected, gzip.length);
+		}
+	}
+
+	private static int deflatedLength(byte[] data, int off, int len, int level) {
+		Deflater deflater = new Deflater(level, true);
+		deflater.setInput(data, off, len);
+		deflater.finish();
+		byte[] buf = new byte[65536];
+		int length = 0;
+		while (!deflater.finished()) {
+			length += deflater.deflate(buf);
+		}
+		deflater.end();
+		return length;
+	}
+
+	@Test
+	public void testManyPendingBlocks() throws IOException {
+		// more blocks than can wait to be written, so writes have to wait for the first ones
+		int blocks = 2 * Runtime.getRuntime().availableProcessors() + 3;
+		byte[] data = data(blocks * ParallelGZIPOutputStream.BLOCK_SIZE, 3);
+		assertArrayEquals(data, gunzip(compress(data, Deflater.BEST_SPEED, 500000)));
+	}
+
+	@Test
+	public void testFlushAndFinish() throws IOException {
+		byte[] data = data(ParallelGZIPOutputStream.BLOCK_SIZE + 10, 4);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(bytes, Deflater.DEFAULT_COMPRESSION, executor);
+		out.write(data, 0, 10);
+		out.flush();
+		out.write(data, 10, data.length - 10);
+		out.finish();
+		out.finish();
+		assertArrayEquals(data, gunzip(bytes.toByteArray()));
+		try {
+			out.write(1);
+			fail();
+		} catch (IOException ex) {
+			// expected
+		}
+		out.close();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadLevel() {
+		new ParallelGZIPOutputStream(new ByteArrayOutputStream(), 10, executor);
+	}
+}
@@ -0,0 +1,245 @@
+package net.querz.nbt.io;
+
+import net.querz.nbt.tag.ByteArrayTag;
+import net.querz.nbt.tag.ByteTag;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.DoubleTag;
+import net.querz.nbt.tag.FloatTag;
+import net.querz.nbt.tag.IntArrayTag;
+import net.querz.nbt.tag.IntTag;
+import net.querz.nbt.tag.ListTag;
+import net.querz.nbt.tag.LongArrayTag;
+import net.querz.nbt.tag.LongTag;
+import net.querz.nbt.tag.ShortTag;
+import net.querz.nbt.tag.StringTag;
+import net.querz.nbt.tag.Tag;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that the buffered {@link NBTOutputStream} writes the same bytes as the writer it replaced ({@link OldNBTOutputStream}),
+ * and that compressed output from {@link NBTSerializer} decompresses to them, at any level, on one thread or several.
+ * */
+public class NBTOutputStreamTest {
+
+	private static byte[] writeNew(NamedTag tag) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		NBTOutputStream out = new NBTOutputStream(bytes);
+		out.writeTag(tag, Tag.DEFAULT_MAX_DEPTH);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static byte[] writeOld(NamedTag tag) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		OldNBTOutputStream out = new OldNBTOutputStream(bytes);
+		out.writeTag(tag, Tag.DEFAULT_MAX_DEPTH);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static byte[] gunzip(byte[] gzip) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buf = new byte[8192];
+			for (int n; (n = in.read(buf)) > 0;) {
+				bytes.write(buf, 0, n);
+			}
+			return bytes.toByteArray();
+		}
+	}
+
+	private static void assertSameBytes(NamedTag tag) throws IOException {
+		byte[] expected = writeOld(tag);
+		assertArrayEquals(expected, writeNew(tag));
+		assertArrayEquals(expected, new NBTSerializer(false).toBytes(tag));
+	}
+
+	@Test
+	public void testRandomTags() throws IOException {
+		Random random = new Random(48);
+		for (int i = 0; i < 300; i++) {
+			assertSameBytes(new NamedTag(random.nextBoolean() ? "" : string(random, 10), randomCompound(random, 3, 10)));
+		}
+	}
+
+	@Test
+	public void testEveryTagType() throws IOException {
+		CompoundTag tag = new CompoundTag();
+		tag.put("byte", new ByteTag((byte) -1));
+		tag.put("short", new ShortTag((short) -2));
+		tag.put("int", new IntTag(-3));
+		tag.put("long", new LongTag(-4));
+		tag.put("float", new FloatTag(Float.intBitsToFloat(0x7fc00001)));
+		tag.put("double", new DoubleTag(Double.longBitsToDouble(0x7ff0000000000001L)));
+		tag.put("bytes", new ByteArrayTag(new byte[] {1, -2, 3}));
+		tag.put("ints", new IntArrayTag(new int[] {1, -2, 3}));
+		tag.put("longs", new LongArrayTag(new long[] {1, -2, 3}));
+		tag.put("string", new StringTag("a\u0000bécあd😀"));
+		tag.put("intList", ListTag.fromInts(new int[] {1, 2}));
+		tag.put("longList", ListTag.fromLongs(new long[] {1, 2}));
+		tag.put("floatList", ListTag.fromFloats(new float[] {1, Float.NaN}));
+		tag.put("doubleList", ListTag.fromDoubles(new double[] {1, -0d}));
+		tag.put("emptyList", new ListTag<>(IntTag.class));
+		tag.put("compound", new CompoundTag());
+		assertSameBytes(new NamedTag("root", tag));
+		assertSameBytes(new NamedTag(null, new IntTag(1)));
+	}
+
+	@Test
+	public void testLargeValues() throws IOException {
+		// arrays and strings bigger than the buffer, and ones that end right at its end
+		Random random = new Random(480);
+		for (int size : new int[] {NBTOutputStream.BUFFER_SIZE / 8 - 3, NBTOutputStream.BUFFER_SIZE / 4, NBTOutputStream.BUFFER_SIZE + 5, 3 * NBTOutputStream.BUFFER_SIZE}) {
+			CompoundTag tag = new CompoundTag();
+			byte[] bytes = new byte[size];
+			random.nextBytes(bytes);
+			tag.putByteArray("b", bytes);
+			tag.putIntArray("i", random.ints(size / 4).toArray());
+			tag.putLongArray("l", random.longs(size / 8).toArray());
+			tag.put("li", ListTag.fromInts(random.ints(size / 4).toArray()));
+			assertSameBytes(new NamedTag("", tag));
+		}
+		for (int length : new int[] {NBTOutputStream.BUFFER_SIZE - 3, NBTOutputStream.BUFFER_SIZE - 2, NBTOutputStream.BUFFER_SIZE - 1, 65535}) {
+			char[] ascii = new char[length];
+			Arrays.fill(ascii, 'a');
+			CompoundTag tag = new CompoundTag();
+			tag.putString("s", new String(ascii));
+			assertSameBytes(new NamedTag("", tag));
+			// the same length, but not all ASCII
+			ascii[length - 1] = 'é';
+			tag.putString("s", new String(ascii, 0, length - 1));
+			assertSameBytes(new NamedTag("", tag));
+		}
+	}
+
+	@Test
+	public void testStringTooLong() throws IOException {
+		char[] chars = new char[21846];
+		Arrays.fill(chars, 'あ');
+		for (String s : new String[] {new String(new char[65536]).replace('\0', 'a'), new String(chars)}) {
+			CompoundTag tag = new CompoundTag();
+			tag.putString("s", s);
+			try {
+				writeOld(new NamedTag("", tag));
+				fail();
+			} catch (UTFDataFormatException ex) {
+				// expected
+			}
+			try {
+				writeNew(new NamedTag("", tag));
+				fail();
+			} catch (UTFDataFormatException ex) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testCompressed() throws IOException {
+		Random random = new Random(481);
+		CompoundTag tag = randomCompound(random, 2, 10);
+		// bigger than a ParallelGZIPOutputStream block, so the parallel output has several members
+		byte[] bytes = new byte[1024 * 1024 + 17];
+		random.nextBytes(bytes);
+		tag.putByteArray("big", bytes);
+		NamedTag named = new NamedTag("", tag);
+		byte[] expected = writeOld(named);
+
+		assertArrayEquals(expected, gunzip(new NBTSerializer(true).toBytes(named)));
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			for (int level : new int[] {Deflater.DEFAULT_COMPRESSION, Deflater.NO_COMPRESSION, Deflater.BEST_SPEED, Deflater.BEST_COMPRESSION}) {
+				assertArrayEquals(expected, gunzip(new NBTSerializer(level).toBytes(named)));
+				assertArrayEquals(expected, gunzip(new NBTSerializer(level, executor).toBytes(named)));
+			}
+			assertEquals(tag, new NBTDeserializer(true).fromBytes(new NBTSerializer(1, executor).toBytes(named)).getTag());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBadLevel() {
+		new NBTSerializer(10);
+	}
+
+	private static String string(Random random, int maxLength) {
+		String chars = "abcXYZ019 _-:\u0000é߿ࠀあ😀";
+		StringBuilder sb = new StringBuilder();
+		int length = random.nextInt(maxLength);
+		for (int i = 0; i < length; i++) {
+			sb.append(chars.charAt(random.nextInt(chars.length())));
+		}
+		return sb.toString();
+	}
+
+	private static Tag<?> randomTag(Random random, int depth, int size) {
+		switch (random.nextInt(depth > 0 ? 16 : 14)) {
+		case 0:
+			return new ByteTag((byte) random.nextInt());
+		case 1:
+			return new ShortTag((short) random.nextInt());
+		case 2:
+			return new IntTag(random.nextInt());
+		case 3:
+			return new LongTag(random.nextLong());
+		case 4:
+			return new FloatTag(Float.intBitsToFloat(random.nextInt()));
+		case 5:
+			return new DoubleTag(Double.longBitsToDouble(random.nextLong()));
+		case 6:
+			return new StringTag(string(random, 40));
+		case 7:
+			byte[] bytes = new byte[random.nextInt(size * 10)];
+			random.nextBytes(bytes);
+			return new ByteArrayTag(bytes);
+		case 8:
+			return new IntArrayTag(random.ints(random.nextInt(size * 10)).toArray());
+		case 9:
+			return new LongArrayTag(random.longs(random.nextInt(size * 10)).toArray());
+		case 10:
+			return ListTag.fromInts(random.ints(random.nextInt(size)).toArray());
+		case 11:
+			return ListTag.fromLongs(random.longs(random.nextInt(size)).toArray());
+		case 12:
+			float[] floats = new float[random.nextInt(size)];
+			for (int i = 0; i < floats.length; i++) {
+				floats[i] = Float.intBitsToFloat(random.nextInt());
+			}
+			return ListTag.fromFloats(floats);
+		case 13:
+			return ListTag.fromDoubles(random.doubles(random.nextInt(size)).toArray());
+		case 14:
+			ListTag<CompoundTag> list = new ListTag<>(CompoundTag.class);
+			int n = random.nextInt(size);
+			for (int i = 0; i < n; i++) {
+				list.add(randomCompound(random, depth - 1, size));
+			}
+			return list;
+		default:
+			return randomCompound(random, depth - 1, size);
+		}
+	}
+
+	private static CompoundTag randomCompound(Random random, int depth, int size) {
+		CompoundTag tag = new CompoundTag();
+		int n = random.nextInt(size);
+		for (int i = 0; i < n; i++) {
+			tag.put(string(random, 12), randomTag(random, depth, size));
+		}
+		return tag;
+	}
+}
@@ -0,0 +1,266 @@
+package net.querz.nbt.io;
+
+import net.querz.nbt.tag.ByteArrayTag;
+import net.querz.nbt.tag.ByteTag;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.DoubleTag;
+import net.querz.nbt.tag.IntArrayTag;
+import net.querz.nbt.tag.IntTag;
+import net.querz.nbt.tag.ListTag;
+import net.querz.nbt.tag.LongArrayTag;
+import net.querz.nbt.tag.LongTag;
+import net.querz.nbt.tag.StringTag;
+import net.querz.nbt.tag.Tag;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that {@link NBTQuery} returns the same Tags as reading the whole file and looking the paths up,
+ * pruned to just those paths, and that it stops reading once it has them.
+ * */
+public class NBTQueryTest {
+
+	private static final String[] KEYS = {"a", "b", "c", "Metadata", "DataVersion"};
+
+	private static byte[] write(NamedTag tag) throws IOException {
+		return new NBTSerializer(false).toBytes(tag);
+	}
+
+	private static NamedTag select(byte[] nbt, String... paths) throws IOException {
+		return NBTQuery.select(new ByteArrayInputStream(nbt), paths);
+	}
+
+	/**
+	 * What the query should return: the tags at the paths, in compounds at their paths, taken from the fully read tag.
+	 * A path below another selected path is already in the tag selected for that one.
+	 * */
+	private static CompoundTag prune(CompoundTag full, String... paths) {
+		List<String> sorted = new ArrayList<>(Arrays.asList(paths));
+		sorted.sort(Comparator.comparingInt(String::length));
+		CompoundTag pruned = new CompoundTag();
+		List<String> selected = new ArrayList<>();
+		for (String path : sorted) {
+			boolean below = false;
+			for (String s : selected) {
+				if (path.equals(s) || path.startsWith(s + ".")) {
+					below = true;
+				}
+			}
+			Tag<?> tag = NBTQuery.get(full, path);
+			if (below || tag == null) {
+				continue;
+			}
+			selected.add(path);
+			String[] keys = path.split("\\.");
+			CompoundTag parent = pruned;
+			for (int i = 0; i < keys.length - 1; i++) {
+				if (!parent.containsKey(keys[i])) {
+					parent.put(keys[i], new CompoundTag());
+				}
+				parent = parent.getCompoundTag(keys[i]);
+			}
+			parent.put(keys[keys.length - 1], tag);
+		}
+		return pruned;
+	}
+
+	@Test
+	public void testRandomPaths() throws IOException {
+		Random random = new Random(49);
+		for (int run = 0; run < 300; run++) {
+			CompoundTag full = randomCompound(random, 3);
+			byte[] nbt = write(new NamedTag("Schematic", full));
+			for (int q = 0; q < 10; q++) {
+				String[] paths = new String[1 + random.nextInt(4)];
+				for (int i = 0; i < paths.length; i++) {
+					StringBuilder path = new StringBuilder(KEYS[random.nextInt(KEYS.length)]);
+					int depth = random.nextInt(4);
+					for (int d = 0; d < depth; d++) {
+						path.append('.').append(KEYS[random.nextInt(KEYS.length)]);
+					}
+					paths[i] = path.toString();
+				}
+				NamedTag result = select(nbt, paths);
+				assertEquals("Schematic", result.getName());
+				assertEquals(Arrays.toString(paths), prune(full, paths), result.getTag());
+				for (String path : paths) {
+					assertEquals(path, NBTQuery.get(full, path), NBTQuery.get(result.getTag(), path));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testStopsReading() throws IOException {
+		CompoundTag full = new CompoundTag();
+		full.putInt("DataVersion", 2860);
+		CompoundTag metadata = new CompoundTag();
+		metadata.putString("Author", "me");
+		metadata.putInt("Other", 1);
+		full.put("Metadata", metadata);
+		full.putByteArray("Blocks", new byte[100000]);
+		byte[] nbt = write(new NamedTag("", full));
+
+		CountingInputStream in = new CountingInputStream(new ByteArrayInputStream(nbt));
+		CompoundTag result = (CompoundTag) NBTQuery.select(in, "DataVersion", "Metadata.Author").getTag();
+		assertEquals(prune(full, "DataVersion", "Metadata.Author"), result);
+		assertTrue("read " + in.count + " of " + nbt.length + " bytes", in.count < 1000);
+
+		// a path that isn't there makes it read to the end, skipping the blocks
+		in = new CountingInputStream(new ByteArrayInputStream(nbt));
+		result = (CompoundTag) NBTQuery.select(in, "DataVersion", "Width").getTag();
+		assertEquals(prune(full, "DataVersion"), result);
+		assertEquals(nbt.length, in.count);
+	}
+
+	@Test
+	public void testNoPaths() throws IOException {
+		CompoundTag full = randomCompound(new Random(490), 2);
+		NamedTag result = select(write(new NamedTag("Schematic", full)));
+		assertEquals("Schematic", result.getName());
+		assertEquals(new CompoundTag(), result.getTag());
+	}
+
+	@Test
+	public void testRootNotCompound() throws IOException {
+		NamedTag result = select(write(new NamedTag("x", new IntTag(5))), "a");
+		assertEquals("x", result.getName());
+		assertEquals(new IntTag(5), result.getTag());
+	}
+
+	@Test
+	public void testPathThroughOtherTags() throws IOException {
+		CompoundTag full = new CompoundTag();
+		ListTag<CompoundTag> list = new ListTag<>(CompoundTag.class);
+		CompoundTag element = new CompoundTag();
+		element.putInt("b", 1);
+		list.add(element);
+		full.put("a", list);
+		full.putInt("c", 2);
+		NamedTag result = select(write(new NamedTag("", full)), "a.b", "c.d", "c");
+		assertEquals(prune(full, "c"), result.getTag());
+		assertNull(NBTQuery.get(result.getTag(), "a"));
+	}
+
+	@Test
+	public void testBadPath() throws IOException {
+		byte[] nbt = write(new NamedTag("", new CompoundTag()));
+		for (String path : new String[] {"", "a..b", ".a", "a."}) {
+			try {
+				select(nbt, path);
+				fail(path);
+			} catch (IllegalArgumentException ex) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testFile() throws IOException {
+		CompoundTag full = randomCompound(new Random(491), 3);
+		full.putInt("DataVersion", 2860);
+		File file = File.createTempFile("query", ".nbt");
+		try {
+			NBTUtil.write(new NamedTag("", full), file, true);
+			assertEquals(prune(full, "DataVersion", "a.b"), NBTQuery.select(file, "DataVersion", "a.b").getTag());
+			NBTUtil.write(new NamedTag("", full), file, false);
+			assertEquals(prune(full, "DataVersion", "a.b"), NBTQuery.select(file, "DataVersion", "a.b").getTag());
+		} finally {
+			file.delete();
+		}
+	}
+
+	private static class CountingInputStream extends FilterInputStream {
+
+		long count;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				count++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				count += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
+	}
+
+	private static Tag<?> randomTag(Random random, int depth) {
+		switch (random.nextInt(depth > 0 ? 12 : 10)) {
+		case 0:
+			return new ByteTag((byte) random.nextInt());
+		case 1:
+			return new IntTag(random.nextInt());
+		case 2:
+			return new LongTag(random.nextLong());
+		case 3:
+			return new DoubleTag(random.nextDouble());
+		case 4:
+			return new StringTag(Long.toString(random.nextLong(), 36) + "é");
+		case 5:
+			byte[] bytes = new byte[random.nextInt(50)];
+			random.nextBytes(bytes);
+			return new ByteArrayTag(bytes);
+		case 6:
+			return new IntArrayTag(random.ints(random.nextInt(20)).toArray());
+		case 7:
+			return new LongArrayTag(random.longs(random.nextInt(20)).toArray());
+		case 8:
+			return ListTag.fromDoubles(random.doubles(random.nextInt(5)).toArray());
+		case 9:
+			ListTag<StringTag> strings = new ListTag<>(StringTag.class);
+			strings.add(new StringTag("s"));
+			return strings;
+		case 10:
+			ListTag<CompoundTag> list = new ListTag<>(CompoundTag.class);
+			int n = random.nextInt(3);
+			for (int i = 0; i < n; i++) {
+				list.add(randomCompound(random, depth - 1));
+			}
+			return list;
+		default:
+			return randomCompound(random, depth - 1);
+		}
+	}
+
+	private static CompoundTag randomCompound(Random random, int depth) {
+		CompoundTag tag = new CompoundTag();
+		int n = random.nextInt(KEYS.length + 1);
+		for (int i = 0; i < n; i++) {
+			tag.put(KEYS[random.nextInt(KEYS.length)], randomTag(random, depth));
+		}
+		return tag;
+	}
+}
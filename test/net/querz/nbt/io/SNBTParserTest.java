@@ -0,0 +1,233 @@
+package net.querz.nbt.io;
+
+import net.querz.io.MaxDepthReachedException;
+import net.querz.nbt.tag.ByteArrayTag;
+import net.querz.nbt.tag.ByteTag;
+import net.querz.nbt.tag.CompoundTag;
+import net.querz.nbt.tag.DoubleTag;
+import net.querz.nbt.tag.FloatTag;
+import net.querz.nbt.tag.IntArrayTag;
+import net.querz.nbt.tag.IntTag;
+import net.querz.nbt.tag.ListTag;
+import net.querz.nbt.tag.LongArrayTag;
+import net.querz.nbt.tag.LongTag;
+import net.querz.nbt.tag.ShortTag;
+import net.querz.nbt.tag.StringTag;
+import net.querz.nbt.tag.Tag;
+import org.junit.Test;
+import java.io.IOException;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that {@link SNBTParser} parses SNBT to the same Tags as the regex based parser it replaced ({@link OldSNBTParser}),
+ * and rejects the same input. The old parser could also fail with a StringIndexOutOfBoundsException on input that
+ * ends early, where the new one throws a ParseException.
+ * */
+public class SNBTParserTest {
+
+	private static final String[] SNBT = {
+			"0", "-1", "+1", "2147483647", "-2147483648", "2147483648", "1b", "-128B", "128b", "1s", "32767S", "-32769s",
+			"1l", "9223372036854775807L", "9223372036854775808l", "1f", "1.F", ".5f", "-1.5e3f", "1e3f", "1E-3F", "1d", "1.5D",
+			"1.", ".5", "-.5", "1.5e10", "1e10", "1.e5", "e5", ".", "-", "+", "1.2.3", "0x10", "1_000", "1bs", "1lb",
+			"true", "TRUE", "false", "False", "truee", "\"\"", "\"a b\"", "\"a\\\"b\\\\c\"", "abc", "a.b-c+d_e", "minecraft:stone",
+			"{}", "{ }", "{a:1}", "{a:1,b:2s,}", "{\"a b\":1}", "{a:{b:{c:[]}}}", "{ a : 1 , b : \"x\" }", "{a:1 b:2}",
+			"[]", "[ ]", "[1,2,3]", "[1b,2b]", "[1,2b]", "[{},{a:1}]", "[[],[1]]", "[a,b]", "[\"a\",b]", "[1.5,2.]", "[1,]",
+			"[B;]", "[B;1,-2]", "[B;1b]", "[B;128]", "[I;1,2,3]", "[I; 1 , 2 ]", "[I;2147483648]", "[L;1,-9223372036854775808]",
+			"[L;1l]", "[X;1]", "[\"B;1]", "[B,1]", "{a:[I;1,2],b:[L;],c:[B;0]}",
+			"", " ", "{", "}", "[", "]", "{a}", "{a:}", "{:1}", "{a:1", "[1", "[1,2", "\"abc", "{a:1}}", "1 2", "[B;", "[I;1",
+			"{a:1,a:2}", "{\"\":1}", "[{a:1},1]",
+	};
+
+	private static final String LITERAL_CHARS = "0123456789.-+eEfFdDbBsSlL";
+
+	// the result of parsing, or the kind of exception, for comparing
+	private static Object parseNew(String snbt) {
+		try {
+			return SNBTParser.parse(snbt);
+		} catch (ParseException ex) {
+			return "ParseException";
+		}
+	}
+
+	private static Object parseOld(String snbt) {
+		try {
+			return OldSNBTParser.parse(snbt);
+		} catch (ParseException | StringIndexOutOfBoundsException ex) {
+			return "ParseException";
+		}
+	}
+
+	private static void assertSameResult(String snbt) {
+		Object expected = parseOld(snbt);
+		Object actual = parseNew(snbt);
+		assertEquals(snbt, expected, actual);
+		if (expected instanceof Tag) {
+			assertSame(snbt, expected.getClass(), actual.getClass());
+			if (expected instanceof ListTag) {
+				assertSame(snbt, ((ListTag<?>) expected).getTypeClass(), ((ListTag<?>) actual).getTypeClass());
+			}
+		}
+	}
+
+	@Test
+	public void testSameAsOldParser() {
+		for (String snbt : SNBT) {
+			assertSameResult(snbt);
+			assertSameResult("{k:" + snbt + "}");
+			assertSameResult("[" + snbt + "]");
+		}
+	}
+
+	@Test
+	public void testRandomLiterals() {
+		Random random = new Random(47);
+		for (int i = 0; i < 20000; i++) {
+			StringBuilder sb = new StringBuilder();
+			int length = 1 + random.nextInt(8);
+			for (int j = 0; j < length; j++) {
+				sb.append(LITERAL_CHARS.charAt(random.nextInt(LITERAL_CHARS.length())));
+			}
+			assertSameResult(sb.toString());
+			assertSameResult("{a:" + sb + ",b:" + sb + "}");
+			assertSameResult("[I;" + sb + "]");
+		}
+	}
+
+	@Test
+	public void testRandomTags() throws IOException {
+		Random random = new Random(470);
+		for (int i = 0; i < 500; i++) {
+			CompoundTag tag = randomCompound(random, 3);
+			String snbt = SNBTUtil.toSNBT(tag);
+			assertSameResult(snbt);
+			assertEquals(tag, SNBTParser.parse(snbt));
+		}
+	}
+
+	@Test
+	public void testFragments() throws IOException {
+		Random random = new Random(471);
+		SNBTParser parser = new SNBTParser();
+		for (int i = 0; i < 200; i++) {
+			String snbt = SNBTUtil.toSNBT(randomCompound(random, 2));
+			assertEquals(snbt, OldSNBTParser.parse(snbt), parser.parseFragment(snbt));
+			assertEquals(snbt, OldSNBTParser.parse(snbt), parser.parseFragment(new StringBuilder(snbt)));
+		}
+		// a bad fragment doesn't break the parser for the next one
+		try {
+			parser.parseFragment("{a:[1,2b]}");
+			fail();
+		} catch (ParseException ex) {
+			// expected
+		}
+		assertEquals(OldSNBTParser.parse("{a:1}"), parser.parseFragment("{a:1}"));
+	}
+
+	@Test
+	public void testFragmentKeysShared() throws ParseException {
+		SNBTParser parser = new SNBTParser();
+		CompoundTag a = (CompoundTag) parser.parseFragment("{Name:stone,facing:north}");
+		CompoundTag b = (CompoundTag) parser.parseFragment("{Name:dirt,facing:north}");
+		assertSame(a.keySet().iterator().next(), b.keySet().iterator().next());
+		assertSame(a.getString("facing"), b.getString("facing"));
+	}
+
+	@Test
+	public void testMaxDepth() throws ParseException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			sb.append("{a:");
+		}
+		sb.append('1');
+		for (int i = 0; i < 10; i++) {
+			sb.append('}');
+		}
+		String snbt = sb.toString();
+		assertEquals(OldSNBTParser.parse(snbt, 10), SNBTParser.parse(snbt, 10));
+		for (int maxDepth = 8; maxDepth <= 9; maxDepth++) {
+			try {
+				OldSNBTParser.parse(snbt, maxDepth);
+				fail();
+			} catch (MaxDepthReachedException ex) {
+				// expected
+			}
+			try {
+				SNBTParser.parse(snbt, maxDepth);
+				fail();
+			} catch (MaxDepthReachedException ex) {
+				// expected
+			}
+		}
+	}
+
+	private static String randomString(Random random) {
+		String chars = "abcXYZ019 _-+.:\"\\'{}[],;éあ";
+		StringBuilder sb = new StringBuilder();
+		int length = random.nextInt(8);
+		for (int i = 0; i < length; i++) {
+			sb.append(chars.charAt(random.nextInt(chars.length())));
+		}
+		return sb.toString();
+	}
+
+	private static Tag<?> randomTag(Random random, int depth) {
+		switch (random.nextInt(depth > 0 ? 13 : 11)) {
+		case 0:
+			return new ByteTag((byte) random.nextInt());
+		case 1:
+			return new ShortTag((short) random.nextInt());
+		case 2:
+			return new IntTag(random.nextInt());
+		case 3:
+			return new LongTag(random.nextLong());
+		case 4:
+			return new FloatTag(random.nextBoolean() ? random.nextFloat() * 1000 - 500 : Float.intBitsToFloat(random.nextInt() & 0x7f7fffff));
+		case 5:
+			return new DoubleTag(random.nextBoolean() ? random.nextDouble() * 1e6 - 5e5 : Double.longBitsToDouble(random.nextLong() & 0x7fefffffffffffffL));
+		case 6:
+			return new StringTag(randomString(random));
+		case 7:
+			byte[] bytes = new byte[random.nextInt(5)];
+			random.nextBytes(bytes);
+			return new ByteArrayTag(bytes);
+		case 8:
+			return new IntArrayTag(random.ints(random.nextInt(5)).toArray());
+		case 9:
+			return new LongArrayTag(random.longs(random.nextInt(5)).toArray());
+		case 10:
+			return new StringTag(random.nextBoolean() ? "1.5" : "minecraft:stone");
+		case 11:
+			return randomList(random, depth - 1);
+		default:
+			return randomCompound(random, depth - 1);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ListTag<?> randomList(Random random, int depth) {
+		Tag<?> first = randomTag(random, depth);
+		ListTag<Tag<?>> list = (ListTag<Tag<?>>) ListTag.createUnchecked(first.getClass());
+		list.add(first);
+		int size = random.nextInt(4);
+		for (int i = 0; i < size; i++) {
+			Tag<?> t = randomTag(random, depth);
+			if (t.getClass() == first.getClass()) {
+				list.add(t);
+			}
+		}
+		return list;
+	}
+
+	private static CompoundTag randomCompound(Random random, int depth) {
+		CompoundTag tag = new CompoundTag();
+		int size = random.nextInt(6);
+		for (int i = 0; i < size; i++) {
+			String key = randomString(random);
+			tag.put(key.isEmpty() ? "k" : key, randomTag(random, depth));
+		}
+		return tag;
+	}
+}
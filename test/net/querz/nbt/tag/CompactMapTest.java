@@ -0,0 +1,186 @@
+package net.querz.nbt.tag;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link CompactMap} against a {@link LinkedHashMap} (the same iteration order) and a {@link HashMap}
+ * (what CompoundTag used before), on both sides of {@link CompactMap#MAX_ARRAY_SIZE}.
+ * */
+public class CompactMapTest {
+
+	private static final String[] KEYS = {"Name", "id", "Count", "x", "y", "z", "Pos", "Motion", "Rotation", "tag", "Properties", "facing", "waterlogged", "CustomName"};
+
+	private static Tag<?> value(int i) {
+		return new IntTag(i);
+	}
+
+	private static void assertSameMap(Map<String, Tag<?>> expected, CompactMap actual) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.isEmpty(), actual.isEmpty());
+		assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+		assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(actual.values()));
+		for (String key : KEYS) {
+			assertEquals(expected.containsKey(key), actual.containsKey(key));
+			assertEquals(expected.get(key), actual.get(key));
+		}
+		List<String> forEachKeys = new ArrayList<>();
+		actual.forEach((k, v) -> {
+			forEachKeys.add(k);
+			assertEquals(expected.get(k), v);
+		});
+		assertEquals(new ArrayList<>(expected.keySet()), forEachKeys);
+
+		// equals and hashCode must agree with the maps CompoundTag used before
+		Map<String, Tag<?>> hashMap = new HashMap<>(expected);
+		assertTrue(actual.equals(hashMap));
+		assertTrue(hashMap.equals(actual));
+		assertTrue(actual.equals(expected));
+		assertTrue(expected.equals(actual));
+		assertEquals(hashMap.hashCode(), actual.hashCode());
+		assertEquals(hashMap.entrySet(), actual.entrySet());
+	}
+
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(45);
+		for (int run = 0; run < 200; run++) {
+			Map<String, Tag<?>> expected = new LinkedHashMap<>();
+			CompactMap actual = new CompactMap();
+			for (int op = 0; op < 60; op++) {
+				String key = KEYS[random.nextInt(KEYS.length)];
+				switch (random.nextInt(5)) {
+				case 0:
+				case 1:
+					Tag<?> v = value(random.nextInt(100));
+					assertEquals(expected.put(key, v), actual.put(key, v));
+					break;
+				case 2:
+					assertEquals(expected.remove(key), actual.remove(key));
+					break;
+				case 3:
+					// a key that equals one in the map, but isn't the same String
+					String copy = new String(key);
+					assertEquals(expected.get(key), actual.get(copy));
+					assertEquals(expected.containsKey(key), actual.containsKey(copy));
+					break;
+				default:
+					if (random.nextInt(10) == 0) {
+						expected.clear();
+						actual.clear();
+					}
+				}
+				assertSameMap(expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		for (int n = 1; n <= CompactMap.MAX_ARRAY_SIZE + 2; n++) {
+			for (int removed = 0; removed < n; removed++) {
+				Map<String, Tag<?>> expected = new LinkedHashMap<>();
+				CompactMap actual = new CompactMap();
+				for (int i = 0; i < n; i++) {
+					expected.put(KEYS[i], value(i));
+					actual.put(KEYS[i], value(i));
+				}
+				Iterator<Map.Entry<String, Tag<?>>> it = actual.entrySet().iterator();
+				for (int i = 0; i <= removed; i++) {
+					it.next();
+				}
+				it.remove();
+				expected.remove(KEYS[removed]);
+				assertSameMap(expected, actual);
+				// the iteration goes on with the entry after the removed one
+				assertEquals(removed + 1 < n, it.hasNext());
+				if (it.hasNext()) {
+					assertEquals(KEYS[removed + 1], it.next().getKey());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testEntrySetValue() {
+		CompactMap actual = new CompactMap();
+		Map<String, Tag<?>> expected = new LinkedHashMap<>();
+		for (int i = 0; i < 4; i++) {
+			actual.put(KEYS[i], value(i));
+			expected.put(KEYS[i], value(i));
+		}
+		for (Map.Entry<String, Tag<?>> e : actual.entrySet()) {
+			Tag<?> old = e.getValue();
+			assertEquals(old, e.setValue(value(((IntTag) old).asInt() + 10)));
+		}
+		for (Map.Entry<String, Tag<?>> e : expected.entrySet()) {
+			e.setValue(value(((IntTag) e.getValue()).asInt() + 10));
+		}
+		assertSameMap(expected, actual);
+	}
+
+	@Test
+	public void testEntryAfterRemove() {
+		CompactMap actual = new CompactMap();
+		actual.put("a", value(1));
+		actual.put("b", value(2));
+		Map.Entry<String, Tag<?>> a = actual.entrySet().iterator().next();
+		actual.remove("a");
+		// an entry keeps its last value after its key is removed, as a HashMap entry does
+		assertEquals("a", a.getKey());
+		assertEquals(value(1), a.getValue());
+		assertNull(actual.get("a"));
+		assertEquals(value(2), actual.get("b"));
+	}
+
+	@Test
+	public void testEntryAfterGrow() {
+		CompactMap actual = new CompactMap();
+		actual.put("a", value(1));
+		Map.Entry<String, Tag<?>> a = actual.entrySet().iterator().next();
+		for (int i = 0; i < CompactMap.MAX_ARRAY_SIZE; i++) {
+			actual.put("k" + i, value(i));
+		}
+		// the map moved to a LinkedHashMap, the entry still reads and writes the map
+		assertEquals(value(1), a.getValue());
+		a.setValue(value(5));
+		assertEquals(value(5), actual.get("a"));
+	}
+
+	@Test
+	public void testKeysInterned() {
+		CompactMap actual = new CompactMap();
+		actual.put(new String("Name"), value(1));
+		assertSame("Name", actual.keySet().iterator().next());
+		for (int i = 0; i < CompactMap.MAX_ARRAY_SIZE; i++) {
+			actual.put(new String("k" + i), value(i));
+		}
+		for (String key : actual.keySet()) {
+			assertSame(key.intern(), key);
+		}
+	}
+
+	@Test
+	public void testCompoundTag() {
+		CompoundTag compact = new CompoundTag();
+		Map<String, Tag<?>> old = new HashMap<>();
+		for (int i = 0; i < KEYS.length; i++) {
+			compact.put(KEYS[i], value(i));
+			old.put(KEYS[i], value(i));
+			assertEquals(old, compact.getValue());
+			assertEquals(old.hashCode(), compact.getValue().hashCode());
+		}
+		assertFalse(compact.getValue() instanceof HashMap);
+	}
+}
@@ -0,0 +1,191 @@
+package net.querz.nbt.tag;
+
+import net.querz.nbt.io.NBTDeserializer;
+import net.querz.nbt.io.NBTSerializer;
+import net.querz.nbt.io.NamedTag;
+import net.querz.nbt.io.SNBTUtil;
+import org.junit.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a {@link ListTag} whose numbers are still in a {@link NumericList} behaves like the list of Tags
+ * it used to be: the same equals, hashCode, getters, clone and serialized form, before and after its Tags are created.
+ * */
+public class NumericListTest {
+
+	private static final int[] INTS = {0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 42};
+	private static final long[] LONGS = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 40};
+	private static final float[] FLOATS = {0f, -0f, 1.5f, Float.NaN, Float.NEGATIVE_INFINITY, Float.MAX_VALUE, Float.MIN_VALUE, 3e9f};
+	private static final double[] DOUBLES = {0d, -0d, 1.5d, Double.NaN, Double.POSITIVE_INFINITY, Double.MAX_VALUE, Double.MIN_VALUE, -3e19d};
+
+	private static ListTag<IntTag> tagList(int[] values) {
+		ListTag<IntTag> list = new ListTag<>(IntTag.class);
+		for (int v : values) {
+			list.add(new IntTag(v));
+		}
+		return list;
+	}
+
+	private static ListTag<LongTag> tagList(long[] values) {
+		ListTag<LongTag> list = new ListTag<>(LongTag.class);
+		for (long v : values) {
+			list.add(new LongTag(v));
+		}
+		return list;
+	}
+
+	private static ListTag<FloatTag> tagList(float[] values) {
+		ListTag<FloatTag> list = new ListTag<>(FloatTag.class);
+		for (float v : values) {
+			list.add(new FloatTag(v));
+		}
+		return list;
+	}
+
+	private static ListTag<DoubleTag> tagList(double[] values) {
+		ListTag<DoubleTag> list = new ListTag<>(DoubleTag.class);
+		for (double v : values) {
+			list.add(new DoubleTag(v));
+		}
+		return list;
+	}
+
+	private static boolean isPrimitive(ListTag<?> list) {
+		return list.getValue() instanceof NumericList && ((NumericList<?>) list.getValue()).isPrimitive();
+	}
+
+	// checks a list that may be primitive against the list of Tags with the same values
+	private static void assertEquivalent(ListTag<?> tags, ListTag<?> numbers) throws IOException {
+		boolean primitive = isPrimitive(numbers);
+		assertEquals(tags.size(), numbers.size());
+		assertEquals(tags.hashCode(), numbers.hashCode());
+		assertEquals(numbers, numbers.clone());
+		for (int i = 0; i < tags.size(); i++) {
+			NumberTag<?> t = (NumberTag<?>) tags.get(i);
+			assertEquals(t.asInt(), numbers.getInt(i));
+			assertEquals(t.asLong(), numbers.getLong(i));
+			assertEquals(Float.floatToIntBits(t.asFloat()), Float.floatToIntBits(numbers.getFloat(i)));
+			assertEquals(Double.doubleToLongBits(t.asDouble()), Double.doubleToLongBits(numbers.getDouble(i)));
+		}
+		NBTSerializer serializer = new NBTSerializer(false);
+		assertArrayEquals(serializer.toBytes(new NamedTag("", tags)), serializer.toBytes(new NamedTag("", numbers)));
+		assertEquals(SNBTUtil.toSNBT(tags), SNBTUtil.toSNBT(numbers));
+		// none of the above needs the Tags
+		assertEquals(primitive, isPrimitive(numbers));
+
+		assertEquals(tags, numbers);
+		assertEquals(numbers, tags);
+		assertEquals(tags.getValue(), new ArrayList<>(numbers.getValue()));
+		assertEquals(tags.hashCode(), numbers.hashCode());
+	}
+
+	@Test
+	public void testEquivalentToTags() throws IOException {
+		assertEquivalent(tagList(INTS), ListTag.fromInts(INTS.clone()));
+		assertEquivalent(tagList(LONGS), ListTag.fromLongs(LONGS.clone()));
+		assertEquivalent(tagList(FLOATS), ListTag.fromFloats(FLOATS.clone()));
+		assertEquivalent(tagList(DOUBLES), ListTag.fromDoubles(DOUBLES.clone()));
+		assertEquivalent(tagList(new int[0]), ListTag.fromInts(new int[0]));
+	}
+
+	@Test
+	public void testRandomValues() throws IOException {
+		Random random = new Random(46);
+		for (int run = 0; run < 100; run++) {
+			int size = random.nextInt(20);
+			int[] ints = new int[size];
+			long[] longs = new long[size];
+			float[] floats = new float[size];
+			double[] doubles = new double[size];
+			for (int i = 0; i < size; i++) {
+				ints[i] = random.nextInt();
+				longs[i] = random.nextLong();
+				floats[i] = Float.intBitsToFloat(random.nextInt());
+				doubles[i] = Double.longBitsToDouble(random.nextLong());
+			}
+			assertEquivalent(tagList(ints), ListTag.fromInts(ints));
+			assertEquivalent(tagList(longs), ListTag.fromLongs(longs));
+			assertEquivalent(tagList(floats), ListTag.fromFloats(floats));
+			assertEquivalent(tagList(doubles), ListTag.fromDoubles(doubles));
+		}
+	}
+
+	@Test
+	public void testListContract() {
+		List<Tag<?>> tags = new ArrayList<>();
+		for (double d : DOUBLES) {
+			tags.add(new DoubleTag(d));
+		}
+		NumericList<DoubleTag> numbers = NumericList.ofDoubles(DOUBLES.clone());
+		assertTrue(numbers.isPrimitive());
+		assertEquals(tags.hashCode(), numbers.hashCode());
+		assertTrue(numbers.equals(tags));
+		assertTrue(tags.equals(numbers));
+		// the Tags were created to compare, and the hash code is still that of the list of Tags
+		assertFalse(numbers.isPrimitive());
+		assertEquals(tags.hashCode(), numbers.hashCode());
+	}
+
+	@Test
+	public void testPrimitiveEquals() {
+		// -0 and 0, and NaNs, compare as the boxed values do, not as the primitives do
+		assertNotEquals(ListTag.fromDoubles(new double[] {0d}), ListTag.fromDoubles(new double[] {-0d}));
+		assertNotEquals(tagList(new double[] {0d}), ListTag.fromDoubles(new double[] {-0d}));
+		assertEquals(ListTag.fromFloats(new float[] {Float.NaN}), ListTag.fromFloats(new float[] {Float.NaN}));
+		assertNotEquals(ListTag.fromInts(new int[] {1, 2}), ListTag.fromInts(new int[] {1, 3}));
+		assertNotEquals(ListTag.fromInts(new int[] {1, 2}), ListTag.fromInts(new int[] {1, 2, 3}));
+		// the same values in lists of different types aren't equal
+		assertNotEquals(ListTag.fromInts(new int[] {1}), ListTag.fromLongs(new long[] {1}));
+	}
+
+	@Test
+	public void testChangesThroughTags() throws IOException {
+		ListTag<IntTag> tags = tagList(INTS);
+		ListTag<IntTag> numbers = ListTag.fromInts(INTS.clone());
+		tags.get(2).setValue(7);
+		numbers.get(2).setValue(7);
+		assertEquivalent(tags, numbers);
+		tags.add(new IntTag(9));
+		numbers.add(new IntTag(9));
+		tags.remove(0);
+		numbers.remove(0);
+		assertEquivalent(tags, numbers);
+	}
+
+	@Test
+	public void testClone() throws IOException {
+		ListTag<LongTag> numbers = ListTag.fromLongs(LONGS.clone());
+		ListTag<LongTag> clone = numbers.clone();
+		assertEquivalent(tagList(LONGS), clone);
+		clone.get(0).setValue(5);
+		assertEquivalent(tagList(LONGS), numbers);
+		assertEquals(5, clone.getLong(0));
+	}
+
+	@Test
+	public void testReadFromNBT() throws IOException {
+		CompoundTag root = new CompoundTag();
+		root.put("ints", tagList(INTS));
+		root.put("longs", tagList(LONGS));
+		root.put("floats", tagList(FLOATS));
+		root.put("doubles", tagList(DOUBLES));
+		byte[] bytes = new NBTSerializer(false).toBytes(new NamedTag("", root));
+		CompoundTag read = (CompoundTag) new NBTDeserializer(false).fromBytes(bytes).getTag();
+		assertEquals(root.hashCode(), read.hashCode());
+		assertArrayEquals(bytes, new NBTSerializer(false).toBytes(new NamedTag("", read)));
+		for (String key : root.keySet()) {
+			ListTag<?> list = read.getListTag(key);
+			assertTrue(key, isPrimitive(list));
+			assertEquivalent(root.getListTag(key), list);
+		}
+		assertEquals(root, read);
+	}
+}
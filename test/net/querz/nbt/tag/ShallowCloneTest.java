@@ -0,0 +1,252 @@
+package net.querz.nbt.tag;
+
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+
+/**
+ * Checks that {@link CompoundTag#shallowClone()} and {@link ListTag#shallowClone()} behave like {@link CompoundTag#clone()},
+ * the deep copy they replace in the engine: the same random changes are made to a tag and its shallow clone, and to
+ * a tag and its deep clone, and the results must be equal.
+ * */
+public class ShallowCloneTest {
+
+	private static final String[] KEYS = {"a", "b", "c", "d", "e"};
+
+	@Test
+	public void testSameAsDeepClone() {
+		Random random = new Random(50);
+		for (int run = 0; run < 300; run++) {
+			CompoundTag tree = randomCompound(random, 3);
+			List<CompoundTag> shallow = new ArrayList<>();
+			List<CompoundTag> deep = new ArrayList<>();
+			shallow.add(tree);
+			deep.add(tree.clone());
+			for (int op = 0; op < 40; op++) {
+				int i = random.nextInt(shallow.size());
+				if (random.nextInt(5) == 0) {
+					// clone any of them, also clones of clones
+					shallow.add(shallow.get(i).shallowClone());
+					deep.add(deep.get(i).clone());
+				} else {
+					long seed = random.nextLong();
+					change(shallow.get(i), new Random(seed));
+					change(deep.get(i), new Random(seed));
+				}
+				for (int j = 0; j < shallow.size(); j++) {
+					assertEquals(deep.get(j), shallow.get(j));
+					assertEquals(deep.get(j).hashCode(), shallow.get(j).hashCode());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testListSameAsDeepClone() {
+		Random random = new Random(500);
+		for (int run = 0; run < 200; run++) {
+			ListTag<CompoundTag> list = new ListTag<>(CompoundTag.class);
+			for (int i = 0; i < 3; i++) {
+				list.add(randomCompound(random, 2));
+			}
+			ListTag<CompoundTag> expected = list.clone();
+			ListTag<CompoundTag> clone = list.shallowClone();
+			ListTag<CompoundTag> expectedClone = list.clone();
+			for (int op = 0; op < 10; op++) {
+				boolean first = random.nextBoolean();
+				long seed = random.nextLong();
+				change(first ? list : clone, new Random(seed));
+				change(first ? expected : expectedClone, new Random(seed));
+				assertEquals(expected, list);
+				assertEquals(expectedClone, clone);
+			}
+		}
+	}
+
+	@Test
+	public void testPrimitiveList() {
+		ListTag<IntTag> list = ListTag.fromInts(new int[] {1, 2, 3});
+		ListTag<IntTag> clone = list.shallowClone();
+		assertEquals(2, clone.getInt(1));
+		clone.get(1).setValue(5);
+		assertEquals(2, list.getInt(1));
+		assertEquals(5, clone.getInt(1));
+		list.addInt(4);
+		assertEquals(4, list.size());
+		assertEquals(3, clone.size());
+	}
+
+	@Test
+	public void testChildFetchedBeforeClone() {
+		CompoundTag tree = new CompoundTag();
+		CompoundTag child = new CompoundTag();
+		child.putInt("x", 1);
+		tree.put("child", child);
+		CompoundTag clone = tree.shallowClone();
+
+		// fetched again after cloning, the child is a copy of its own, so changing it only changes one tree
+		CompoundTag treeChild = tree.getCompoundTag("child");
+		assertNotSame(child, treeChild);
+		treeChild.putInt("x", 2);
+		assertEquals(1, clone.getCompoundTag("child").getInt("x"));
+		clone.getCompoundTag("child").putInt("y", 3);
+		assertEquals(2, tree.getCompoundTag("child").getInt("x"));
+		assertEquals(0, tree.getCompoundTag("child").getInt("y"));
+		assertEquals(1, clone.getCompoundTag("child").getInt("x"));
+
+		// unlike after clone(), the child fetched before cloning now belongs to the clone, as the javadoc warns
+		assertEquals(clone.getCompoundTag("child"), child);
+		assertNotEquals(tree.getCompoundTag("child"), child);
+	}
+
+	@Test
+	public void testReadsDontCopy() {
+		CompoundTag tree = randomCompound(new Random(501), 3);
+		tree.putInt("n", 1);
+		CompoundTag expected = tree.clone();
+		CompoundTag clone = tree.shallowClone();
+		// reading the clone (which doesn't copy) doesn't change what either of them sees
+		assertEquals(tree.size(), clone.size());
+		assertEquals(tree.containsKey("n"), clone.containsKey("n"));
+		assertEquals(tree, clone);
+		assertEquals(tree.hashCode(), clone.hashCode());
+		assertEquals(tree.toString(), clone.toString());
+		tree.putInt("n", 2);
+		assertEquals(expected, clone);
+		assertNotEquals(tree, clone);
+	}
+
+	@Test
+	public void testConcurrentClones() throws Exception {
+		CompoundTag tree = randomCompound(new Random(502), 4);
+		CompoundTag expected = tree.clone();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 32; t++) {
+				long seed = t;
+				futures.add(executor.submit(() -> {
+					CompoundTag shallow = tree.shallowClone();
+					CompoundTag deep = expected.clone();
+					Random random = new Random(seed);
+					for (int op = 0; op < 200; op++) {
+						if (random.nextInt(10) == 0) {
+							shallow = shallow.shallowClone();
+						}
+						long s = random.nextLong();
+						change(shallow, new Random(s));
+						change(deep, new Random(s));
+					}
+					assertEquals(deep, shallow);
+					return null;
+				}));
+			}
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(expected, tree);
+	}
+
+	/**
+	 * Makes a random change somewhere in a tag. Two equal tags get the same change from Randoms with the same seed.
+	 * Every Tag on the way is fetched from its parent, as users of shallowClone must.
+	 * */
+	@SuppressWarnings("unchecked")
+	private static void change(Tag<?> tag, Random random) {
+		while (true) {
+			if (tag instanceof CompoundTag) {
+				CompoundTag compound = (CompoundTag) tag;
+				List<String> keys = new ArrayList<>(compound.keySet());
+				Collections.sort(keys);
+				String key = KEYS[random.nextInt(KEYS.length)];
+				if (!keys.isEmpty() && random.nextInt(3) > 0) {
+					Tag<?> child = compound.get(keys.get(random.nextInt(keys.size())));
+					if (child instanceof CompoundTag || child instanceof ListTag) {
+						tag = child;
+						continue;
+					}
+					if (child instanceof IntTag) {
+						((IntTag) child).setValue(random.nextInt());
+						return;
+					}
+				}
+				switch (random.nextInt(3)) {
+				case 0:
+					compound.putInt(key, random.nextInt());
+					return;
+				case 1:
+					compound.remove(key);
+					return;
+				default:
+					compound.put(key, randomCompound(random, 1));
+					return;
+				}
+			} else if (tag instanceof ListTag) {
+				ListTag<?> list = (ListTag<?>) tag;
+				if (list.size() > 0 && random.nextInt(3) > 0) {
+					Tag<?> child = list.get(random.nextInt(list.size()));
+					if (child instanceof IntTag) {
+						((IntTag) child).setValue(random.nextInt());
+						return;
+					}
+					tag = child;
+					continue;
+				}
+				if (list.getTypeClass() == IntTag.class) {
+					((ListTag<IntTag>) list).addInt(random.nextInt());
+				} else if (list.size() > 0 && random.nextBoolean()) {
+					list.remove(0);
+				} else {
+					((ListTag<CompoundTag>) list).add(randomCompound(random, 1));
+				}
+				return;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private static Tag<?> randomTag(Random random, int depth) {
+		switch (random.nextInt(depth > 0 ? 6 : 4)) {
+		case 0:
+			return new IntTag(random.nextInt());
+		case 1:
+			return new StringTag(Integer.toString(random.nextInt(100)));
+		case 2:
+			return ListTag.fromInts(random.ints(random.nextInt(4)).toArray());
+		case 3:
+			ListTag<IntTag> ints = new ListTag<>(IntTag.class);
+			ints.addInt(random.nextInt());
+			return ints;
+		case 4:
+			ListTag<CompoundTag> list = new ListTag<>(CompoundTag.class);
+			int n = random.nextInt(3);
+			for (int i = 0; i < n; i++) {
+				list.add(randomCompound(random, depth - 1));
+			}
+			return list;
+		default:
+			return randomCompound(random, depth - 1);
+		}
+	}
+
+	private static CompoundTag randomCompound(Random random, int depth) {
+		CompoundTag tag = new CompoundTag();
+		int n = random.nextInt(KEYS.length);
+		for (int i = 0; i < n; i++) {
+			tag.put(KEYS[random.nextInt(KEYS.length)], randomTag(random, depth));
+		}
+		return tag;
+	}
+}